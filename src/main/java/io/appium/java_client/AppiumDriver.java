@@ -51,6 +51,7 @@ import java.net.URL;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -73,6 +74,10 @@ public class AppiumDriver<T extends WebElement>
     private URL remoteAddress;
     private RemoteLocationContext locationContext;
     private ExecuteMethod executeMethod;
+    private volatile Map<String, Object> sessionDetails;
+    private volatile boolean sessionDetailsCachingDisabled;
+    // null means that the current context is unknown
+    private volatile Optional<String> currentContext;
 
     /**
      * Creates a new instance based on command {@code executor} and {@code capabilities}.
@@ -214,6 +219,65 @@ public class AppiumDriver<T extends WebElement>
         return super.findElementsByAccessibilityId(using);
     }
 
+    @Override
+    public Response execute(String driverCommand, Map<String, ?> parameters) {
+        Response response = super.execute(driverCommand, parameters);
+        if (DriverCommand.SWITCH_TO_CONTEXT.equals(driverCommand)) {
+            currentContext = Optional.ofNullable(parameters.get("name")).map(String::valueOf);
+        } else if (DriverCommand.QUIT.equals(driverCommand)) {
+            currentContext = null;
+        }
+        if (DriverCommand.SWITCH_TO_CONTEXT.equals(driverCommand)
+                || MobileCommand.SET_SETTINGS.equals(driverCommand)
+                || DriverCommand.QUIT.equals(driverCommand)) {
+            invalidateSessionDetails();
+        }
+        return response;
+    }
+
+    @Override
+    public Response execute(String command) {
+        // the superclass does not dispatch commands without parameters to the method above
+        return execute(command, ImmutableMap.of());
+    }
+
+    /**
+     * The current session details.
+     * Session details are read from the server once and then kept
+     * until the context is switched or session settings are changed.
+     * Call {@link #setSessionDetailsCaching(boolean)} with {@code false}
+     * to read them from the server on each call.
+     *
+     * @return a map with values that hold session details.
+     */
+    @Override
+    public Map<String, Object> getSessionDetails() {
+        if (sessionDetailsCachingDisabled) {
+            return fetchSessionDetails();
+        }
+        Map<String, Object> result = sessionDetails;
+        if (result == null) {
+            result = fetchSessionDetails();
+            sessionDetails = result;
+        }
+        return result;
+    }
+
+    @Override
+    public void invalidateSessionDetails() {
+        sessionDetails = null;
+    }
+
+    /**
+     * Enables or disables caching of session details. Caching is enabled by default.
+     *
+     * @param enabled whether session details should be cached.
+     */
+    public void setSessionDetailsCaching(boolean enabled) {
+        sessionDetailsCachingDisabled = !enabled;
+        invalidateSessionDetails();
+    }
+
     @Override
     public ExecuteMethod getExecuteMethod() {
         return executeMethod;
@@ -248,11 +312,28 @@ public class AppiumDriver<T extends WebElement>
         String contextName =
                 String.valueOf(execute(DriverCommand.GET_CURRENT_CONTEXT_HANDLE).getValue());
         if ("null".equalsIgnoreCase(contextName)) {
-            return null;
+            contextName = null;
         }
+        currentContext = Optional.ofNullable(contextName);
         return contextName;
     }
 
+    /**
+     * Returns the name of the current context as it is tracked by this driver.
+     * The context name is remembered after each successful {@link #context(String)}
+     * or {@link #getContext()} call, so the server is only queried if the current
+     * context is not known yet.
+     *
+     * @return the name of the current context or null if the server has not reported any.
+     */
+    public String getCurrentContext() {
+        Optional<String> result = currentContext;
+        if (result == null) {
+            return getContext();
+        }
+        return result.orElse(null);
+    }
+
     /**
      * This method is used to get build version status of running Appium server.
      *
@@ -315,7 +396,7 @@ public class AppiumDriver<T extends WebElement>
     @Override
     public boolean isBrowser() {
         return super.isBrowser()
-                && !containsIgnoreCase(getContext(), "NATIVE_APP");
+                && !containsIgnoreCase(getCurrentContext(), "NATIVE_APP");
     }
 
     @Override
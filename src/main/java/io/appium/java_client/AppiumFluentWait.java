@@ -16,7 +16,10 @@
 
 package io.appium.java_client;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
 import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.openqa.seleniumone.TimeoutException;
 import org.openqa.seleniumone.WebDriverException;
@@ -28,10 +31,22 @@ import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 public class AppiumFluentWait<T> extends FluentWait<T> {
+    // private fields of FluentWait are only looked up once
+    private static final Map<String, Field> FLUENT_WAIT_FIELDS = new ConcurrentHashMap<>();
+
     private Function<IterationInfo, Duration> pollingStrategy = null;
 
     public static class IterationInfo {
@@ -113,22 +128,26 @@ public class AppiumFluentWait<T> extends FluentWait<T> {
         super(input, clock, sleeper);
     }
 
+    private static Field getFluentWaitField(String fieldName) {
+        return FLUENT_WAIT_FIELDS.computeIfAbsent(fieldName, name -> {
+            try {
+                final Field f = FluentWait.class.getDeclaredField(name);
+                f.setAccessible(true);
+                return f;
+            } catch (NoSuchFieldException e) {
+                throw new WebDriverException(e);
+            }
+        });
+    }
+
     private <B> B getPrivateFieldValue(String fieldName, Class<B> fieldType) {
-        try {
-            final Field f = getClass().getSuperclass().getDeclaredField(fieldName);
-            f.setAccessible(true);
-            return fieldType.cast(f.get(this));
-        } catch (NoSuchFieldException | IllegalAccessException e) {
-            throw new WebDriverException(e);
-        }
+        return fieldType.cast(getPrivateFieldValue(fieldName));
     }
 
     private Object getPrivateFieldValue(String fieldName) {
         try {
-            final Field f = getClass().getSuperclass().getDeclaredField(fieldName);
-            f.setAccessible(true);
-            return f.get(this);
-        } catch (NoSuchFieldException | IllegalAccessException e) {
+            return getFluentWaitField(fieldName).get(this);
+        } catch (IllegalAccessException e) {
             throw new WebDriverException(e);
         }
     }
@@ -227,14 +246,22 @@ public class AppiumFluentWait<T> extends FluentWait<T> {
      */
     @Override
     public <V> V until(Function<? super T, V> isTrue) {
-        final Instant start = getClock().instant();
-        final Instant end = getClock().instant().plus(getTimeout());
+        // the wait configuration does not change while the loop is running
+        final Clock clock = getClock();
+        final Duration timeout = getTimeout();
+        final Duration defaultInterval = getInterval();
+        final Sleeper sleeper = getSleeper();
+        final List<Class<? extends Throwable>> ignoredExceptions = getIgnoredExceptions();
+        final T input = getInput();
+
+        final Instant start = clock.instant();
+        final Instant end = start.plus(timeout);
         long iterationNumber = 1;
         Throwable lastException;
         while (true) {
             try {
-                V value = isTrue.apply(getInput());
-                if (value != null && (Boolean.class != value.getClass() || Boolean.TRUE.equals(value))) {
+                V value = isTrue.apply(input);
+                if (isConditionMet(value)) {
                     return value;
                 }
 
@@ -243,30 +270,18 @@ public class AppiumFluentWait<T> extends FluentWait<T> {
                 // cause of the timeout.
                 lastException = null;
             } catch (Throwable e) {
-                lastException = propagateIfNotIgnored(e);
+                lastException = propagateIfNotIgnored(e, ignoredExceptions);
             }
 
             // Check the timeout after evaluating the function to ensure conditions
             // with a zero timeout can succeed.
-            if (end.isBefore(getClock().instant())) {
-                String message = getMessageSupplier() != null ? getMessageSupplier().get() : null;
-
-                String timeoutMessage = String.format(
-                        "Expected condition failed: %s (tried for %d second(s) with %s interval)",
-                        message == null ? "waiting for " + isTrue : message,
-                        getTimeout().getSeconds(), getInterval());
-                throw timeoutException(timeoutMessage, lastException);
+            if (end.isBefore(clock.instant())) {
+                throw timeoutException(getTimeoutMessage(isTrue, timeout, defaultInterval), lastException);
             }
 
             try {
-                Duration interval = getInterval();
-                if (pollingStrategy != null) {
-                    final IterationInfo info = new IterationInfo(iterationNumber,
-                            Duration.between(start, getClock().instant()), getTimeout(),
-                            interval);
-                    interval = pollingStrategy.apply(info);
-                }
-                getSleeper().sleep(interval);
+                sleeper.sleep(getPollingInterval(pollingStrategy, iterationNumber,
+                        start, clock, timeout, defaultInterval));
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
                 throw new WebDriverException(e);
@@ -275,13 +290,192 @@ public class AppiumFluentWait<T> extends FluentWait<T> {
         }
     }
 
-    protected Throwable propagateIfNotIgnored(Throwable e) {
-        for (Class<? extends Throwable> ignoredException : getIgnoredExceptions()) {
+    /**
+     * Asynchronously applies this instance's input value to the given function until one of the following
+     * occurs:
+     * <ol>
+     * <li>the function returns neither null nor false,</li>
+     * <li>the function throws an unignored exception,</li>
+     * <li>the timeout expires,</li>
+     * <li>the returned future is cancelled</li>
+     * </ol>.
+     * The function is applied on a shared elastic pool of daemon threads, so slow conditions
+     * do not delay each other, and the delays between polls are counted by a shared timer
+     * thread, so no thread is blocked between polls. The sleeper of this instance is not used. Polling intervals,
+     * ignored exceptions and timeout messages are the same as for {@link #until(Function)}.
+     *
+     * @param isTrue the parameter to pass to the expected condition
+     * @param <V>    The function's expected return type.
+     * @return The future which is completed with the functions' return value if the function returned
+     *         something different from null or false before the timeout expired. Otherwise the future
+     *         is completed exceptionally with {@link TimeoutException} or the unignored exception.
+     */
+    public <V> CompletableFuture<V> untilAsync(Function<? super T, V> isTrue) {
+        return untilAsync(isTrue, SharedExecutors.CONDITIONS);
+    }
+
+    /**
+     * Asynchronously applies this instance's input value to the given function.
+     * See {@link #untilAsync(Function)} for more details.
+     * The executor only runs the function calls. Delays between them are still counted
+     * by the shared timer thread, so the executor should be able to run blocking calls.
+     *
+     * @param isTrue   the parameter to pass to the expected condition
+     * @param executor the executor to run the function calls on
+     * @param <V>      The function's expected return type.
+     * @return The future which is completed with the functions' return value.
+     */
+    public <V> CompletableFuture<V> untilAsync(Function<? super T, V> isTrue, Executor executor) {
+        checkNotNull(isTrue);
+        checkNotNull(executor);
+        final AsyncPoll<V> poll = new AsyncPoll<>(isTrue, executor);
+        poll.submit();
+        return poll.result;
+    }
+
+    private String getTimeoutMessage(Object isTrue, Duration timeout, Duration interval) {
+        Supplier<String> messageSupplier = getMessageSupplier();
+        String message = messageSupplier != null ? messageSupplier.get() : null;
+
+        return String.format(
+                "Expected condition failed: %s (tried for %d second(s) with %s interval)",
+                message == null ? "waiting for " + isTrue : message,
+                timeout.getSeconds(), interval);
+    }
+
+    private static Duration getPollingInterval(Function<IterationInfo, Duration> pollingStrategy,
+                                               long iterationNumber, Instant start, Clock clock,
+                                               Duration timeout, Duration interval) {
+        if (pollingStrategy == null) {
+            return interval;
+        }
+        return pollingStrategy.apply(new IterationInfo(iterationNumber,
+                Duration.between(start, clock.instant()), timeout, interval));
+    }
+
+    private static boolean isConditionMet(Object value) {
+        return value != null && (Boolean.class != value.getClass() || Boolean.TRUE.equals(value));
+    }
+
+    private static boolean isIgnored(Throwable e, List<Class<? extends Throwable>> ignoredExceptions) {
+        for (Class<? extends Throwable> ignoredException : ignoredExceptions) {
             if (ignoredException.isInstance(e)) {
-                return e;
+                return true;
             }
         }
+        return false;
+    }
+
+    protected Throwable propagateIfNotIgnored(Throwable e) {
+        return propagateIfNotIgnored(e, getIgnoredExceptions());
+    }
+
+    /**
+     * Rethrows the given exception unless it is an instance of one of the ignored exceptions.
+     * {@link #until(Function)} calls this method with the ignored exceptions it has read once
+     * before the loop.
+     *
+     * @param e the exception thrown by the condition
+     * @param ignoredExceptions the exceptions to ignore
+     * @return the given exception if it is ignored
+     */
+    protected Throwable propagateIfNotIgnored(Throwable e,
+                                              List<Class<? extends Throwable>> ignoredExceptions) {
+        if (isIgnored(e, ignoredExceptions)) {
+            return e;
+        }
         Throwables.throwIfUnchecked(e);
         throw new WebDriverException(e);
     }
+
+    private static final class SharedExecutors {
+        // conditions are blocking driver calls, so they must not share the timer thread
+        private static final ExecutorService CONDITIONS = Executors.newCachedThreadPool(
+                new ThreadFactoryBuilder()
+                        .setNameFormat("appium-fluent-wait-%d")
+                        .setDaemon(true)
+                        .build());
+        private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder()
+                        .setNameFormat("appium-fluent-wait-timer-%d")
+                        .setDaemon(true)
+                        .build());
+    }
+
+    /**
+     * A single asynchronous polling round. Each round schedules the next one
+     * unless the result is completed.
+     */
+    private final class AsyncPoll<V> implements Runnable {
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private final Function<? super T, V> isTrue;
+        private final Executor executor;
+        private final Function<IterationInfo, Duration> pollingStrategy;
+        private final Clock clock;
+        private final Duration timeout;
+        private final Duration defaultInterval;
+        private final List<Class<? extends Throwable>> ignoredExceptions;
+        private final T input;
+        private final Instant start;
+        private final Instant end;
+        private long iterationNumber = 1;
+
+        AsyncPoll(Function<? super T, V> isTrue, Executor executor) {
+            this.isTrue = isTrue;
+            this.executor = executor;
+            this.pollingStrategy = AppiumFluentWait.this.pollingStrategy;
+            this.clock = getClock();
+            this.timeout = getTimeout();
+            this.defaultInterval = getInterval();
+            this.ignoredExceptions = getIgnoredExceptions();
+            this.input = getInput();
+            this.start = clock.instant();
+            this.end = start.plus(timeout);
+        }
+
+        void submit() {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        @Override
+        public void run() {
+            if (result.isDone()) {
+                return;
+            }
+            Throwable lastException = null;
+            try {
+                V value = isTrue.apply(input);
+                if (isConditionMet(value)) {
+                    result.complete(value);
+                    return;
+                }
+            } catch (Throwable e) {
+                if (!isIgnored(e, ignoredExceptions)) {
+                    result.completeExceptionally(e instanceof RuntimeException || e instanceof Error
+                            ? e : new WebDriverException(e));
+                    return;
+                }
+                lastException = e;
+            }
+
+            try {
+                if (end.isBefore(clock.instant())) {
+                    result.completeExceptionally(
+                            timeoutException(getTimeoutMessage(isTrue, timeout, defaultInterval), lastException));
+                    return;
+                }
+
+                Duration interval = getPollingInterval(pollingStrategy, iterationNumber,
+                        start, clock, timeout, defaultInterval);
+                ++iterationNumber;
+                SharedExecutors.TIMER.schedule(this::submit, interval.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
 }
@@ -16,13 +16,16 @@
 
 package io.appium.java_client;
 
+import io.appium.java_client.driverscripts.DriverScriptBatch;
 import io.appium.java_client.driverscripts.ScriptOptions;
 import io.appium.java_client.driverscripts.ScriptValue;
+import org.openqa.seleniumone.WebDriverException;
 import org.openqa.seleniumone.remote.Response;
 
 import javax.annotation.Nullable;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static io.appium.java_client.MobileCommand.EXECUTE_DRIVER_SCRIPT;
@@ -68,4 +71,53 @@ public interface ExecutesDriverScript extends ExecutesMethod {
     default ScriptValue executeDriverScript(String script) {
         return executeDriverScript(script, null);
     }
+
+    /**
+     * Records the commands issued by the given consumer and executes all of them
+     * within a single driver script request, for example:
+     * <pre>
+     * List&lt;CompletableFuture&lt;String&gt;&gt; greetings = new ArrayList&lt;&gt;();
+     * driver.batch(b -&gt; {
+     *     b.findElement("accessibility id", "username").sendKeys("alice");
+     *     b.findElement("accessibility id", "login").click();
+     *     greetings.add(b.findElement("accessibility id", "greeting").getText());
+     * });
+     * </pre>
+     * Futures returned by the recorded calls are completed before this method returns.
+     * Found elements are created by the element converter of the driver, so they are
+     * instances of the same classes as the elements returned by {@code findElement}.
+     *
+     * @since Appium 1.14
+     * @param commands the consumer recording batch steps
+     * @param options additional scripting options. The script type must be webdriverio.
+     * @return The script value. Its result is the list of step results
+     *         and logs contain the output of the compiled script.
+     * @throws WebDriverException if there was a failure while executing the script
+     *         or the script returned an unexpected result
+     */
+    default ScriptValue batch(Consumer<DriverScriptBatch> commands, @Nullable ScriptOptions options) {
+        DriverScriptBatch batch = new DriverScriptBatch();
+        checkNotNull(commands).accept(batch);
+        final ScriptValue value;
+        try {
+            value = executeDriverScript(batch.toScript(), options);
+        } catch (WebDriverException e) {
+            batch.fail(e);
+            throw e;
+        }
+        batch.complete(value.getResult());
+        return value;
+    }
+
+    /**
+     * Records the commands issued by the given consumer and executes all of them
+     * within a single driver script request with default options.
+     *
+     * @since Appium 1.14
+     * @param commands the consumer recording batch steps
+     * @return The script value
+     */
+    default ScriptValue batch(Consumer<DriverScriptBatch> commands) {
+        return batch(commands, null);
+    }
 }
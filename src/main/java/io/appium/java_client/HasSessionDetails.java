@@ -34,11 +34,23 @@ import javax.annotation.Nullable;
 public interface HasSessionDetails extends ExecutesMethod {
     /**
      * The current session details.
+     * Implementations may return a snapshot of session details that has been cached
+     * after the first call. Use {@link #fetchSessionDetails()} to read them from the server.
      *
      * @return a map with values that hold session details.
      */
-    @SuppressWarnings("unchecked")
     default Map<String, Object> getSessionDetails() {
+        return fetchSessionDetails();
+    }
+
+    /**
+     * Reads the current session details from the server
+     * ignoring any snapshot cached by the implementation.
+     *
+     * @return a map with values that hold session details.
+     */
+    @SuppressWarnings("unchecked")
+    default Map<String, Object> fetchSessionDetails() {
         Response response = execute(GET_SESSION);
         Map<String, Object> resultMap = Map.class.cast(response.getValue());
 
@@ -55,6 +67,15 @@ public interface HasSessionDetails extends ExecutesMethod {
                         }).collect(toMap(Map.Entry::getKey, Map.Entry::getValue))).build();
     }
 
+    /**
+     * Drops the cached snapshot of session details (if any),
+     * so the next {@link #getSessionDetails()} call reads them from the server.
+     * The default implementation does not cache anything.
+     */
+    default void invalidateSessionDetails() {
+        // nothing is cached by default
+    }
+
     default @Nullable Object getSessionDetail(String detail) {
         return getSessionDetails().get(detail);
     }
@@ -21,9 +21,12 @@ import static io.appium.java_client.MobileCommand.PULL_FOLDER;
 
 import com.google.common.collect.ImmutableMap;
 
+import io.appium.java_client.filetransfer.RemoteFileTransfer;
 import org.openqa.seleniumone.remote.Response;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.Base64;
 
 public interface InteractsWithFiles extends ExecutesMethod {
@@ -54,6 +57,19 @@ public interface InteractsWithFiles extends ExecutesMethod {
         return Base64.getDecoder().decode(base64String.getBytes(StandardCharsets.UTF_8));
     }
 
+    /**
+     * Pull a file from the simulator/device and save it to the given local path.
+     * The file content is decoded while it is being received, so it is never
+     * loaded into memory as a whole. See {@link #pullFile(String)} for more details.
+     *
+     * @param remotePath See the documentation on {@link #pullFile(String)}
+     * @param destination The path to the local file. An existing file is overwritten.
+     * @throws IOException when there are problems with the local file system or the connection
+     */
+    default void pullFile(String remotePath, Path destination) throws IOException {
+        RemoteFileTransfer.pullFile(this, remotePath, destination);
+    }
+
     /**
      * Pull a folder content from the simulator/device.
      * On iOS the server should have ifuse
@@ -80,4 +96,31 @@ public interface InteractsWithFiles extends ExecutesMethod {
         return Base64.getDecoder().decode(base64String.getBytes(StandardCharsets.UTF_8));
     }
 
+    /**
+     * Pull a folder content from the simulator/device and save it as a zip archive
+     * to the given local path. See {@link #pullFolder(String, Path, boolean)} for more details.
+     *
+     * @param remotePath See the documentation on {@link #pullFolder(String)}
+     * @param destination The path to the local zip file. An existing file is overwritten.
+     * @throws IOException when there are problems with the local file system or the connection
+     */
+    default void pullFolder(String remotePath, Path destination) throws IOException {
+        pullFolder(remotePath, destination, false);
+    }
+
+    /**
+     * Pull a folder content from the simulator/device and save it to the given local path.
+     * The zip archive is decoded and, optionally, unpacked while it is being received,
+     * so it is never loaded into memory as a whole. See {@link #pullFolder(String)} for more details.
+     *
+     * @param remotePath See the documentation on {@link #pullFolder(String)}
+     * @param destination The path to the local zip file or, if the archive is unpacked, the local folder.
+     *                    Existing files are overwritten.
+     * @param unpack Whether to extract the received zip archive into the destination folder.
+     * @throws IOException when there are problems with the local file system or the connection
+     */
+    default void pullFolder(String remotePath, Path destination, boolean unpack) throws IOException {
+        RemoteFileTransfer.pullFolder(this, remotePath, destination, unpack);
+    }
+
 }
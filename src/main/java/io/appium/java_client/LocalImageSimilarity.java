@@ -0,0 +1,170 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.java_client;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * Calculates the similarity of two bitmaps locally without sending them to the server.
+ * Both images are converted to grayscale and downscaled by averaging pixel blocks, so
+ * the calculation time does not depend much on the screenshot resolution.
+ */
+final class LocalImageSimilarity {
+    /**
+     * The maximum length of the downscaled image side.
+     */
+    static final int MAX_SIDE = 256;
+    private static final int SSIM_WINDOW = 8;
+    private static final double SSIM_C1 = Math.pow(0.01 * 255, 2);
+    private static final double SSIM_C2 = Math.pow(0.03 * 255, 2);
+
+    private final int width;
+    private final int height;
+    private final float[] pixels;
+
+    private LocalImageSimilarity(int width, int height, float[] pixels) {
+        this.width = width;
+        this.height = height;
+        this.pixels = pixels;
+    }
+
+    /**
+     * Makes the downscaled grayscale copy of the given image.
+     *
+     * @param image the original image
+     * @return the grayscale raster
+     */
+    static LocalImageSimilarity of(BufferedImage image) {
+        final int srcWidth = image.getWidth();
+        final int srcHeight = image.getHeight();
+        final int factor = Math.max(1, (Math.max(srcWidth, srcHeight) + MAX_SIDE - 1) / MAX_SIDE);
+        final int dstWidth = (srcWidth + factor - 1) / factor;
+        final int dstHeight = (srcHeight + factor - 1) / factor;
+        final float[] sums = new float[dstWidth * dstHeight];
+        final int[] counts = new int[dstWidth * dstHeight];
+        final int[] row = new int[srcWidth];
+        for (int y = 0; y < srcHeight; y++) {
+            image.getRGB(0, y, srcWidth, 1, row, 0, srcWidth);
+            final int offset = (y / factor) * dstWidth;
+            for (int x = 0; x < srcWidth; x++) {
+                final int rgb = row[x];
+                final int idx = offset + x / factor;
+                sums[idx] += 0.299f * ((rgb >> 16) & 0xff) + 0.587f * ((rgb >> 8) & 0xff)
+                        + 0.114f * (rgb & 0xff);
+                counts[idx]++;
+            }
+        }
+        for (int i = 0; i < sums.length; i++) {
+            sums[i] /= counts[i];
+        }
+        return new LocalImageSimilarity(dstWidth, dstHeight, sums);
+    }
+
+    /**
+     * Calculates the normalized correlation coefficient of two rasters. This is the same
+     * metric the server uses to calculate images similarity.
+     *
+     * @param other the raster to compare with
+     * @return the score in range [-1.0, 1.0]. 1.0 is returned if the images are equal
+     */
+    double correlation(LocalImageSimilarity other) {
+        checkSameSize(other);
+        final int count = pixels.length;
+        double mean1 = 0;
+        double mean2 = 0;
+        for (int i = 0; i < count; i++) {
+            mean1 += pixels[i];
+            mean2 += other.pixels[i];
+        }
+        mean1 /= count;
+        mean2 /= count;
+        double covariance = 0;
+        double variance1 = 0;
+        double variance2 = 0;
+        for (int i = 0; i < count; i++) {
+            final double d1 = pixels[i] - mean1;
+            final double d2 = other.pixels[i] - mean2;
+            covariance += d1 * d2;
+            variance1 += d1 * d1;
+            variance2 += d2 * d2;
+        }
+        if (variance1 == 0 || variance2 == 0) {
+            // at least one of images is solid
+            return variance1 == variance2 && mean1 == mean2 ? 1.0 : 0.0;
+        }
+        return covariance / Math.sqrt(variance1 * variance2);
+    }
+
+    /**
+     * Calculates the mean structural similarity index of two rasters
+     * using non-overlapping square windows.
+     *
+     * @param other the raster to compare with
+     * @return the score in range [-1.0, 1.0]. 1.0 is returned if the images are equal
+     */
+    double ssim(LocalImageSimilarity other) {
+        checkSameSize(other);
+        double total = 0;
+        int windows = 0;
+        for (int top = 0; top < height; top += SSIM_WINDOW) {
+            for (int left = 0; left < width; left += SSIM_WINDOW) {
+                total += windowSsim(other, left, top,
+                        Math.min(left + SSIM_WINDOW, width), Math.min(top + SSIM_WINDOW, height));
+                windows++;
+            }
+        }
+        return total / windows;
+    }
+
+    private double windowSsim(LocalImageSimilarity other, int left, int top, int right, int bottom) {
+        final int count = (right - left) * (bottom - top);
+        double mean1 = 0;
+        double mean2 = 0;
+        for (int y = top; y < bottom; y++) {
+            for (int x = left; x < right; x++) {
+                mean1 += pixels[y * width + x];
+                mean2 += other.pixels[y * width + x];
+            }
+        }
+        mean1 /= count;
+        mean2 /= count;
+        double covariance = 0;
+        double variance1 = 0;
+        double variance2 = 0;
+        for (int y = top; y < bottom; y++) {
+            for (int x = left; x < right; x++) {
+                final double d1 = pixels[y * width + x] - mean1;
+                final double d2 = other.pixels[y * width + x] - mean2;
+                covariance += d1 * d2;
+                variance1 += d1 * d1;
+                variance2 += d2 * d2;
+            }
+        }
+        covariance /= count;
+        variance1 /= count;
+        variance2 /= count;
+        return ((2 * mean1 * mean2 + SSIM_C1) * (2 * covariance + SSIM_C2))
+                / ((mean1 * mean1 + mean2 * mean2 + SSIM_C1) * (variance1 + variance2 + SSIM_C2));
+    }
+
+    private void checkSameSize(LocalImageSimilarity other) {
+        if (width != other.width || height != other.height) {
+            throw new ScreenshotState.ScreenshotComparisonError(
+                    "Both images are expected to be of the same size/resolution");
+        }
+    }
+}
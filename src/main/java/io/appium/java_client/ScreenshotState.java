@@ -22,6 +22,7 @@ import static java.util.Optional.ofNullable;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Base64;
@@ -34,10 +35,35 @@ public class ScreenshotState {
     private static final Duration DEFAULT_INTERVAL_MS = Duration.ofMillis(500);
 
     private BufferedImage previousScreenshot;
+    private LocalImageSimilarity previousRaster;
+    private byte[] previousScreenshotBase64;
+    private final EncodingBuffer encodingBuffer = new EncodingBuffer();
     private final Supplier<BufferedImage> stateProvider;
     private final ComparesImages comparator;
 
     private Duration comparisonInterval = DEFAULT_INTERVAL_MS;
+    private ComparisonMethod comparisonMethod = ComparisonMethod.SERVER;
+
+    /**
+     * Defines how the similarity score between two screenshots is calculated.
+     */
+    public enum ComparisonMethod {
+        /**
+         * Images are encoded to PNG and compared by the server.
+         * See {@link ComparesImages#getImagesSimilarity(byte[], byte[])}.
+         */
+        SERVER,
+        /**
+         * The normalized correlation coefficient of downscaled grayscale images
+         * is calculated locally. The score is close to the one which is returned by the server.
+         */
+        LOCAL_CORRELATION,
+        /**
+         * The mean structural similarity index (SSIM) of downscaled grayscale images
+         * is calculated locally.
+         */
+        LOCAL_SSIM
+    }
 
     /**
      * The class constructor accepts two arguments. The first one is image comparator, the second
@@ -99,6 +125,28 @@ public class ScreenshotState {
         return this;
     }
 
+    /**
+     * Gets the method which is used to calculate the similarity score.
+     *
+     * @return current comparison method
+     */
+    public ComparisonMethod getComparisonMethod() {
+        return comparisonMethod;
+    }
+
+    /**
+     * Sets the method which is used to calculate the similarity score in <em>verify*</em>
+     * and {@link #getOverlapScore(BufferedImage, BufferedImage)} methods. Local methods
+     * do not encode images and do not send them to the server.
+     *
+     * @param comparisonMethod comparison method. {@link ComparisonMethod#SERVER} by default
+     * @return self instance for chaining
+     */
+    public ScreenshotState setComparisonMethod(ComparisonMethod comparisonMethod) {
+        this.comparisonMethod = checkNotNull(comparisonMethod);
+        return this;
+    }
+
     /**
      * Call this method to save the initial screenshot state.
      * It is mandatory to call before any <em>verify*</em> method is invoked.
@@ -106,7 +154,7 @@ public class ScreenshotState {
      * @return self instance for chaining
      */
     public ScreenshotState remember() {
-        this.previousScreenshot = stateProvider.get();
+        setInitialState(stateProvider.get());
         return this;
     }
 
@@ -119,10 +167,19 @@ public class ScreenshotState {
      * @return self instance for chaining
      */
     public ScreenshotState remember(BufferedImage customInitialState) {
-        this.previousScreenshot = checkNotNull(customInitialState);
+        setInitialState(checkNotNull(customInitialState));
         return this;
     }
 
+    private void setInitialState(BufferedImage initialState) {
+        this.previousScreenshot = initialState;
+        this.previousRaster = null;
+        // the encoded initial state is reused by all verification rounds
+        this.previousScreenshotBase64 = initialState != null && comparisonMethod == ComparisonMethod.SERVER
+                ? encodeBase64Png(initialState)
+                : null;
+    }
+
     public static class ScreenshotComparisonError extends RuntimeException {
         private static final long serialVersionUID = -7011854909939194466L;
 
@@ -154,9 +211,23 @@ public class ScreenshotState {
         double score;
         do {
             final BufferedImage currentState = stateProvider.get();
-            score = getOverlapScore(ofNullable(this.previousScreenshot)
+            final BufferedImage initialState = ofNullable(this.previousScreenshot)
                     .orElseThrow(() -> new ScreenshotComparisonError("Initial screenshot state is not set. "
-                            + "Nothing to compare")), currentState);
+                            + "Nothing to compare"));
+            if (comparisonMethod == ComparisonMethod.SERVER) {
+                if (previousScreenshotBase64 == null) {
+                    previousScreenshotBase64 = encodeBase64Png(initialState);
+                }
+                score = comparator.getImagesSimilarity(previousScreenshotBase64, encodeBase64Png(currentState))
+                        .getScore();
+            } else {
+                checkSameSize(initialState, currentState);
+                if (previousRaster == null) {
+                    // the initial state is only converted once per remember() call
+                    previousRaster = LocalImageSimilarity.of(initialState);
+                }
+                score = getLocalScore(previousRaster, LocalImageSimilarity.of(currentState));
+            }
             if (checkerFunc.apply(score)) {
                 return this;
             }
@@ -205,7 +276,8 @@ public class ScreenshotState {
     /**
      * Compares two valid java bitmaps and calculates similarity score between them.
      * Both images are expected to be of the same size/resolution. The method
-     * implicitly invokes {@link ComparesImages#getImagesSimilarity(byte[], byte[])}.
+     * implicitly invokes {@link ComparesImages#getImagesSimilarity(byte[], byte[])}
+     * unless a local comparison method is set.
      *
      * @param refImage   reference image
      * @param tplImage   template
@@ -214,16 +286,45 @@ public class ScreenshotState {
      *                                   different resolution
      */
     public double getOverlapScore(BufferedImage refImage, BufferedImage tplImage) {
-        try (ByteArrayOutputStream img1 = new ByteArrayOutputStream();
-             ByteArrayOutputStream img2 = new ByteArrayOutputStream()) {
-            ImageIO.write(refImage, "png", img1);
-            ImageIO.write(tplImage, "png", img2);
-            return comparator
-                    .getImagesSimilarity(Base64.getEncoder().encode(img1.toByteArray()),
-                            Base64.getEncoder().encode(img2.toByteArray()))
-                    .getScore();
+        if (comparisonMethod != ComparisonMethod.SERVER) {
+            checkSameSize(refImage, tplImage);
+            return getLocalScore(LocalImageSimilarity.of(refImage), LocalImageSimilarity.of(tplImage));
+        }
+        return comparator
+                .getImagesSimilarity(encodeBase64Png(refImage), encodeBase64Png(tplImage))
+                .getScore();
+    }
+
+    private byte[] encodeBase64Png(BufferedImage image) {
+        encodingBuffer.reset();
+        try {
+            ImageIO.write(image, "png", encodingBuffer);
         } catch (IOException e) {
             throw new ScreenshotComparisonError(e);
         }
+        return Base64.getEncoder().encode(encodingBuffer.toByteBuffer()).array();
+    }
+
+    /**
+     * The buffer for PNG data which is reused between verification rounds.
+     */
+    private static class EncodingBuffer extends ByteArrayOutputStream {
+        ByteBuffer toByteBuffer() {
+            return ByteBuffer.wrap(buf, 0, count);
+        }
+    }
+
+    private double getLocalScore(LocalImageSimilarity refRaster, LocalImageSimilarity tplRaster) {
+        return comparisonMethod == ComparisonMethod.LOCAL_SSIM
+                ? refRaster.ssim(tplRaster)
+                : refRaster.correlation(tplRaster);
+    }
+
+    private static void checkSameSize(BufferedImage refImage, BufferedImage tplImage) {
+        if (refImage.getWidth() != tplImage.getWidth() || refImage.getHeight() != tplImage.getHeight()) {
+            throw new ScreenshotComparisonError(String.format(
+                    "Both images are expected to be of the same size/resolution. %sx%s != %sx%s",
+                    refImage.getWidth(), refImage.getHeight(), tplImage.getWidth(), tplImage.getHeight()));
+        }
     }
 }
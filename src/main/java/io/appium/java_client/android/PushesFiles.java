@@ -22,11 +22,14 @@ import static io.appium.java_client.MobileCommand.pushFileCommand;
 import io.appium.java_client.CommandExecutionHelper;
 import io.appium.java_client.ExecutesMethod;
 import io.appium.java_client.InteractsWithFiles;
-import org.apache.commons.codec.binary.Base64;
-import org.apache.commons.io.FileUtils;
+import io.appium.java_client.filetransfer.RemoteFileTransfer;
+import io.appium.java_client.filetransfer.TransferProgress;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
 
 public interface PushesFiles extends InteractsWithFiles, ExecutesMethod {
 
@@ -60,15 +63,29 @@ public interface PushesFiles extends InteractsWithFiles, ExecutesMethod {
      *                   will be pushed to the root of the corresponding application container.
      * @param file is a file to write to remote device
      * @throws IOException when there are problems with a file or current file system
+     * @see #pushFile(String, File, Consumer)
      */
     default void pushFile(String remotePath, File file) throws IOException {
+        pushFile(remotePath, file, null);
+    }
+
+    /**
+     * Saves the given file to the remote mobile device and reports the transfer progress.
+     * The file content is encoded while it is being sent, so it is never loaded into memory as a whole.
+     *
+     * @param remotePath See the documentation on {@link #pushFile(String, byte[])}
+     * @param file is an existing local file to be written to the remote device
+     * @param progressListener is notified after each sent block of the file. Can be null
+     * @throws IOException when there are problems with a file or current file system
+     */
+    default void pushFile(String remotePath, File file,
+                          @Nullable Consumer<TransferProgress> progressListener) throws IOException {
         checkNotNull(file, "A reference to file should not be NULL");
         if (!file.exists()) {
             throw new IOException("The given file "
                 + file.getAbsolutePath() + " doesn't exist");
         }
-        pushFile(remotePath,
-            Base64.encodeBase64(FileUtils.readFileToByteArray(file)));
+        RemoteFileTransfer.pushFile(this, remotePath, file, progressListener);
     }
 
 }
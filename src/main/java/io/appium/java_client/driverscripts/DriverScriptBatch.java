@@ -0,0 +1,341 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.java_client.driverscripts;
+
+import org.openqa.seleniumone.WebDriverException;
+import org.openqa.seleniumone.WebElement;
+import org.openqa.seleniumone.json.Json;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Records a sequence of driver commands, which are then compiled into a single
+ * webdriverio script and executed in one round-trip with
+ * {@link io.appium.java_client.ExecutesDriverScript#batch}.
+ * Each recorded call returns a future, which gets completed after the script
+ * has been executed. All futures are completed exceptionally if the script fails.
+ * Instances of this class are not thread-safe and can only be executed once.
+ */
+public class DriverScriptBatch {
+    static final String RESULTS_VARIABLE = "$r";
+    private static final String ELEMENT_ID_FUNCTION = "$id";
+    private static final String W3C_ELEMENT_KEY = "element-6066-11e4-a52e-4f405ae8e98e";
+
+    private final Json json = new Json();
+    private final List<Step<?>> steps = new ArrayList<>();
+    private boolean completed = false;
+
+    /**
+     * Records a lookup of a single element in scope of the whole page.
+     *
+     * @param using the name of the lookup strategy, for example `accessibility id` or `xpath`
+     * @param value the selector value
+     * @return The handle of the element, which can be used for further steps
+     */
+    public Element findElement(String using, String value) {
+        return addElementStep(String.format("await driver.findElement(%s, %s)",
+                toLiteral(checkNotNull(using)), toLiteral(checkNotNull(value))));
+    }
+
+    /**
+     * Records the execution of a JavaScript snippet in the context of the currently selected frame.
+     * Elements recorded by this batch could be passed as script arguments.
+     *
+     * @param script the script to execute
+     * @param args script arguments
+     * @return The future of the script result
+     */
+    public CompletableFuture<Object> executeScript(String script, Object... args) {
+        List<Object> scriptArgs = new ArrayList<>();
+        for (Object arg : args) {
+            scriptArgs.add(arg instanceof Element ? new ElementReference((Element) arg) : arg);
+        }
+        return call("executeScript", script, scriptArgs);
+    }
+
+    /**
+     * Records the retrieval of the current page source.
+     *
+     * @return The future of the page source
+     */
+    public CompletableFuture<String> getPageSource() {
+        return addStep("await driver.getPageSource()", String.class::cast);
+    }
+
+    /**
+     * Records a call to an arbitrary protocol command of the webdriverio client, for example
+     * {@code call("hideKeyboard")} or {@code call("setOrientation", "LANDSCAPE")}.
+     * Elements recorded by this batch are passed to the command as element identifiers.
+     *
+     * @param command the name of the webdriverio protocol command
+     * @param args command arguments. They must be serializable to JSON.
+     * @return The future of the command result
+     */
+    public CompletableFuture<Object> call(String command, Object... args) {
+        checkArgument(checkNotNull(command).matches("[A-Za-z_$][\\w$]*"),
+                "'%s' is not a valid command name", command);
+        StringBuilder expression = new StringBuilder("await driver.").append(command).append('(');
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                expression.append(", ");
+            }
+            expression.append(toLiteral(args[i]));
+        }
+        return addStep(expression.append(')').toString(), Function.identity());
+    }
+
+    /**
+     * Gets the count of recorded steps.
+     *
+     * @return The count of steps
+     */
+    public int size() {
+        return steps.size();
+    }
+
+    /**
+     * Compiles all recorded steps into a webdriverio script. The script returns the
+     * array of step results in the same order the steps were recorded.
+     *
+     * @return The script source
+     */
+    public String toScript() {
+        StringBuilder script = new StringBuilder()
+                .append("const ").append(ELEMENT_ID_FUNCTION).append(" = (el) => el['")
+                .append(W3C_ELEMENT_KEY).append("'] || el.ELEMENT;\n")
+                .append("const ").append(RESULTS_VARIABLE).append(" = [];\n");
+        for (int i = 0; i < steps.size(); i++) {
+            script.append(RESULTS_VARIABLE).append('[').append(i).append("] = ")
+                    .append(steps.get(i).expression).append(";\n");
+        }
+        return script.append("return ").append(RESULTS_VARIABLE).append(';').toString();
+    }
+
+    /**
+     * Completes the futures of all recorded steps with the results returned by the script.
+     * Found elements are expected to be already converted to {@link WebElement} instances
+     * by the element converter of the driver.
+     *
+     * @param result the result of the compiled script
+     * @throws WebDriverException if the result is not the list of step results.
+     *         The futures of all steps are completed exceptionally with the same exception.
+     */
+    public void complete(Object result) {
+        if (!(result instanceof List) || ((List<?>) result).size() != steps.size()) {
+            WebDriverException e = new WebDriverException(String.format(
+                    "The batch script was expected to return a list of %s results. Got '%s' instead",
+                    steps.size(), result));
+            fail(e);
+            throw e;
+        }
+        markCompleted();
+        List<?> results = (List<?>) result;
+        for (int i = 0; i < steps.size(); i++) {
+            steps.get(i).complete(results.get(i));
+        }
+    }
+
+    /**
+     * Completes the futures of all recorded steps exceptionally.
+     *
+     * @param cause the failure cause
+     */
+    public void fail(Throwable cause) {
+        checkNotNull(cause);
+        markCompleted();
+        steps.forEach(step -> step.future.completeExceptionally(cause));
+    }
+
+    private void markCompleted() {
+        checkState(!completed, "This batch has been already executed");
+        completed = true;
+    }
+
+    private String toLiteral(Object value) {
+        if (value instanceof Element) {
+            return new ElementReference((Element) value).toString();
+        }
+        if (value instanceof ElementReference) {
+            return value.toString();
+        }
+        if (value instanceof List) {
+            List<String> items = new ArrayList<>();
+            ((List<?>) value).forEach(item -> items.add(toLiteral(item)));
+            return "[" + String.join(", ", items) + "]";
+        }
+        return json.toJson(value);
+    }
+
+    private <T> CompletableFuture<T> addStep(String expression, Function<Object, T> converter) {
+        checkState(!completed, "This batch has been already executed");
+        Step<T> step = new Step<>(expression, converter);
+        steps.add(step);
+        return step.future;
+    }
+
+    private Element addElementStep(String lookupExpression) {
+        checkState(!completed, "This batch has been already executed");
+        // the raw element reference is returned, so the driver converts it like any other found element
+        Step<WebElement> step = new Step<>(lookupExpression, DriverScriptBatch::toWebElement);
+        steps.add(step);
+        return new Element(steps.size() - 1, step.future);
+    }
+
+    private static WebElement toWebElement(Object value) {
+        if (value instanceof WebElement) {
+            return (WebElement) value;
+        }
+        throw new WebDriverException(String.format(
+                "The batch script was expected to return an element. Got '%s' instead", value));
+    }
+
+    private static class Step<T> {
+        private final String expression;
+        private final Function<Object, T> converter;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        Step(String expression, Function<Object, T> converter) {
+            this.expression = expression;
+            this.converter = converter;
+        }
+
+        void complete(Object value) {
+            try {
+                future.complete(value == null ? null : converter.apply(value));
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static class ElementReference {
+        private final Element element;
+
+        ElementReference(Element element) {
+            this.element = element;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("{'%s': %s}", W3C_ELEMENT_KEY, element.id());
+        }
+    }
+
+    /**
+     * The handle of an element found by the batch.
+     * Calls to this handle record further steps into the same batch.
+     */
+    public final class Element {
+        private final int index;
+        private final CompletableFuture<WebElement> future;
+
+        private Element(int index, CompletableFuture<WebElement> future) {
+            this.index = index;
+            this.future = future;
+        }
+
+        private String id() {
+            return String.format("%s(%s[%s])", ELEMENT_ID_FUNCTION, RESULTS_VARIABLE, index);
+        }
+
+        /**
+         * Gets the future of the actual element instance.
+         *
+         * @return The element future
+         */
+        public CompletableFuture<WebElement> toWebElement() {
+            return future;
+        }
+
+        /**
+         * Records a lookup of a single element in scope of this element.
+         *
+         * @param using the name of the lookup strategy
+         * @param value the selector value
+         * @return The handle of the child element
+         */
+        public Element findElement(String using, String value) {
+            return addElementStep(String.format("await driver.findElementFromElement(%s, %s, %s)",
+                    id(), toLiteral(checkNotNull(using)), toLiteral(checkNotNull(value))));
+        }
+
+        /**
+         * Records a click on this element.
+         *
+         * @return The future, which is completed after the click
+         */
+        public CompletableFuture<Void> click() {
+            return addStep(String.format("await driver.elementClick(%s)", id()), value -> null);
+        }
+
+        /**
+         * Records clearing of this element's value.
+         *
+         * @return The future, which is completed after the element is cleared
+         */
+        public CompletableFuture<Void> clear() {
+            return addStep(String.format("await driver.elementClear(%s)", id()), value -> null);
+        }
+
+        /**
+         * Records typing into this element.
+         *
+         * @param keysToSend the keys to type
+         * @return The future, which is completed after the keys are sent
+         */
+        public CompletableFuture<Void> sendKeys(CharSequence... keysToSend) {
+            return addStep(String.format("await driver.elementSendKeys(%s, %s)",
+                    id(), toLiteral(String.join("", keysToSend))), value -> null);
+        }
+
+        /**
+         * Records the retrieval of this element's text.
+         *
+         * @return The future of the element text
+         */
+        public CompletableFuture<String> getText() {
+            return addStep(String.format("await driver.getElementText(%s)", id()), String.class::cast);
+        }
+
+        /**
+         * Records the retrieval of this element's attribute value.
+         *
+         * @param name the attribute name
+         * @return The future of the attribute value
+         */
+        public CompletableFuture<String> getAttribute(String name) {
+            return addStep(String.format("await driver.getElementAttribute(%s, %s)",
+                    id(), toLiteral(checkNotNull(name))), String::valueOf);
+        }
+
+        /**
+         * Records the retrieval of this element's visibility state.
+         *
+         * @return The future of the visibility state
+         */
+        public CompletableFuture<Boolean> isDisplayed() {
+            return addStep(String.format("await driver.isElementDisplayed(%s)", id()), Boolean.class::cast);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.java_client.events;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers {@code after*} and {@code onException} listener events on a background thread.
+ * Events are put into a bounded queue and passed to listeners in the same order they were fired.
+ * {@code before*} events are always delivered synchronously, so listeners which are called
+ * asynchronously must not rely on the driver state at the moment of the event.
+ *
+ * <p>The dispatcher may be shared by several event firing objects. It has to be closed
+ * when it is not needed anymore. Events which are fired after that are delivered synchronously,
+ * but only after all the queued events, and never concurrently with other events.
+ */
+public class AsyncListenerDispatcher implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncListenerDispatcher.class);
+    public static final int DEFAULT_CAPACITY = 1024;
+    public static final int DEFAULT_SAMPLE_RATE = 10;
+    private static final long POLL_INTERVAL_MS = 100;
+
+    /**
+     * Defines what happens to an event which is fired while the queue is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * The firing thread waits until there is free space in the queue.
+         */
+        BLOCK,
+        /**
+         * The event is dropped.
+         */
+        DROP,
+        /**
+         * Only every n-th overflowing event is queued (the firing thread waits for it),
+         * other ones are dropped.
+         */
+        SAMPLE
+    }
+
+    private final BlockingQueue<Runnable> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final int sampleRate;
+    private final AtomicLong overflowCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong dispatchedCount = new AtomicLong();
+    private final Thread worker;
+    // guards synchronous deliveries once the dispatcher is closed
+    private final Object closedDeliveryLock = new Object();
+    private volatile boolean closed = false;
+
+    /**
+     * Creates the dispatcher with the default capacity which blocks on overflow.
+     */
+    public AsyncListenerDispatcher() {
+        this(DEFAULT_CAPACITY, OverflowPolicy.BLOCK);
+    }
+
+    /**
+     * Creates the dispatcher.
+     *
+     * @param capacity the maximum count of queued events
+     * @param overflowPolicy what to do with an event if the queue is full
+     */
+    public AsyncListenerDispatcher(int capacity, OverflowPolicy overflowPolicy) {
+        this(capacity, overflowPolicy, DEFAULT_SAMPLE_RATE);
+    }
+
+    /**
+     * Creates the dispatcher.
+     *
+     * @param capacity the maximum count of queued events
+     * @param overflowPolicy what to do with an event if the queue is full
+     * @param sampleRate every n-th overflowing event is kept if the policy is
+     *                   {@link OverflowPolicy#SAMPLE}
+     */
+    public AsyncListenerDispatcher(int capacity, OverflowPolicy overflowPolicy, int sampleRate) {
+        checkArgument(capacity > 0, "capacity must be a positive number");
+        checkArgument(sampleRate > 0, "sampleRate must be a positive number");
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.overflowPolicy = checkNotNull(overflowPolicy);
+        this.sampleRate = sampleRate;
+        this.worker = new ThreadFactoryBuilder()
+                .setNameFormat("appium-listener-dispatcher-%d")
+                .setDaemon(true)
+                .build()
+                .newThread(this::drain);
+        this.worker.start();
+    }
+
+    /**
+     * Queues the event delivery according to the overflow policy.
+     *
+     * @param event the listener call
+     */
+    void dispatch(Runnable event) {
+        if (closed) {
+            deliverAfterClose(event);
+            return;
+        }
+        if (queue.offer(event)) {
+            if (closed) {
+                // the background thread might have already stopped
+                deliverAfterClose(null);
+            }
+            return;
+        }
+        long overflowNumber = overflowCount.incrementAndGet();
+        if (overflowPolicy == OverflowPolicy.DROP
+                || (overflowPolicy == OverflowPolicy.SAMPLE && overflowNumber % sampleRate != 0)) {
+            droppedCount.incrementAndGet();
+            return;
+        }
+        try {
+            while (!queue.offer(event, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+                if (closed) {
+                    deliverAfterClose(event);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            droppedCount.incrementAndGet();
+        }
+    }
+
+    private void drain() {
+        while (!closed || !queue.isEmpty()) {
+            try {
+                Runnable event = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (event != null) {
+                    deliver(event);
+                }
+            } catch (InterruptedException e) {
+                // the dispatcher is being closed
+            }
+        }
+    }
+
+    private void deliverAfterClose(Runnable event) {
+        if (Thread.currentThread() == worker) {
+            // a listener fires events itself, so the worker delivers them after the queued ones
+            if (event != null && !queue.offer(event)) {
+                deliver(event);
+            }
+            return;
+        }
+        synchronized (closedDeliveryLock) {
+            // the worker might still be delivering queued events, which have to go first
+            Uninterruptibles.joinUninterruptibly(worker);
+            drainRemaining();
+            if (event != null) {
+                deliver(event);
+            }
+        }
+    }
+
+    private void drainRemaining() {
+        Runnable event;
+        while ((event = queue.poll()) != null) {
+            deliver(event);
+        }
+    }
+
+    private void deliver(Runnable event) {
+        try {
+            event.run();
+        } catch (RuntimeException e) {
+            // log error and continue
+            LOG.warn("Listener has failed to process an event", e);
+        } finally {
+            dispatchedCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Gets the current queue depth.
+     *
+     * @return the count of events which are waiting for the delivery
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Gets the count of dropped events.
+     *
+     * @return the count of events which have been dropped because the queue was full
+     */
+    public long getDroppedEventCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Gets the count of delivered events.
+     *
+     * @return the count of events which have been passed to listeners
+     */
+    public long getDispatchedEventCount() {
+        return dispatchedCount.get();
+    }
+
+    /**
+     * Delivers all the queued events and stops the background thread.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        deliverAfterClose(null);
+    }
+}
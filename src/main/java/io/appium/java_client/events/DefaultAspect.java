@@ -18,8 +18,6 @@ package io.appium.java_client.events;
 
 import static io.appium.java_client.events.DefaultBeanConfiguration.COMPONENT_BEAN;
 
-import com.google.common.collect.ImmutableList;
-
 import io.appium.java_client.events.api.Listener;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -28,13 +26,9 @@ import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
-import org.openqa.seleniumone.Alert;
-import org.openqa.seleniumone.ContextAware;
 import org.openqa.seleniumone.WebDriver;
-import org.openqa.seleniumone.WebElement;
 import org.springframework.context.support.AbstractApplicationContext;
 
-import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -43,51 +37,47 @@ import java.util.List;
 @Aspect
 class DefaultAspect {
 
-    private static final List<Class<?>> listenable = ImmutableList.of(WebDriver.class,
-        WebElement.class, WebDriver.Navigation.class, WebDriver.TargetLocator.class,
-        ContextAware.class, Alert.class, WebDriver.Options.class, WebDriver.Window.class);
-
-    private static final String EXECUTION_NAVIGATION_TO = "execution(* org.openqa.seleniumone.WebDriver."
+    static final String EXECUTION_NAVIGATION_TO = "execution(* org.openqa.seleniumone.WebDriver."
         + "Navigation.get(..))  || "
         + "execution(* org.openqa.seleniumone.WebDriver.Navigation.to(..)) || "
         + "execution(* org.openqa.seleniumone.WebDriver.get(..))";
-    private static final String EXECUTION_NAVIGATION_BACK = "execution(* org.openqa.seleniumone.WebDriver."
+    static final String EXECUTION_NAVIGATION_BACK = "execution(* org.openqa.seleniumone.WebDriver."
         + "Navigation.back(..))";
-    private static final String EXECUTION_NAVIGATION_FORWARD = "execution(* org.openqa.seleniumone.WebDriver."
+    static final String EXECUTION_NAVIGATION_FORWARD = "execution(* org.openqa.seleniumone.WebDriver."
         + "Navigation.forward(..))";
-    private static final String EXECUTION_NAVIGATION_REFRESH = "execution(* org.openqa.seleniumone.WebDriver."
+    static final String EXECUTION_NAVIGATION_REFRESH = "execution(* org.openqa.seleniumone.WebDriver."
         + "Navigation.refresh(..))";
-    private static final String EXECUTION_SEARCH = "execution(* org.openqa.seleniumone.SearchContext."
+    static final String EXECUTION_SEARCH = "execution(* org.openqa.seleniumone.SearchContext."
         + "findElement(..)) || "
         + "execution(* org.openqa.seleniumone.SearchContext.findElements(..))";
-    private static final String EXECUTION_CLICK = "execution(* org.openqa.seleniumone.WebElement.click(..))";
-    private static final String EXECUTION_CHANGE_VALUE = "execution(* org.openqa.seleniumone.WebElement."
+    static final String EXECUTION_CLICK = "execution(* org.openqa.seleniumone.WebElement.click(..))";
+    static final String EXECUTION_CHANGE_VALUE = "execution(* org.openqa.seleniumone.WebElement."
         + "sendKeys(..)) || "
         + "execution(* org.openqa.seleniumone.WebElement.clear(..))  || "
         + "execution(* io.appium.java_client.android.AndroidElement.replaceValue(..))  || "
         + "execution(* io.appium.java_client.MobileElement.setValue(..))";
-    private static final String EXECUTION_SCRIPT = "execution(* org.openqa.seleniumone.JavascriptExecutor."
+    static final String EXECUTION_SCRIPT = "execution(* org.openqa.seleniumone.JavascriptExecutor."
         + "executeScript(..)) || "
         + "execution(* org.openqa.seleniumone.JavascriptExecutor.executeAsyncScript(..))";
-    private static final String EXECUTION_ALERT_ACCEPT = "execution(* org.openqa.seleniumone.Alert."
+    static final String EXECUTION_ALERT_ACCEPT = "execution(* org.openqa.seleniumone.Alert."
         + "accept(..))";
-    private static final String EXECUTION_ALERT_DISMISS = "execution(* org.openqa.seleniumone.Alert."
+    static final String EXECUTION_ALERT_DISMISS = "execution(* org.openqa.seleniumone.Alert."
         + "dismiss(..))";
-    private static final String EXECUTION_ALERT_SEND_KEYS = "execution(* org.openqa.seleniumone.Alert."
+    static final String EXECUTION_ALERT_SEND_KEYS = "execution(* org.openqa.seleniumone.Alert."
         + "sendKeys(..))";
-    private static final String EXECUTION_WINDOW_SET_SIZE = "execution(* org.openqa.seleniumone."
+    static final String EXECUTION_WINDOW_SET_SIZE = "execution(* org.openqa.seleniumone."
         + "WebDriver.Window.setSize(..))";
-    private static final String EXECUTION_WINDOW_SET_POSITION = "execution(* org.openqa.seleniumone.WebDriver."
+    static final String EXECUTION_WINDOW_SET_POSITION = "execution(* org.openqa.seleniumone.WebDriver."
         + "Window.setPosition(..))";
-    private static final String EXECUTION_WINDOW_MAXIMIZE = "execution(* org.openqa.seleniumone.WebDriver."
+    static final String EXECUTION_WINDOW_MAXIMIZE = "execution(* org.openqa.seleniumone.WebDriver."
         + "Window.maximize(..))";
-    private static final String EXECUTION_ROTATE = "execution(* org.openqa.seleniumone.Rotatable"
-        + ".rotate(..))";
-    private static final String EXECUTION_CONTEXT = "execution(* org.openqa.seleniumone.ContextAware."
+    static final String EXECUTION_ROTATE = "execution(* org.openqa.seleniumone.Rotatable"
+        + ".rotate(org.openqa.seleniumone.ScreenOrientation))";
+    static final String EXECUTION_CONTEXT = "execution(* org.openqa.seleniumone.ContextAware."
         + "context(..))";
-    private static final String EXECUTION_SWITCH_TO_WINDOW = "execution(* org.openqa.seleniumone.WebDriver.TargetLocator"
+    static final String EXECUTION_SWITCH_TO_WINDOW = "execution(* org.openqa.seleniumone.WebDriver.TargetLocator"
             + ".window(..))";
-    private static final String EXECUTION_TAKE_SCREENSHOT_AS = "execution(* org.openqa.seleniumone.TakesScreenshot"
+    static final String EXECUTION_TAKE_SCREENSHOT_AS = "execution(* org.openqa.seleniumone.TakesScreenshot"
             + ".getScreenshotAs(..))";
     private static final String AROUND = "execution(* org.openqa.seleniumone.WebDriver.*(..)) || "
         + "execution(* org.openqa.seleniumone.WebElement.*(..)) || "
@@ -125,26 +115,7 @@ class DefaultAspect {
     private final DefaultListener listener = new DefaultListener();
 
     private static Throwable getRootCause(Throwable thrown) {
-        Class<? extends Throwable> throwableClass = thrown.getClass();
-
-        if (!InvocationTargetException.class.equals(throwableClass) && !RuntimeException.class.equals(throwableClass)) {
-            return thrown;
-        }
-        if (thrown.getCause() != null) {
-            return getRootCause(thrown.getCause());
-        }
-        return thrown;
-    }
-
-    private static Class<?> getClassForProxy(Class<?> classOfObject) {
-        Class<?> returnStatement = null;
-        for (Class<?> c : listenable) {
-            if (!c.isAssignableFrom(classOfObject)) {
-                continue;
-            }
-            returnStatement =  c;
-        }
-        return returnStatement;
+        return EventFiringInterceptor.getRootCause(thrown);
     }
 
     DefaultAspect(AbstractApplicationContext context, WebDriver driver) {
@@ -158,17 +129,17 @@ class DefaultAspect {
         }
 
         Object result = toBeTransformed;
-        if (getClassForProxy(toBeTransformed.getClass()) != null) {
+        if (EventFiringInterceptor.isListenable(toBeTransformed.getClass())) {
             result = context.getBean(COMPONENT_BEAN, toBeTransformed);
         }
         return result;
     }
 
-    private List<Object> returnProxyList(List<Object> originalList) {
+    private List<Object> returnProxyList(List<?> originalList) {
         try {
             List<Object> proxyList = new ArrayList<>();
             for (Object o : originalList) {
-                if (getClassForProxy(o.getClass()) == null) {
+                if (!EventFiringInterceptor.isListenable(o.getClass())) {
                     proxyList.add(o);
                 } else {
                     proxyList.add(context.getBean(COMPONENT_BEAN, o));
@@ -185,321 +156,182 @@ class DefaultAspect {
         listener.add(listeners);
     }
 
-    @Before(EXECUTION_NAVIGATION_TO)
-    public void beforeNavigateTo(JoinPoint joinPoint) throws Throwable {
+    private void fireBefore(ObservedAction action, JoinPoint joinPoint) throws Throwable {
         try {
-            listener.beforeNavigateTo(String.valueOf(joinPoint.getArgs()[0]), driver);
+            action.before(listener, driver, joinPoint.getTarget(), joinPoint.getArgs());
         } catch (Throwable t) {
             throw getRootCause(t);
         }
     }
 
-    @After(EXECUTION_NAVIGATION_TO)
-    public void afterNavigateTo(JoinPoint joinPoint)  throws Throwable {
+    private void fireAfter(ObservedAction action, JoinPoint joinPoint) throws Throwable {
         try {
-            listener.afterNavigateTo(String.valueOf(joinPoint.getArgs()[0]), driver);
+            action.after(listener, driver, joinPoint.getTarget(), joinPoint.getArgs());
         } catch (Throwable t) {
             throw getRootCause(t);
         }
     }
 
+    @Before(EXECUTION_NAVIGATION_TO)
+    public void beforeNavigateTo(JoinPoint joinPoint) throws Throwable {
+        fireBefore(ObservedAction.NAVIGATE_TO, joinPoint);
+    }
+
+    @After(EXECUTION_NAVIGATION_TO)
+    public void afterNavigateTo(JoinPoint joinPoint) throws Throwable {
+        fireAfter(ObservedAction.NAVIGATE_TO, joinPoint);
+    }
+
     @Before(EXECUTION_NAVIGATION_BACK)
     public void beforeNavigateBack(JoinPoint joinPoint) throws Throwable {
-        try {
-            listener.beforeNavigateBack(driver);
-        } catch (Throwable t) {
-            throw getRootCause(t);
-        }
+        fireBefore(ObservedAction.NAVIGATE_BACK, joinPoint);
     }
 
     @After(EXECUTION_NAVIGATION_BACK)
     public void afterNavigateBack(JoinPoint joinPoint) throws Throwable {
-        try {
-            listener.afterNavigateBack(driver);
-        } catch (Throwable t) {
-            throw getRootCause(t);
-        }
+        fireAfter(ObservedAction.NAVIGATE_BACK, joinPoint);
     }
 
     @Before(EXECUTION_NAVIGATION_FORWARD)
-    public void beforeNavigateForward(JoinPoint joinPoint)  throws Throwable {
-        try {
-            listener.beforeNavigateForward(driver);
-        } catch (Throwable t) {
-            throw getRootCause(t);
-        }
+    public void beforeNavigateForward(JoinPoint joinPoint) throws Throwable {
+        fireBefore(ObservedAction.NAVIGATE_FORWARD, joinPoint);
     }
 
     @After(EXECUTION_NAVIGATION_FORWARD)
     public void afterNavigateForward(JoinPoint joinPoint) throws Throwable {
-        try {
-            listener.afterNavigateForward(driver);
-        } catch (Throwable t) {
-            throw getRootCause(t);
-        }
+        fireAfter(ObservedAction.NAVIGATE_FORWARD, joinPoint);
     }
 
     @Before(EXECUTION_NAVIGATION_REFRESH)
-    public void beforeNavigateRefresh(JoinPoint joinPoint)  throws Throwable {
-        try {
-            listener.beforeNavigateRefresh(driver);
-        } catch (Throwable t) {
-            throw getRootCause(t);
-        }
+    public void beforeNavigateRefresh(JoinPoint joinPoint) throws Throwable {
+        fireBefore(ObservedAction.NAVIGATE_REFRESH, joinPoint);
     }
 
     @After(EXECUTION_NAVIGATION_REFRESH)
     public void afterNavigateRefresh(JoinPoint joinPoint) throws Throwable {
-        try {
-            listener.afterNavigateRefresh(driver);
-        } catch (Throwable t) {
-            throw getRootCause(t);
-        }
-    }
-
-    @SuppressWarnings("unchecked")
-    private <T> T castArgument(JoinPoint joinPoint, int argIndex) {
-        return (T) joinPoint.getArgs()[argIndex];
-    }
-
-    @SuppressWarnings("unchecked")
-    private <T> T castTarget(JoinPoint joinPoint) {
-        return (T) joinPoint.getTarget();
+        fireAfter(ObservedAction.NAVIGATE_REFRESH, joinPoint);
     }
 
     @Before(EXECUTION_SEARCH)
     public void beforeFindBy(JoinPoint joinPoint) throws Throwable {
-        try {
-            Object target =  joinPoint.getTarget();
-            if (!WebElement.class.isAssignableFrom(target.getClass())) {
-                listener.beforeFindBy(castArgument(joinPoint, 0), null, driver);
-            } else {
-                listener.beforeFindBy(castArgument(joinPoint, 0),
-                    castTarget(joinPoint), driver);
-            }
-        } catch (Throwable t) {
-            throw getRootCause(t);
-        }
+        fireBefore(ObservedAction.SEARCH, joinPoint);
     }
 
     @After(EXECUTION_SEARCH)
     public void afterFindBy(JoinPoint joinPoint) throws Throwable {
-        try {
-            Object target =  joinPoint.getTarget();
-            if (!WebElement.class.isAssignableFrom(target.getClass())) {
-                listener.afterFindBy(castArgument(joinPoint, 0), null, driver);
-            } else {
-                listener.afterFindBy(castArgument(joinPoint, 0),
-                    castTarget(joinPoint), driver);
-            }
-        } catch (Throwable t) {
-            throw getRootCause(t);
-        }
+        fireAfter(ObservedAction.SEARCH, joinPoint);
     }
 
     @Before(EXECUTION_CLICK)
     public void beforeClickOn(JoinPoint joinPoint) throws Throwable {
-        try {
-            listener.beforeClickOn(castTarget(joinPoint), driver);
-        } catch (Throwable t) {
-            throw getRootCause(t);
-        }
+        fireBefore(ObservedAction.CLICK, joinPoint);
     }
 
     @After(EXECUTION_CLICK)
     public void afterClickOn(JoinPoint joinPoint) throws Throwable {
-        try {
-            listener.afterClickOn(castTarget(joinPoint), driver);
-        } catch (Throwable t) {
-            throw getRootCause(t);
-        }
+        fireAfter(ObservedAction.CLICK, joinPoint);
     }
 
     @Before(EXECUTION_CHANGE_VALUE)
     public void beforeChangeValueOf(JoinPoint joinPoint) throws Throwable {
-        try {
-            listener.beforeChangeValueOf(castTarget(joinPoint), driver);
-        } catch (Throwable t) {
-            throw getRootCause(t);
-        }
+        fireBefore(ObservedAction.CHANGE_VALUE, joinPoint);
     }
 
     @After(EXECUTION_CHANGE_VALUE)
     public void afterChangeValueOf(JoinPoint joinPoint) throws Throwable {
-        try {
-            listener.afterChangeValueOf(castTarget(joinPoint), driver);
-        } catch (Throwable t) {
-            throw getRootCause(t);
-        }
+        fireAfter(ObservedAction.CHANGE_VALUE, joinPoint);
     }
 
     @Before(EXECUTION_SCRIPT)
     public void beforeScript(JoinPoint joinPoint) throws Throwable {
-        try {
-            listener.beforeScript(String.valueOf(joinPoint.getArgs()[0]), driver);
-        } catch (Throwable t) {
-            throw getRootCause(t);
-        }
+        fireBefore(ObservedAction.SCRIPT, joinPoint);
     }
 
     @After(EXECUTION_SCRIPT)
     public void afterScript(JoinPoint joinPoint) throws Throwable {
-        try {
-            listener.afterScript(String.valueOf(joinPoint.getArgs()[0]), driver);
-        } catch (Throwable t) {
-            throw getRootCause(t);
-        }
+        fireAfter(ObservedAction.SCRIPT, joinPoint);
     }
 
     @Before(EXECUTION_ALERT_ACCEPT)
     public void beforeAlertAccept(JoinPoint joinPoint) throws Throwable {
-        try {
-            listener.beforeAlertAccept(driver, castTarget(joinPoint));
-            listener.beforeAlertAccept(driver);
-        } catch (Throwable t) {
-            throw getRootCause(t);
-        }
+        fireBefore(ObservedAction.ALERT_ACCEPT, joinPoint);
     }
 
     @After(EXECUTION_ALERT_ACCEPT)
     public void afterAlertAccept(JoinPoint joinPoint) throws Throwable {
-        try {
-            listener.afterAlertAccept(driver, castTarget(joinPoint));
-            listener.afterAlertAccept(driver);
-        } catch (Throwable t) {
-            throw getRootCause(t);
-        }
+        fireAfter(ObservedAction.ALERT_ACCEPT, joinPoint);
     }
 
     @Before(EXECUTION_ALERT_DISMISS)
     public void beforeAlertDismiss(JoinPoint joinPoint) throws Throwable {
-        try {
-            listener.beforeAlertDismiss(driver, castTarget(joinPoint));
-            listener.beforeAlertDismiss(driver);
-        } catch (Throwable t) {
-            throw getRootCause(t);
-        }
+        fireBefore(ObservedAction.ALERT_DISMISS, joinPoint);
     }
 
     @After(EXECUTION_ALERT_DISMISS)
     public void afterAlertDismiss(JoinPoint joinPoint) throws Throwable {
-        try {
-            listener.afterAlertDismiss(driver, castTarget(joinPoint));
-            listener.afterAlertDismiss(driver);
-        } catch (Throwable t) {
-            throw getRootCause(t);
-        }
+        fireAfter(ObservedAction.ALERT_DISMISS, joinPoint);
     }
 
     @Before(EXECUTION_ALERT_SEND_KEYS)
     public void beforeAlertSendKeys(JoinPoint joinPoint) throws Throwable {
-        try {
-            listener.beforeAlertSendKeys(driver, castTarget(joinPoint),
-                String.valueOf(joinPoint.getArgs()[0]));
-        } catch (Throwable t) {
-            throw getRootCause(t);
-        }
+        fireBefore(ObservedAction.ALERT_SEND_KEYS, joinPoint);
     }
 
     @After(EXECUTION_ALERT_SEND_KEYS)
     public void afterAlertSendKeys(JoinPoint joinPoint) throws Throwable {
-        try {
-            listener.afterAlertSendKeys(driver, castTarget(joinPoint),
-                String.valueOf(joinPoint.getArgs()[0]));
-        } catch (Throwable t) {
-            throw getRootCause(t);
-        }
+        fireAfter(ObservedAction.ALERT_SEND_KEYS, joinPoint);
     }
 
     @Before(EXECUTION_WINDOW_SET_SIZE)
     public void beforeWindowIsResized(JoinPoint joinPoint) throws Throwable {
-        try {
-            listener.beforeWindowChangeSize(driver,
-                castTarget(joinPoint), castArgument(joinPoint, 0));
-        } catch (Throwable t) {
-            throw getRootCause(t);
-        }
+        fireBefore(ObservedAction.WINDOW_SET_SIZE, joinPoint);
     }
 
     @After(EXECUTION_WINDOW_SET_SIZE)
     public void afterWindowIsResized(JoinPoint joinPoint) throws Throwable {
-        try {
-            listener.afterWindowChangeSize(driver, castTarget(joinPoint),
-                castArgument(joinPoint, 0));
-        } catch (Throwable t) {
-            throw getRootCause(t);
-        }
+        fireAfter(ObservedAction.WINDOW_SET_SIZE, joinPoint);
     }
 
     @Before(EXECUTION_WINDOW_SET_POSITION)
     public void beforeWindowIsMoved(JoinPoint joinPoint) throws Throwable {
-        try {
-            listener.beforeWindowIsMoved(driver, castTarget(joinPoint),
-                castArgument(joinPoint, 0));
-        } catch (Throwable t) {
-            throw getRootCause(t);
-        }
+        fireBefore(ObservedAction.WINDOW_SET_POSITION, joinPoint);
     }
 
     @After(EXECUTION_WINDOW_SET_POSITION)
     public void afterWindowIsMoved(JoinPoint joinPoint) throws Throwable {
-        try {
-            listener.afterWindowIsMoved(driver, castTarget(joinPoint),
-                castArgument(joinPoint, 0));
-        } catch (Throwable t) {
-            throw getRootCause(t);
-        }
+        fireAfter(ObservedAction.WINDOW_SET_POSITION, joinPoint);
     }
 
     @Before(EXECUTION_WINDOW_MAXIMIZE)
     public void beforeMaximization(JoinPoint joinPoint) throws Throwable {
-        try {
-            listener.beforeWindowIsMaximized(driver, castTarget(joinPoint));
-        } catch (Throwable t) {
-            throw getRootCause(t);
-        }
+        fireBefore(ObservedAction.WINDOW_MAXIMIZE, joinPoint);
     }
 
     @After(EXECUTION_WINDOW_MAXIMIZE)
     public void afterMaximization(JoinPoint joinPoint) throws Throwable {
-        try {
-            listener.afterWindowIsMaximized(driver, castTarget(joinPoint));
-        } catch (Throwable t) {
-            throw getRootCause(t);
-        }
+        fireAfter(ObservedAction.WINDOW_MAXIMIZE, joinPoint);
     }
 
     @Before(EXECUTION_SWITCH_TO_WINDOW)
     public void beforeSwitchToWindow(JoinPoint joinPoint) throws Throwable {
-        try {
-            listener.beforeSwitchToWindow(castArgument(joinPoint, 0), driver);
-        } catch (Throwable t) {
-            throw getRootCause(t);
-        }
+        fireBefore(ObservedAction.SWITCH_TO_WINDOW, joinPoint);
     }
 
     @After(EXECUTION_SWITCH_TO_WINDOW)
     public void afterSwitchToWindow(JoinPoint joinPoint) throws Throwable {
-        try {
-            listener.afterSwitchToWindow(castArgument(joinPoint, 0), driver);
-        } catch (Throwable t) {
-            throw getRootCause(t);
-        }
+        fireAfter(ObservedAction.SWITCH_TO_WINDOW, joinPoint);
     }
 
     @Before(EXECUTION_TAKE_SCREENSHOT_AS)
     public void beforeTakeScreenShot(JoinPoint joinPoint) throws Throwable {
-        try {
-            listener.beforeGetScreenshotAs(castArgument(joinPoint, 0));
-        } catch (Throwable t) {
-            throw getRootCause(t);
-        }
+        fireBefore(ObservedAction.TAKE_SCREENSHOT, joinPoint);
     }
 
     @AfterReturning(value = EXECUTION_TAKE_SCREENSHOT_AS, returning = "result")
     public void afterTakeScreenShot(JoinPoint joinPoint, Object result) throws Throwable {
         try {
-            listener.afterGetScreenshotAs(castArgument(joinPoint, 0), result);
+            ObservedAction.TAKE_SCREENSHOT.afterReturning(listener, driver, joinPoint.getTarget(),
+                joinPoint.getArgs(), result);
         } catch (Throwable t) {
             throw getRootCause(t);
         }
@@ -507,40 +339,22 @@ class DefaultAspect {
 
     @Before(EXECUTION_ROTATE)
     public void beforeRotation(JoinPoint joinPoint) throws Throwable {
-        try {
-            listener.beforeRotation(driver, castArgument(joinPoint, 0));
-        } catch (Throwable t) {
-            throw getRootCause(t);
-        }
-
+        fireBefore(ObservedAction.ROTATE, joinPoint);
     }
 
     @After(EXECUTION_ROTATE)
     public void afterRotation(JoinPoint joinPoint) throws Throwable {
-        try {
-            listener.afterRotation(driver, castArgument(joinPoint, 0));
-        } catch (Throwable t) {
-            throw getRootCause(t);
-        }
+        fireAfter(ObservedAction.ROTATE, joinPoint);
     }
 
     @Before(EXECUTION_CONTEXT)
     public void beforeSwitchingToContext(JoinPoint joinPoint) throws Throwable {
-        try {
-            listener.beforeSwitchingToContext(driver, String.valueOf(joinPoint.getArgs()[0]));
-        } catch (Throwable t) {
-            throw getRootCause(t);
-        }
-
+        fireBefore(ObservedAction.SWITCH_CONTEXT, joinPoint);
     }
 
     @After(EXECUTION_CONTEXT)
-    public void afterSwitchingToContextn(JoinPoint joinPoint) throws Throwable {
-        try {
-            listener.afterSwitchingToContext(driver, String.valueOf(joinPoint.getArgs()[0]));
-        } catch (Throwable t) {
-            throw getRootCause(t);
-        }
+    public void afterSwitchingToContext(JoinPoint joinPoint) throws Throwable {
+        fireAfter(ObservedAction.SWITCH_CONTEXT, joinPoint);
     }
 
     @Around(AROUND)
@@ -562,7 +376,7 @@ class DefaultAspect {
             return null;
         }
         if (List.class.isAssignableFrom(result.getClass())) {
-            return returnProxyList((List<Object>) (result));
+            return returnProxyList((List<?>) result);
         }
 
         return transformToListenable(result);
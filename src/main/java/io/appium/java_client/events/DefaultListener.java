@@ -49,12 +49,14 @@ class DefaultListener
 
     private final List<Listener> listeners = new ArrayList<>();
 
+    private final ListenerInvocationHandler invocationHandler = new ListenerInvocationHandler(listeners);
+
     private Object dispatcher = Proxy.newProxyInstance(Listener.class.getClassLoader(),
         new Class[] {AlertEventListener.class, ContextEventListener.class,
             ElementEventListener.class, JavaScriptEventListener.class, ListensToException.class,
             NavigationEventListener.class, RotationEventListener.class,
             SearchingEventListener.class, WindowEventListener.class, WebDriverEventListener.class},
-        new ListenerInvocationHandler(listeners));
+        invocationHandler);
 
     @Override public void beforeNavigateTo(String url, WebDriver driver) {
         ((NavigationEventListener) dispatcher).beforeNavigateTo(url, driver);
@@ -158,6 +160,15 @@ class DefaultListener
         this.listeners.addAll(listeners);
     }
 
+    /**
+     * Makes {@code after*} and {@code onException} events be delivered by the given dispatcher.
+     *
+     * @param asyncDispatcher the dispatcher or {@code null} to deliver all events synchronously
+     */
+    void dispatchAsynchronously(AsyncListenerDispatcher asyncDispatcher) {
+        invocationHandler.setAsyncDispatcher(asyncDispatcher);
+    }
+
     @Override public void beforeAlertAccept(WebDriver driver, Alert alert) {
         ((AlertEventListener) dispatcher).beforeAlertAccept(driver, alert);
     }
@@ -0,0 +1,242 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.java_client.events;
+
+import static org.apache.commons.lang3.ClassUtils.getAllInterfaces;
+
+import com.google.common.collect.ImmutableList;
+
+import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.proxy.Factory;
+import net.sf.cglib.proxy.MethodInterceptor;
+import net.sf.cglib.proxy.MethodProxy;
+import org.openqa.seleniumone.Alert;
+import org.openqa.seleniumone.ContextAware;
+import org.openqa.seleniumone.WebDriver;
+import org.openqa.seleniumone.WebElement;
+import org.springframework.objenesis.Objenesis;
+import org.springframework.objenesis.ObjenesisStd;
+import org.springframework.objenesis.instantiator.ObjectInstantiator;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fires events around method calls of a proxied object without any Spring context.
+ * A proxy class is generated once per target class and then reused for every
+ * object of that class. The proxy delegates all calls to the original object.
+ *
+ * <p>Proxy classes are generated by CGLIB and instantiated by the Objenesis copy which is
+ * repackaged in spring-core, the same way Spring AOP instantiates the proxies made by
+ * {@link EventFiringObjectFactory}, so the constructors of the original classes are never called.
+ */
+class EventFiringInterceptor implements MethodInterceptor, InvocationHandler {
+
+    static final List<Class<?>> LISTENABLE = ImmutableList.of(WebDriver.class,
+        WebElement.class, WebDriver.Navigation.class, WebDriver.TargetLocator.class,
+        ContextAware.class, Alert.class, WebDriver.Options.class, WebDriver.Window.class);
+
+    // instantiators are kept by PROXY_TYPES, so Objenesis must not cache them once more
+    private static final Objenesis OBJENESIS = new ObjenesisStd(false);
+    // proxy types are stored with their target classes, so class loaders can still be unloaded
+    private static final ClassValue<ProxyType> PROXY_TYPES = new ClassValue<ProxyType>() {
+        @Override
+        protected ProxyType computeValue(Class<?> targetClass) {
+            return new ProxyType(targetClass);
+        }
+    };
+
+    private final Object target;
+    private final WebDriver driver;
+    private final DefaultListener listener;
+    private final ProxyType proxyType;
+
+    private EventFiringInterceptor(Object target, WebDriver driver, DefaultListener listener,
+                                   ProxyType proxyType) {
+        this.target = target;
+        this.driver = driver;
+        this.listener = listener;
+        this.proxyType = proxyType;
+    }
+
+    static boolean isListenable(Class<?> clazz) {
+        for (Class<?> c : LISTENABLE) {
+            if (c.isAssignableFrom(clazz)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static Throwable getRootCause(Throwable thrown) {
+        Class<? extends Throwable> throwableClass = thrown.getClass();
+
+        if (!InvocationTargetException.class.equals(throwableClass) && !RuntimeException.class.equals(throwableClass)) {
+            return thrown;
+        }
+        if (thrown.getCause() != null) {
+            return getRootCause(thrown.getCause());
+        }
+        return thrown;
+    }
+
+    /**
+     * Makes an event firing proxy of the given object.
+     *
+     * @param target the object to be proxied
+     * @param driver the driver which is passed to listeners
+     * @param listener the listener which dispatches events
+     * @param <T> the type of the target
+     * @return the proxy which fires events or the target itself if it cannot be proxied.
+     *         The proxy is an instance of the target class unless the target is a JDK proxy.
+     *         Objects of final classes are returned as they are.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T createProxy(T target, WebDriver driver, DefaultListener listener) {
+        ProxyType proxyType = PROXY_TYPES.get(target.getClass());
+        EventFiringInterceptor interceptor = new EventFiringInterceptor(target, driver, listener, proxyType);
+        if (proxyType.instantiator != null) {
+            Factory proxy = (Factory) proxyType.instantiator.newInstance();
+            proxy.setCallback(0, interceptor);
+            return (T) proxy;
+        }
+        if (proxyType.interfaces == null) {
+            return target;
+        }
+        try {
+            // the target is a JDK proxy itself, so it can only be cast to its interfaces anyway
+            return (T) Proxy.newProxyInstance(target.getClass().getClassLoader(), proxyType.interfaces,
+                interceptor);
+        } catch (IllegalArgumentException e) {
+            // some of interfaces are not visible from the class loader of the target
+            return target;
+        }
+    }
+
+    @Override
+    public Object intercept(Object proxy, Method method, Object[] args, MethodProxy methodProxy)
+        throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return invokeObjectMethod(method, args);
+        }
+        return fireEvents(method, args, () -> methodProxy.invoke(target, args));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return invokeObjectMethod(method, args);
+        }
+        return fireEvents(method, args, () -> method.invoke(target, args));
+    }
+
+    private Object invokeObjectMethod(Method method, Object[] args) throws Throwable {
+        if ("finalize".equals(method.getName())) {
+            // the proxy has nothing to finalize
+            return null;
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Object fireEvents(Method method, Object[] args, Invocation invocation) throws Throwable {
+        ObservedAction action = proxyType.actions.computeIfAbsent(method,
+            m -> ObservedAction.of(target.getClass(), m));
+        Object result;
+        try {
+            action.before(listener, driver, target, args);
+            try {
+                result = invocation.proceed();
+                action.afterReturning(listener, driver, target, args, result);
+            } finally {
+                action.after(listener, driver, target, args);
+            }
+        } catch (Throwable t) {
+            Throwable rootCause = getRootCause(t);
+            listener.onException(rootCause, driver);
+            throw rootCause;
+        }
+
+        if (result == null) { // maybe it was "void"
+            return null;
+        }
+        if (result instanceof List) {
+            List<Object> proxyList = new ArrayList<>();
+            for (Object o : (List<?>) result) {
+                proxyList.add(transformToListenable(o));
+            }
+            return proxyList;
+        }
+        return transformToListenable(result);
+    }
+
+    private Object transformToListenable(Object toBeTransformed) {
+        if (toBeTransformed == null || !isListenable(toBeTransformed.getClass())) {
+            return toBeTransformed;
+        }
+        return createProxy(toBeTransformed, driver, listener);
+    }
+
+    @FunctionalInterface
+    private interface Invocation {
+        Object proceed() throws Throwable;
+    }
+
+    /**
+     * Proxy details which are shared by all the proxies of the same target class.
+     */
+    private static final class ProxyType {
+        private final ObjectInstantiator<?> instantiator;
+        // only set for JDK proxies, which are proxied by their interfaces
+        private final Class<?>[] interfaces;
+        private final Map<Method, ObservedAction> actions = new ConcurrentHashMap<>();
+
+        private ProxyType(Class<?> targetClass) {
+            this.interfaces = Proxy.isProxyClass(targetClass)
+                ? getAllInterfaces(targetClass).toArray(new Class<?>[0]) : null;
+            this.instantiator = createInstantiator(targetClass);
+        }
+
+        private static ObjectInstantiator<?> createInstantiator(Class<?> targetClass) {
+            if (Modifier.isFinal(targetClass.getModifiers()) || Proxy.isProxyClass(targetClass)) {
+                return null;
+            }
+            try {
+                Enhancer enhancer = new Enhancer();
+                enhancer.setSuperclass(targetClass);
+                enhancer.setCallbackType(MethodInterceptor.class);
+                enhancer.setClassLoader(targetClass.getClassLoader());
+                // proxies are instantiated without constructor calls, so the original
+                // object is never initialized twice
+                Class<?> proxyClass = enhancer.createClass();
+                return OBJENESIS.getInstantiatorOf(proxyClass);
+            } catch (RuntimeException | LinkageError e) {
+                return null;
+            }
+        }
+    }
+}
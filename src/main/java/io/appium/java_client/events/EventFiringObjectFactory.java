@@ -27,14 +27,7 @@ public class EventFiringObjectFactory {
      */
     @SuppressWarnings("unchecked")
     public static <T> T getEventFiringObject(T t, WebDriver driver, Collection<Listener> listeners) {
-        final List<Listener> listenerList = new ArrayList<>();
-
-        for (Listener listener : ServiceLoader.load(
-                Listener.class)) {
-            listenerList.add(listener);
-        }
-
-        listeners.stream().filter(listener -> !listenerList.contains(listener)).forEach(listenerList::add);
+        final List<Listener> listenerList = loadListeners(listeners);
 
         AbstractApplicationContext context = new AnnotationConfigApplicationContext(
                 DefaultBeanConfiguration.class);
@@ -70,4 +63,23 @@ public class EventFiringObjectFactory {
     public static <T> T getEventFiringObject(T t, WebDriver driver, Listener ... listeners) {
         return getEventFiringObject(t, driver, Arrays.asList(listeners));
     }
+
+    /**
+     * Loads listeners which are defined by the service provider configuration
+     * and adds the given ones to them.
+     *
+     * @param listeners is a collection of additional {@link Listener}
+     * @return the list of listeners to be used for the event firing
+     */
+    static List<Listener> loadListeners(Collection<Listener> listeners) {
+        final List<Listener> listenerList = new ArrayList<>();
+
+        for (Listener listener : ServiceLoader.load(
+                Listener.class)) {
+            listenerList.add(listener);
+        }
+
+        listeners.stream().filter(listener -> !listenerList.contains(listener)).forEach(listenerList::add);
+        return listenerList;
+    }
 }
@@ -0,0 +1,124 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.java_client.events;
+
+import io.appium.java_client.events.api.Listener;
+import org.openqa.seleniumone.WebDriver;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Makes event firing objects the same way as {@link EventFiringObjectFactory} does
+ * but without creating a Spring application context for each of them.
+ * Proxy classes are generated once per class of the original object and then reused,
+ * so wrapping a driver and returning listenable elements, lists of elements, navigation,
+ * options etc. costs a single object allocation.
+ *
+ * <p>The same {@link Listener} interfaces are notified about the same events.
+ * The returned objects can be cast to the classes of the original objects. Objects of
+ * final classes cannot be proxied that way, so they are returned as they are.
+ */
+public class LightweightEventFiringObjectFactory {
+
+    /**
+     * This method makes an event firing object.
+     *
+     * @param t an original {@link Object} that is
+     *               supposed to be listenable
+     * @param driver an instance of {@link org.openqa.seleniumone.WebDriver}
+     * @param listeners is a collection of {@link io.appium.java_client.events.api.Listener} that
+     *                  is supposed to be used for the event firing
+     * @param <T> T
+     * @return an {@link Object} that fires events
+     */
+    public static <T> T getEventFiringObject(T t, WebDriver driver, Collection<Listener> listeners) {
+        return getEventFiringObject(t, driver, null, listeners);
+    }
+
+    /**
+     * This method makes an event firing object.
+     *
+     * @param t an original {@link Object} that is
+     *               supposed to be listenable
+     * @param driver an instance of {@link org.openqa.seleniumone.WebDriver}
+     * @param <T> T
+     * @return an {@link Object} that fires events
+     */
+    public static <T> T getEventFiringObject(T t, WebDriver driver) {
+        return getEventFiringObject(t, driver, Collections.emptyList());
+    }
+
+    /**
+     * This method makes an event firing object.
+     *
+     * @param t an original {@link Object} that is
+     *               supposed to be listenable
+     * @param driver an instance of {@link org.openqa.seleniumone.WebDriver}
+     * @param listeners is an array of {@link io.appium.java_client.events.api.Listener} that
+     *                  is supposed to be used for the event firing
+     *
+     * @param <T> T
+     * @return an instance of {@link org.openqa.seleniumone.WebDriver} that fires events
+     */
+    public static <T> T getEventFiringObject(T t, WebDriver driver, Listener ... listeners) {
+        return getEventFiringObject(t, driver, Arrays.asList(listeners));
+    }
+
+    /**
+     * This method makes an event firing object which delivers {@code after*}
+     * and {@code onException} events on a background thread.
+     *
+     * @param t an original {@link Object} that is
+     *               supposed to be listenable
+     * @param driver an instance of {@link org.openqa.seleniumone.WebDriver}
+     * @param asyncDispatcher the dispatcher of asynchronous events. {@code null} means
+     *                        that all events are delivered synchronously
+     * @param listeners is a collection of {@link io.appium.java_client.events.api.Listener} that
+     *                  is supposed to be used for the event firing
+     * @param <T> T
+     * @return an {@link Object} that fires events
+     */
+    public static <T> T getEventFiringObject(T t, WebDriver driver,
+                                             AsyncListenerDispatcher asyncDispatcher,
+                                             Collection<Listener> listeners) {
+        DefaultListener listener = new DefaultListener();
+        listener.add(EventFiringObjectFactory.loadListeners(listeners));
+        listener.dispatchAsynchronously(asyncDispatcher);
+        return EventFiringInterceptor.createProxy(t, driver, listener);
+    }
+
+    /**
+     * This method makes an event firing object which delivers {@code after*}
+     * and {@code onException} events on a background thread.
+     *
+     * @param t an original {@link Object} that is
+     *               supposed to be listenable
+     * @param driver an instance of {@link org.openqa.seleniumone.WebDriver}
+     * @param asyncDispatcher the dispatcher of asynchronous events
+     * @param listeners is an array of {@link io.appium.java_client.events.api.Listener} that
+     *                  is supposed to be used for the event firing
+     * @param <T> T
+     * @return an {@link Object} that fires events
+     */
+    public static <T> T getEventFiringObject(T t, WebDriver driver,
+                                             AsyncListenerDispatcher asyncDispatcher,
+                                             Listener ... listeners) {
+        return getEventFiringObject(t, driver, asyncDispatcher, Arrays.asList(listeners));
+    }
+}
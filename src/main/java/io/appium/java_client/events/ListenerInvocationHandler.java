@@ -20,17 +20,27 @@ import io.appium.java_client.events.api.Listener;
 import org.openqa.seleniumone.support.events.WebDriverEventListener;
 
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.List;
 
 class ListenerInvocationHandler implements InvocationHandler {
 
     private final List<Listener> listeners;
+    private volatile AsyncListenerDispatcher asyncDispatcher;
 
     ListenerInvocationHandler(List<Listener> listeners) {
         this.listeners = listeners;
     }
 
+    void setAsyncDispatcher(AsyncListenerDispatcher asyncDispatcher) {
+        this.asyncDispatcher = asyncDispatcher;
+    }
+
+    private static boolean canBeDispatchedAsync(Method method) {
+        return method.getName().startsWith("after") || "onException".equals(method.getName());
+    }
+
     private Method findElementInWebDriverEventListener(Method m) {
         try {
             return WebDriverEventListener.class.getMethod(m.getName(), m.getParameterTypes());
@@ -40,6 +50,23 @@ class ListenerInvocationHandler implements InvocationHandler {
     }
 
     @Override public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        AsyncListenerDispatcher currentDispatcher = asyncDispatcher;
+        if (currentDispatcher != null && canBeDispatchedAsync(method)) {
+            currentDispatcher.dispatch(() -> {
+                try {
+                    notifyListeners(method, args);
+                } catch (InvocationTargetException | IllegalAccessException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+        } else {
+            notifyListeners(method, args);
+        }
+        return null;
+    }
+
+    private void notifyListeners(Method method, Object[] args)
+        throws InvocationTargetException, IllegalAccessException {
         for (Listener l: listeners) {
             boolean isInvoked = false;
             if (method.getDeclaringClass().isAssignableFrom(l.getClass())) {
@@ -57,6 +84,5 @@ class ListenerInvocationHandler implements InvocationHandler {
                 webDriverEventListenerMethod.invoke(l, args);
             }
         }
-        return null;
     }
 }
@@ -0,0 +1,413 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.java_client.events;
+
+import io.appium.java_client.MobileElement;
+import io.appium.java_client.android.AndroidElement;
+import org.openqa.seleniumone.Alert;
+import org.openqa.seleniumone.By;
+import org.openqa.seleniumone.ContextAware;
+import org.openqa.seleniumone.Dimension;
+import org.openqa.seleniumone.JavascriptExecutor;
+import org.openqa.seleniumone.OutputType;
+import org.openqa.seleniumone.Point;
+import org.openqa.seleniumone.Rotatable;
+import org.openqa.seleniumone.ScreenOrientation;
+import org.openqa.seleniumone.SearchContext;
+import org.openqa.seleniumone.TakesScreenshot;
+import org.openqa.seleniumone.WebDriver;
+import org.openqa.seleniumone.WebElement;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * Describes the events which are fired around a method call. The before and after mappings are
+ * shared by {@link EventFiringInterceptor} and the advices of {@link DefaultAspect}. Each action
+ * refers to the pointcut of {@link DefaultAspect} which selects the same methods as the action does.
+ */
+enum ObservedAction {
+    NAVIGATE_TO(DefaultAspect.EXECUTION_NAVIGATION_TO) {
+        @Override
+        boolean matches(Class<?> targetClass, Method method) {
+            return isDeclaredBy(WebDriver.Navigation.class, targetClass, method, "to")
+                || isDeclaredBy(WebDriver.class, targetClass, method, "get");
+        }
+
+        @Override
+        void before(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+            listener.beforeNavigateTo(String.valueOf(args[0]), driver);
+        }
+
+        @Override
+        void after(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+            listener.afterNavigateTo(String.valueOf(args[0]), driver);
+        }
+    },
+    NAVIGATE_BACK(DefaultAspect.EXECUTION_NAVIGATION_BACK) {
+        @Override
+        boolean matches(Class<?> targetClass, Method method) {
+            return isDeclaredBy(WebDriver.Navigation.class, targetClass, method, "back");
+        }
+
+        @Override
+        void before(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+            listener.beforeNavigateBack(driver);
+        }
+
+        @Override
+        void after(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+            listener.afterNavigateBack(driver);
+        }
+    },
+    NAVIGATE_FORWARD(DefaultAspect.EXECUTION_NAVIGATION_FORWARD) {
+        @Override
+        boolean matches(Class<?> targetClass, Method method) {
+            return isDeclaredBy(WebDriver.Navigation.class, targetClass, method, "forward");
+        }
+
+        @Override
+        void before(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+            listener.beforeNavigateForward(driver);
+        }
+
+        @Override
+        void after(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+            listener.afterNavigateForward(driver);
+        }
+    },
+    NAVIGATE_REFRESH(DefaultAspect.EXECUTION_NAVIGATION_REFRESH) {
+        @Override
+        boolean matches(Class<?> targetClass, Method method) {
+            return isDeclaredBy(WebDriver.Navigation.class, targetClass, method, "refresh");
+        }
+
+        @Override
+        void before(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+            listener.beforeNavigateRefresh(driver);
+        }
+
+        @Override
+        void after(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+            listener.afterNavigateRefresh(driver);
+        }
+    },
+    SEARCH(DefaultAspect.EXECUTION_SEARCH) {
+        @Override
+        boolean matches(Class<?> targetClass, Method method) {
+            return isDeclaredBy(SearchContext.class, targetClass, method, "findElement", "findElements");
+        }
+
+        @Override
+        void before(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+            listener.beforeFindBy((By) args[0], target instanceof WebElement ? (WebElement) target : null,
+                driver);
+        }
+
+        @Override
+        void after(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+            listener.afterFindBy((By) args[0], target instanceof WebElement ? (WebElement) target : null,
+                driver);
+        }
+    },
+    CLICK(DefaultAspect.EXECUTION_CLICK) {
+        @Override
+        boolean matches(Class<?> targetClass, Method method) {
+            return isDeclaredBy(WebElement.class, targetClass, method, "click");
+        }
+
+        @Override
+        void before(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+            listener.beforeClickOn((WebElement) target, driver);
+        }
+
+        @Override
+        void after(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+            listener.afterClickOn((WebElement) target, driver);
+        }
+    },
+    CHANGE_VALUE(DefaultAspect.EXECUTION_CHANGE_VALUE) {
+        @Override
+        boolean matches(Class<?> targetClass, Method method) {
+            return isDeclaredBy(WebElement.class, targetClass, method, "sendKeys", "clear")
+                || isDeclaredBy(AndroidElement.class, targetClass, method, "replaceValue")
+                || isDeclaredBy(MobileElement.class, targetClass, method, "setValue");
+        }
+
+        @Override
+        void before(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+            listener.beforeChangeValueOf((WebElement) target, driver);
+        }
+
+        @Override
+        void after(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+            listener.afterChangeValueOf((WebElement) target, driver);
+        }
+    },
+    SCRIPT(DefaultAspect.EXECUTION_SCRIPT) {
+        @Override
+        boolean matches(Class<?> targetClass, Method method) {
+            return isDeclaredBy(JavascriptExecutor.class, targetClass, method,
+                "executeScript", "executeAsyncScript");
+        }
+
+        @Override
+        void before(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+            listener.beforeScript(String.valueOf(args[0]), driver);
+        }
+
+        @Override
+        void after(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+            listener.afterScript(String.valueOf(args[0]), driver);
+        }
+    },
+    ALERT_ACCEPT(DefaultAspect.EXECUTION_ALERT_ACCEPT) {
+        @Override
+        boolean matches(Class<?> targetClass, Method method) {
+            return isDeclaredBy(Alert.class, targetClass, method, "accept");
+        }
+
+        @Override
+        void before(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+            listener.beforeAlertAccept(driver, (Alert) target);
+            listener.beforeAlertAccept(driver);
+        }
+
+        @Override
+        void after(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+            listener.afterAlertAccept(driver, (Alert) target);
+            listener.afterAlertAccept(driver);
+        }
+    },
+    ALERT_DISMISS(DefaultAspect.EXECUTION_ALERT_DISMISS) {
+        @Override
+        boolean matches(Class<?> targetClass, Method method) {
+            return isDeclaredBy(Alert.class, targetClass, method, "dismiss");
+        }
+
+        @Override
+        void before(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+            listener.beforeAlertDismiss(driver, (Alert) target);
+            listener.beforeAlertDismiss(driver);
+        }
+
+        @Override
+        void after(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+            listener.afterAlertDismiss(driver, (Alert) target);
+            listener.afterAlertDismiss(driver);
+        }
+    },
+    ALERT_SEND_KEYS(DefaultAspect.EXECUTION_ALERT_SEND_KEYS) {
+        @Override
+        boolean matches(Class<?> targetClass, Method method) {
+            return isDeclaredBy(Alert.class, targetClass, method, "sendKeys");
+        }
+
+        @Override
+        void before(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+            listener.beforeAlertSendKeys(driver, (Alert) target, String.valueOf(args[0]));
+        }
+
+        @Override
+        void after(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+            listener.afterAlertSendKeys(driver, (Alert) target, String.valueOf(args[0]));
+        }
+    },
+    WINDOW_SET_SIZE(DefaultAspect.EXECUTION_WINDOW_SET_SIZE) {
+        @Override
+        boolean matches(Class<?> targetClass, Method method) {
+            return isDeclaredBy(WebDriver.Window.class, targetClass, method, "setSize");
+        }
+
+        @Override
+        void before(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+            listener.beforeWindowChangeSize(driver, (WebDriver.Window) target, (Dimension) args[0]);
+        }
+
+        @Override
+        void after(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+            listener.afterWindowChangeSize(driver, (WebDriver.Window) target, (Dimension) args[0]);
+        }
+    },
+    WINDOW_SET_POSITION(DefaultAspect.EXECUTION_WINDOW_SET_POSITION) {
+        @Override
+        boolean matches(Class<?> targetClass, Method method) {
+            return isDeclaredBy(WebDriver.Window.class, targetClass, method, "setPosition");
+        }
+
+        @Override
+        void before(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+            listener.beforeWindowIsMoved(driver, (WebDriver.Window) target, (Point) args[0]);
+        }
+
+        @Override
+        void after(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+            listener.afterWindowIsMoved(driver, (WebDriver.Window) target, (Point) args[0]);
+        }
+    },
+    WINDOW_MAXIMIZE(DefaultAspect.EXECUTION_WINDOW_MAXIMIZE) {
+        @Override
+        boolean matches(Class<?> targetClass, Method method) {
+            return isDeclaredBy(WebDriver.Window.class, targetClass, method, "maximize");
+        }
+
+        @Override
+        void before(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+            listener.beforeWindowIsMaximized(driver, (WebDriver.Window) target);
+        }
+
+        @Override
+        void after(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+            listener.afterWindowIsMaximized(driver, (WebDriver.Window) target);
+        }
+    },
+    SWITCH_TO_WINDOW(DefaultAspect.EXECUTION_SWITCH_TO_WINDOW) {
+        @Override
+        boolean matches(Class<?> targetClass, Method method) {
+            return isDeclaredBy(WebDriver.TargetLocator.class, targetClass, method, "window");
+        }
+
+        @Override
+        void before(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+            listener.beforeSwitchToWindow((String) args[0], driver);
+        }
+
+        @Override
+        void after(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+            listener.afterSwitchToWindow((String) args[0], driver);
+        }
+    },
+    TAKE_SCREENSHOT(DefaultAspect.EXECUTION_TAKE_SCREENSHOT_AS) {
+        @Override
+        boolean matches(Class<?> targetClass, Method method) {
+            return isDeclaredBy(TakesScreenshot.class, targetClass, method, "getScreenshotAs");
+        }
+
+        @Override
+        void before(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+            listener.beforeGetScreenshotAs((OutputType<?>) args[0]);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        void afterReturning(DefaultListener listener, WebDriver driver, Object target, Object[] args,
+                            Object result) {
+            listener.afterGetScreenshotAs((OutputType<Object>) args[0], result);
+        }
+    },
+    ROTATE(DefaultAspect.EXECUTION_ROTATE) {
+        @Override
+        boolean matches(Class<?> targetClass, Method method) {
+            return isDeclaredBy(Rotatable.class, targetClass, method, "rotate")
+                && Arrays.equals(method.getParameterTypes(), new Class<?>[] {ScreenOrientation.class});
+        }
+
+        @Override
+        void before(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+            listener.beforeRotation(driver, (ScreenOrientation) args[0]);
+        }
+
+        @Override
+        void after(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+            listener.afterRotation(driver, (ScreenOrientation) args[0]);
+        }
+    },
+    SWITCH_CONTEXT(DefaultAspect.EXECUTION_CONTEXT) {
+        @Override
+        boolean matches(Class<?> targetClass, Method method) {
+            return isDeclaredBy(ContextAware.class, targetClass, method, "context");
+        }
+
+        @Override
+        void before(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+            listener.beforeSwitchingToContext(driver, String.valueOf(args[0]));
+        }
+
+        @Override
+        void after(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+            listener.afterSwitchingToContext(driver, String.valueOf(args[0]));
+        }
+    },
+    /**
+     * Methods which do not fire any events except {@code onException}.
+     */
+    NONE(null) {
+        @Override
+        boolean matches(Class<?> targetClass, Method method) {
+            return true;
+        }
+    };
+
+    private final String pointcut;
+
+    ObservedAction(String pointcut) {
+        this.pointcut = pointcut;
+    }
+
+    /**
+     * The pointcut of {@link DefaultAspect} which selects the same methods as {@link #matches(Class, Method)}.
+     *
+     * @return the pointcut expression or {@code null} for {@link #NONE}
+     */
+    String getPointcut() {
+        return pointcut;
+    }
+
+    abstract boolean matches(Class<?> targetClass, Method method);
+
+    void before(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+        // nothing to fire by default
+    }
+
+    void after(DefaultListener listener, WebDriver driver, Object target, Object[] args) {
+        // nothing to fire by default
+    }
+
+    void afterReturning(DefaultListener listener, WebDriver driver, Object target, Object[] args,
+                        Object result) {
+        // nothing to fire by default
+    }
+
+    /**
+     * Finds the action which should be observed when the given method is called.
+     *
+     * @param targetClass the class of the proxied object
+     * @param method the called method
+     * @return the matching action or {@link #NONE}
+     */
+    static ObservedAction of(Class<?> targetClass, Method method) {
+        for (ObservedAction action : values()) {
+            if (action.matches(targetClass, method)) {
+                return action;
+            }
+        }
+        return NONE;
+    }
+
+    private static boolean isDeclaredBy(Class<?> type, Class<?> targetClass, Method method,
+                                        String... methodNames) {
+        if (!type.isAssignableFrom(targetClass) || !Arrays.asList(methodNames).contains(method.getName())) {
+            return false;
+        }
+        try {
+            type.getMethod(method.getName(), method.getParameterTypes());
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
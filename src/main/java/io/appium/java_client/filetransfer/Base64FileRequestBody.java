@@ -0,0 +1,121 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.java_client.filetransfer;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.openqa.seleniumone.json.Json;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * This request body encodes the file content to base64 while it is being sent,
+ * so the whole file is never loaded into memory. The body is a JSON object
+ * whose {@code data} property contains the encoded file content.
+ */
+class Base64FileRequestBody extends RequestBody {
+    private static final MediaType JSON_UTF_8 = MediaType.get("application/json; charset=utf-8");
+    // a multiple of 3, so every block is encoded without padding
+    static final int BUFFER_SIZE = 3 * 16 * 1024;
+
+    private final File file;
+    private final long fileSize;
+    private final byte[] prefix;
+    private final byte[] suffix;
+    private final Consumer<TransferProgress> progressListener;
+
+    /**
+     * Creates the request body.
+     *
+     * @param properties other properties of the JSON object, which are written before the data
+     * @param file the file to be sent
+     * @param progressListener the listener, which is notified after each sent block of the file
+     */
+    Base64FileRequestBody(Map<String, ?> properties, File file,
+                          @Nullable Consumer<TransferProgress> progressListener) {
+        this.file = checkNotNull(file);
+        this.fileSize = file.length();
+        String json = new Json().toJson(properties);
+        String head = json.substring(0, json.lastIndexOf('}')).trim();
+        this.prefix = ((head.length() > 1 ? head + "," : head) + "\"data\":\"").getBytes(UTF_8);
+        this.suffix = "\"}".getBytes(UTF_8);
+        this.progressListener = progressListener;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return JSON_UTF_8;
+    }
+
+    @Override
+    public long contentLength() {
+        return prefix.length + 4 * ((fileSize + 2) / 3) + suffix.length;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        final long startedAt = System.nanoTime();
+        long transferred = 0;
+        sink.write(prefix);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            OutputStream encoder = Base64.getEncoder().wrap(new CloseShieldOutputStream(sink.outputStream()));
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            while (transferred < fileSize && channel.read(buffer) >= 0) {
+                if (buffer.hasRemaining() && transferred + buffer.position() < fileSize) {
+                    continue;
+                }
+                encoder.write(buffer.array(), 0, buffer.position());
+                transferred += buffer.position();
+                buffer.clear();
+                notifyListener(transferred, startedAt);
+            }
+            // writes the padding
+            encoder.close();
+        }
+        if (transferred != fileSize) {
+            throw new IOException(String.format("The file %s has been changed while being sent",
+                    file.getAbsolutePath()));
+        }
+        sink.write(suffix);
+        if (fileSize == 0) {
+            notifyListener(0, startedAt);
+        }
+    }
+
+    private void notifyListener(long transferred, long startedAt) {
+        if (progressListener != null) {
+            progressListener.accept(new TransferProgress(transferred, fileSize,
+                    Duration.ofNanos(System.nanoTime() - startedAt)));
+        }
+    }
+}
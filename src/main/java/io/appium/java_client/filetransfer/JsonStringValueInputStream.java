@@ -0,0 +1,220 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.java_client.filetransfer;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * This input stream reads the string value of the given top-level property
+ * of a JSON object without loading the whole value into memory.
+ * It is supposed to be used for values which only consist of ASCII characters,
+ * like base64 encoded data. Other properties of the object are skipped.
+ */
+class JsonStringValueInputStream extends InputStream {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final InputStream in;
+    private final String propertyName;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position = 0;
+    private int limit = 0;
+    private boolean found = false;
+    private boolean finished = false;
+
+    JsonStringValueInputStream(InputStream in, String propertyName) {
+        this.in = checkNotNull(in);
+        this.propertyName = checkNotNull(propertyName);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!seekValue()) {
+            return -1;
+        }
+        int chr = next();
+        if (chr == '"') {
+            finished = true;
+            return -1;
+        }
+        return chr == '\\' ? readEscapedChar() & 0xFF : chr;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        checkPositionIndexes(offset, offset + length, bytes.length);
+        if (!seekValue()) {
+            return -1;
+        }
+        int count = 0;
+        while (count < length) {
+            int chr = next();
+            if (chr == '"') {
+                finished = true;
+                break;
+            }
+            bytes[offset + count++] = (byte) (chr == '\\' ? readEscapedChar() : chr);
+        }
+        return count == 0 && finished ? -1 : count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Moves to the beginning of the value on the first call.
+     *
+     * @return false if the whole value has already been read
+     */
+    private boolean seekValue() throws IOException {
+        if (!found) {
+            findValue();
+            found = true;
+        }
+        return !finished;
+    }
+
+    private void findValue() throws IOException {
+        expect('{');
+        while (true) {
+            int chr = nextNonWhitespace();
+            if (chr == '}') {
+                throw new IOException(String.format("The JSON object has no '%s' property", propertyName));
+            }
+            if (chr == ',') {
+                continue;
+            }
+            if (chr != '"') {
+                throw unexpected(chr);
+            }
+            String name = readString();
+            expect(':');
+            if (!propertyName.equals(name)) {
+                skipValue();
+                continue;
+            }
+            if (nextNonWhitespace() != '"') {
+                throw new IOException(String.format("The '%s' property is not a string", propertyName));
+            }
+            return;
+        }
+    }
+
+    private void skipValue() throws IOException {
+        int depth = 0;
+        while (true) {
+            int chr = nextNonWhitespace();
+            if (chr == '"') {
+                readString();
+            } else if (chr == '{' || chr == '[') {
+                depth++;
+            } else if (chr == '}' || chr == ']') {
+                depth--;
+            } else if (chr == ',' || chr == ':') {
+                if (depth == 0) {
+                    throw unexpected(chr);
+                }
+            } else {
+                // numbers and literals
+                while (peek() != -1 && "{}[],: \t\r\n\"".indexOf(peek()) < 0) {
+                    next();
+                }
+            }
+            if (depth == 0) {
+                return;
+            }
+        }
+    }
+
+    private String readString() throws IOException {
+        StringBuilder result = new StringBuilder();
+        int chr;
+        while ((chr = next()) != '"') {
+            result.append(chr == '\\' ? readEscapedChar() : (char) chr);
+        }
+        return result.toString();
+    }
+
+    private char readEscapedChar() throws IOException {
+        int chr = next();
+        switch (chr) {
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                char[] hex = {(char) next(), (char) next(), (char) next(), (char) next()};
+                try {
+                    return (char) Integer.parseInt(new String(hex), 16);
+                } catch (NumberFormatException e) {
+                    throw new IOException("Invalid unicode escape sequence in JSON", e);
+                }
+            default:
+                return (char) chr;
+        }
+    }
+
+    private void expect(char expected) throws IOException {
+        int chr = nextNonWhitespace();
+        if (chr != expected) {
+            throw unexpected(chr);
+        }
+    }
+
+    private IOException unexpected(int chr) {
+        return new IOException(String.format("Unexpected character '%c' in JSON", (char) chr));
+    }
+
+    private int nextNonWhitespace() throws IOException {
+        int chr = next();
+        while (Character.isWhitespace(chr)) {
+            chr = next();
+        }
+        return chr;
+    }
+
+    private int next() throws IOException {
+        if (peek() == -1) {
+            throw new EOFException("Unexpected end of JSON");
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    private int peek() throws IOException {
+        while (position == limit) {
+            limit = in.read(buffer);
+            position = 0;
+            if (limit < 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position] & 0xFF;
+    }
+}
@@ -0,0 +1,320 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.java_client.filetransfer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.appium.java_client.MobileCommand.pushFileCommand;
+
+import com.google.common.collect.ImmutableMap;
+
+import io.appium.java_client.AppiumCommandInfo;
+import io.appium.java_client.CommandExecutionHelper;
+import io.appium.java_client.ExecutesMethod;
+import io.appium.java_client.InteractsWithFiles;
+import io.appium.java_client.MobileCommand;
+import io.appium.java_client.remote.AppiumCommandExecutor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import org.apache.commons.io.FileUtils;
+import org.openqa.seleniumone.json.Json;
+import org.openqa.seleniumone.remote.CommandExecutor;
+import org.openqa.seleniumone.remote.CommandInfo;
+import org.openqa.seleniumone.remote.ErrorHandler;
+import org.openqa.seleniumone.remote.HttpCommandExecutor;
+import org.openqa.seleniumone.remote.RemoteWebDriver;
+import org.openqa.seleniumone.remote.Response;
+import org.openqa.seleniumone.remote.codec.w3c.W3CHttpResponseCodec;
+import org.openqa.seleniumone.remote.http.HttpMethod;
+import org.openqa.seleniumone.remote.http.HttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import javax.annotation.Nullable;
+
+/**
+ * Transfers files between the client and the remote device without loading
+ * their whole content into memory. Files are sent directly to the server by
+ * an OkHttp client with the settings of the driver's command executor, and such commands
+ * are still recorded by the metrics and the profiler logs of {@link AppiumCommandExecutor}.
+ * If the driver is not connected to a remote server over HTTP then files are transferred
+ * by the usual driver commands.
+ */
+public final class RemoteFileTransfer {
+    private static final String SESSION_PATH = "/session/:sessionId";
+    // command names of MobileCommand, which are only visible in its package
+    private static final String PUSH_FILE = "pushFile";
+    private static final String PULL_FILE = "pullFile";
+    private static final String PULL_FOLDER = "pullFolder";
+    static final String PUSH_FILE_PATH = "/appium/device/push_file";
+    static final String PULL_FILE_PATH = "/appium/device/pull_file";
+    static final String PULL_FOLDER_PATH = "/appium/device/pull_folder";
+    private static final MediaType JSON_UTF_8 = MediaType.get("application/json; charset=utf-8");
+
+    private RemoteFileTransfer() {
+        super();
+    }
+
+    /**
+     * Saves the given file to the remote mobile device.
+     *
+     * @param driver the driver instance
+     * @param remotePath the path to the file on the remote device
+     * @param file an existing local file to be written to the remote device
+     * @param progressListener the listener, which is notified about the transfer progress
+     * @throws IOException when there are problems with the file or the connection
+     */
+    public static void pushFile(ExecutesMethod driver, String remotePath, File file,
+                                @Nullable Consumer<TransferProgress> progressListener) throws IOException {
+        checkNotNull(remotePath);
+        checkNotNull(file);
+        Optional<HttpCommandExecutor> executor = getHttpExecutor(driver);
+        if (executor.isPresent()) {
+            URL url = new URL(getSessionUrl(driver, executor.get()) + PUSH_FILE_PATH);
+            OkHttpClient client = TransferHttpClients.forExecutor(executor.get());
+            execute(executor.get(), PUSH_FILE, payloadSizes -> {
+                pushFile(client, url, remotePath, file, progressListener, payloadSizes);
+                return null;
+            });
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        CommandExecutionHelper.execute(driver,
+                pushFileCommand(remotePath, Base64.getEncoder().encode(FileUtils.readFileToByteArray(file))));
+        if (progressListener != null) {
+            progressListener.accept(new TransferProgress(file.length(), file.length(),
+                    Duration.ofNanos(System.nanoTime() - startedAt)));
+        }
+    }
+
+    static void pushFile(OkHttpClient client, URL url, String remotePath, File file,
+                         @Nullable Consumer<TransferProgress> progressListener,
+                         long[] payloadSizes) throws IOException {
+        RequestBody body = new Base64FileRequestBody(ImmutableMap.of("path", remotePath), file, progressListener);
+        Request request = new Request.Builder()
+                .url(url)
+                .post(body)
+                .build();
+        payloadSizes[0] = body.contentLength();
+        long startedAt = System.currentTimeMillis();
+        try (okhttp3.Response response = client.newCall(request).execute()) {
+            payloadSizes[1] = getContentLength(response);
+            throwIfFailed(response, System.currentTimeMillis() - startedAt);
+        }
+    }
+
+    /**
+     * Pulls a file from the remote mobile device and saves it to the given path.
+     * The base64 encoded content is decoded while it is being received.
+     *
+     * @param driver the driver instance
+     * @param remotePath the path to the file on the remote device
+     * @param destination the path to the local file. An existing file is overwritten
+     * @throws IOException when there are problems with the file or the connection
+     */
+    public static void pullFile(InteractsWithFiles driver, String remotePath, Path destination) throws IOException {
+        checkNotNull(destination);
+        ContentConsumer consumer = content -> copyToFile(content, destination);
+        Supplier<byte[]> fallback = () -> driver.pullFile(remotePath);
+        receive(driver, PULL_FILE, PULL_FILE_PATH, ImmutableMap.of("path", checkNotNull(remotePath)),
+                consumer, fallback);
+    }
+
+    /**
+     * Pulls a folder from the remote mobile device.
+     *
+     * @param driver the driver instance
+     * @param remotePath the path to the folder on the remote device
+     * @param destination the path to the local zip file or, if the archive is unpacked, the local folder
+     * @param unpack whether to extract the content of the received zip archive into the destination folder
+     * @throws IOException when there are problems with the file system or the connection
+     */
+    public static void pullFolder(InteractsWithFiles driver, String remotePath, Path destination,
+                                  boolean unpack) throws IOException {
+        checkNotNull(destination);
+        ContentConsumer consumer = unpack
+                ? content -> unzip(content, destination)
+                : content -> copyToFile(content, destination);
+        Supplier<byte[]> fallback = () -> driver.pullFolder(remotePath);
+        receive(driver, PULL_FOLDER, PULL_FOLDER_PATH, ImmutableMap.of("path", checkNotNull(remotePath)),
+                consumer, fallback);
+    }
+
+    /**
+     * Executes the given command of the current session and saves the base64 encoded
+     * value of its response to a file. The value is decoded while it is being received,
+     * so it is never loaded into memory as a whole.
+     *
+     * @param driver the driver instance
+     * @param commandName the name of the command from {@link MobileCommand#commandRepository}
+     * @param parameters the command parameters
+     * @param destination the path to the local file. An existing file is overwritten
+     * @param fallback executes the command in the usual way and returns its base64 encoded result.
+     *                 It is used if the driver is not connected to the server over HTTP
+     * @throws IOException when there are problems with the file or the connection
+     */
+    public static void saveBase64Value(ExecutesMethod driver, String commandName, Map<String, ?> parameters,
+                                       Path destination, Supplier<String> fallback) throws IOException {
+        checkNotNull(destination);
+        CommandInfo commandInfo = MobileCommand.commandRepository.get(commandName);
+        checkArgument(commandInfo instanceof AppiumCommandInfo
+                        && ((AppiumCommandInfo) commandInfo).getMethod() == HttpMethod.POST,
+                "%s is not a known POST command", commandName);
+        String endpointPath = ((AppiumCommandInfo) commandInfo).getUrl().replace(SESSION_PATH, "");
+        ContentConsumer consumer = content -> copyToFile(content, destination);
+        Supplier<byte[]> decodedFallback = () -> Base64.getMimeDecoder().decode(fallback.get());
+        receive(driver, commandName, endpointPath, parameters, consumer, decodedFallback);
+    }
+
+    private static void receive(ExecutesMethod driver, String commandName, String endpointPath,
+                                Map<String, ?> parameters, ContentConsumer consumer,
+                                Supplier<byte[]> fallback) throws IOException {
+        Optional<HttpCommandExecutor> executor = getHttpExecutor(driver);
+        if (executor.isPresent()) {
+            URL url = new URL(getSessionUrl(driver, executor.get()) + endpointPath);
+            OkHttpClient client = TransferHttpClients.forExecutor(executor.get());
+            execute(executor.get(), commandName, payloadSizes -> {
+                receive(client, url, parameters, consumer, payloadSizes);
+                return null;
+            });
+        } else {
+            consumer.accept(new ByteArrayInputStream(fallback.get()));
+        }
+    }
+
+    static void receive(OkHttpClient client, URL url, Map<String, ?> parameters, ContentConsumer consumer,
+                        long[] payloadSizes) throws IOException {
+        RequestBody body = RequestBody.create(JSON_UTF_8, new Json().toJson(parameters));
+        Request request = new Request.Builder()
+                .url(url)
+                .post(body)
+                .build();
+        payloadSizes[0] = body.contentLength();
+        long startedAt = System.currentTimeMillis();
+        try (okhttp3.Response response = client.newCall(request).execute()) {
+            payloadSizes[1] = getContentLength(response);
+            if (!response.isSuccessful() || response.body() == null) {
+                throwIfFailed(response, System.currentTimeMillis() - startedAt);
+                throw new IOException(String.format("Unexpected response status %d", response.code()));
+            }
+            try (InputStream content = Base64.getMimeDecoder().wrap(
+                    new JsonStringValueInputStream(response.body().byteStream(), "value"))) {
+                consumer.accept(content);
+            }
+        }
+    }
+
+    static void copyToFile(InputStream content, Path destination) throws IOException {
+        Path parent = destination.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try {
+            Files.copy(content, destination, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(destination);
+            throw e;
+        }
+    }
+
+    static void unzip(InputStream content, Path destination) throws IOException {
+        Path root = destination.toAbsolutePath().normalize();
+        Files.createDirectories(root);
+        ZipInputStream zip = new ZipInputStream(content);
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+            Path target = root.resolve(entry.getName()).normalize();
+            if (!target.startsWith(root)) {
+                throw new IOException(String.format("The archive entry '%s' is outside of the destination folder",
+                        entry.getName()));
+            }
+            if (entry.isDirectory()) {
+                Files.createDirectories(target);
+            } else {
+                Files.createDirectories(target.getParent());
+                Files.copy(zip, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    /**
+     * Gets the command executor if the driver is connected to the server over HTTP.
+     */
+    static Optional<HttpCommandExecutor> getHttpExecutor(ExecutesMethod driver) {
+        if (!(driver instanceof RemoteWebDriver) || ((RemoteWebDriver) driver).getSessionId() == null) {
+            return Optional.empty();
+        }
+        CommandExecutor executor = ((RemoteWebDriver) driver).getCommandExecutor();
+        return executor instanceof HttpCommandExecutor
+                ? Optional.of((HttpCommandExecutor) executor)
+                : Optional.empty();
+    }
+
+    private static String getSessionUrl(ExecutesMethod driver, HttpCommandExecutor executor) {
+        String serverUrl = executor.getAddressOfRemoteServer().toExternalForm();
+        return serverUrl.replaceAll("/$", "") + "/session/" + ((RemoteWebDriver) driver).getSessionId();
+    }
+
+    /**
+     * Executes the call, so it is recorded by the executor instrumentation if it is available.
+     */
+    private static <T> T execute(HttpCommandExecutor executor, String commandName,
+                                 AppiumCommandExecutor.DirectCall<T> call) throws IOException {
+        if (executor instanceof AppiumCommandExecutor) {
+            return ((AppiumCommandExecutor) executor).executeDirectly(commandName, call);
+        }
+        return call.execute(new long[] {-1, -1});
+    }
+
+    private static long getContentLength(okhttp3.Response response) {
+        ResponseBody body = response.body();
+        return body == null ? -1 : body.contentLength();
+    }
+
+    private static void throwIfFailed(okhttp3.Response okHttpResponse, long duration) throws IOException {
+        HttpResponse httpResponse = new HttpResponse();
+        httpResponse.setStatus(okHttpResponse.code());
+        ResponseBody body = okHttpResponse.body();
+        httpResponse.setContent(body == null ? new byte[0] : body.bytes());
+        Response response = new W3CHttpResponseCodec().decode(httpResponse);
+        new ErrorHandler().throwIfResponseFailed(response, duration);
+    }
+
+    @FunctionalInterface
+    interface ContentConsumer {
+        void accept(InputStream content) throws IOException;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.java_client.filetransfer;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Strings.isNullOrEmpty;
+import static com.google.common.net.HttpHeaders.AUTHORIZATION;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import io.appium.java_client.internal.HttpClientSettings;
+import io.appium.java_client.remote.AppiumCommandExecutor;
+import okhttp3.Credentials;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import org.openqa.seleniumone.remote.HttpCommandExecutor;
+import org.openqa.seleniumone.remote.http.HttpClient;
+
+import java.net.Proxy;
+import java.net.URL;
+import java.time.Duration;
+
+import javax.annotation.Nullable;
+
+/**
+ * Creates OkHttp clients for file transfers. They are configured the same way as
+ * the HTTP client of the command executor: the basic authentication credentials are taken
+ * from the address of the remote server, and timeouts and proxy are taken from the builder
+ * of the executor's client factory.
+ */
+final class TransferHttpClients {
+    // the defaults of HttpClient.Builder, which are used by executors without their own client factory
+    static final Duration DEFAULT_CONNECTION_TIMEOUT = Duration.ofMinutes(2);
+    static final Duration DEFAULT_READ_TIMEOUT = Duration.ofHours(3);
+    // clients share the connection pool and the dispatcher
+    private static final OkHttpClient BASE_CLIENT = new OkHttpClient.Builder()
+            .followRedirects(false)
+            .followSslRedirects(false)
+            .build();
+
+    private TransferHttpClients() {
+        super();
+    }
+
+    /**
+     * Creates a client with the settings of the given executor.
+     *
+     * @param executor the command executor of the driver
+     * @return the client instance
+     */
+    static OkHttpClient forExecutor(HttpCommandExecutor executor) {
+        if (!(executor instanceof AppiumCommandExecutor)) {
+            return create(executor.getAddressOfRemoteServer(), DEFAULT_CONNECTION_TIMEOUT, DEFAULT_READ_TIMEOUT,
+                    null);
+        }
+        HttpClient.Builder settings = ((AppiumCommandExecutor) executor).getHttpClientFactory().builder();
+        return create(executor.getAddressOfRemoteServer(), HttpClientSettings.getConnectionTimeout(settings),
+                HttpClientSettings.getReadTimeout(settings), HttpClientSettings.getProxy(settings));
+    }
+
+    /**
+     * Creates a client with the given settings.
+     *
+     * @param serverUrl the address of the remote server, which may contain the user credentials
+     * @param connectionTimeout the connection timeout
+     * @param readTimeout the read timeout
+     * @param proxy the proxy or null to connect directly
+     * @return the client instance
+     */
+    static OkHttpClient create(URL serverUrl, Duration connectionTimeout, Duration readTimeout,
+                               @Nullable Proxy proxy) {
+        OkHttpClient.Builder builder = BASE_CLIENT.newBuilder()
+                .connectTimeout(connectionTimeout.toMillis(), MILLISECONDS)
+                .readTimeout(readTimeout.toMillis(), MILLISECONDS);
+        if (proxy != null) {
+            builder.proxy(proxy);
+        }
+
+        String userInfo = checkNotNull(serverUrl).getUserInfo();
+        if (!isNullOrEmpty(userInfo)) {
+            String[] parts = userInfo.split(":", 2);
+            String credentials = Credentials.basic(parts[0], parts.length > 1 ? parts[1] : "");
+            // the streamed body cannot be sent twice, so the credentials are not waiting for a challenge
+            builder.addInterceptor(chain -> {
+                Request request = chain.request();
+                return chain.proceed(request.header(AUTHORIZATION) == null
+                        ? request.newBuilder().header(AUTHORIZATION, credentials).build()
+                        : request);
+            });
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.java_client.filetransfer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.time.Duration;
+
+/**
+ * The state of a file transfer between the client and the remote device.
+ */
+public final class TransferProgress {
+    private final long transferredBytes;
+    private final long totalBytes;
+    private final Duration elapsed;
+
+    /**
+     * Creates the progress snapshot.
+     *
+     * @param transferredBytes the count of file bytes which have already been transferred
+     * @param totalBytes the total size of the file in bytes or -1 if it is not known yet
+     * @param elapsed the time passed since the transfer has been started
+     */
+    public TransferProgress(long transferredBytes, long totalBytes, Duration elapsed) {
+        checkArgument(transferredBytes >= 0, "transferredBytes must not be negative");
+        this.transferredBytes = transferredBytes;
+        this.totalBytes = totalBytes;
+        this.elapsed = checkNotNull(elapsed);
+    }
+
+    public long getTransferredBytes() {
+        return transferredBytes;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    /**
+     * Gets the average transfer rate since the transfer has been started.
+     *
+     * @return the count of file bytes transferred per second
+     */
+    public double getBytesPerSecond() {
+        long nanos = elapsed.toNanos();
+        return nanos == 0 ? 0 : transferredBytes * 1e9 / nanos;
+    }
+
+    public boolean isCompleted() {
+        return totalBytes >= 0 && transferredBytes == totalBytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d of %d bytes in %d ms", transferredBytes, totalBytes, elapsed.toMillis());
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.java_client.internal;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.openqa.seleniumone.WebDriverException;
+import org.openqa.seleniumone.remote.http.HttpClient;
+
+import java.lang.reflect.Field;
+import java.net.Proxy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+
+/**
+ * Reads the settings of {@link HttpClient.Builder}, which are only exposed to Selenium itself,
+ * so clients which are not created by Selenium can be configured the same way.
+ */
+public final class HttpClientSettings {
+    private static final Map<String, Field> BUILDER_FIELDS = new ConcurrentHashMap<>();
+
+    private HttpClientSettings() {
+        super();
+    }
+
+    /**
+     * Gets the connection timeout of the given builder.
+     *
+     * @param builder the builder of HTTP clients
+     * @return the connection timeout
+     */
+    public static Duration getConnectionTimeout(HttpClient.Builder builder) {
+        return readBuilderField(builder, "connectionTimeout", Duration.class);
+    }
+
+    /**
+     * Gets the read timeout of the given builder.
+     *
+     * @param builder the builder of HTTP clients
+     * @return the read timeout
+     */
+    public static Duration getReadTimeout(HttpClient.Builder builder) {
+        return readBuilderField(builder, "readTimeout", Duration.class);
+    }
+
+    /**
+     * Gets the proxy of the given builder.
+     *
+     * @param builder the builder of HTTP clients
+     * @return the proxy or null if it is not set
+     */
+    @Nullable
+    public static Proxy getProxy(HttpClient.Builder builder) {
+        return readBuilderField(builder, "proxy", Proxy.class);
+    }
+
+    private static <T> T readBuilderField(HttpClient.Builder builder, String name, Class<T> type) {
+        try {
+            return type.cast(getBuilderField(name).get(checkNotNull(builder)));
+        } catch (IllegalAccessException e) {
+            throw new WebDriverException(e);
+        }
+    }
+
+    private static Field getBuilderField(String fieldName) {
+        return BUILDER_FIELDS.computeIfAbsent(fieldName, name -> {
+            try {
+                final Field f = HttpClient.Builder.class.getDeclaredField(name);
+                f.setAccessible(true);
+                return f;
+            } catch (NoSuchFieldException e) {
+                throw new WebDriverException(
+                        String.format("Cannot read the '%s' setting of the HTTP client builder", name), e);
+            }
+        });
+    }
+}
@@ -36,6 +36,8 @@ public class JsonToMobileElementConverter extends JsonToWebElementConverter {
 
     private final String platform;
     private final String automation;
+    // the element class depends on session details only, so its constructor is resolved once
+    private volatile Constructor<? extends RemoteWebElement> elementConstructor;
 
     /**
      * Creates a new instance based on {@code driver} and object with session details.
@@ -63,13 +65,8 @@ public class JsonToMobileElementConverter extends JsonToWebElementConverter {
 
     @Override
     protected RemoteWebElement newRemoteWebElement() {
-        Class<? extends RemoteWebElement> target;
-        target = getElementClass(platform, automation);
-
         try {
-            Constructor<? extends RemoteWebElement> constructor = target.getDeclaredConstructor();
-            constructor.setAccessible(true);
-            RemoteWebElement result = constructor.newInstance();
+            RemoteWebElement result = getElementConstructor().newInstance();
 
             result.setParent(driver);
             result.setFileDetector(driver.getFileDetector());
@@ -79,4 +76,14 @@ public class JsonToMobileElementConverter extends JsonToWebElementConverter {
             throw new WebDriverException(e);
         }
     }
+
+    private Constructor<? extends RemoteWebElement> getElementConstructor() throws NoSuchMethodException {
+        Constructor<? extends RemoteWebElement> constructor = elementConstructor;
+        if (constructor == null) {
+            constructor = getElementClass(platform, automation).getDeclaredConstructor();
+            constructor.setAccessible(true);
+            elementConstructor = constructor;
+        }
+        return constructor;
+    }
 }
@@ -22,12 +22,14 @@ import static org.openqa.seleniumone.remote.DriverCommand.EXECUTE_SCRIPT;
 import com.google.common.collect.ImmutableMap;
 
 import io.appium.java_client.ExecutesMethod;
+import io.appium.java_client.ws.BatchingMessageHandler;
 import io.appium.java_client.ws.StringWebSocketClient;
 import org.openqa.seleniumone.remote.RemoteWebDriver;
 
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Collections;
+import java.util.List;
 import java.util.function.Consumer;
 
 public interface ListensToSyslogMessages extends ExecutesMethod {
@@ -84,6 +86,33 @@ public interface ListensToSyslogMessages extends ExecutesMethod {
         getSyslogClient().addMessageHandler(handler);
     }
 
+    /**
+     * Adds a new log messages broadcasting handler, which receives messages in batches
+     * on a dedicated thread, so slow handlers do not stall the web socket reading.
+     * See {@link BatchingMessageHandler} for more details about the delivery.
+     * Multiple calls to this method will cause such handler
+     * to be called multiple times.
+     *
+     * @param handler a function, which accepts a list of log messages
+     * @return the handler which delivers messages. It provides counters of
+     *         received, delivered and dropped messages
+     */
+    default BatchingMessageHandler<String> addSyslogMessagesBatchListener(Consumer<List<String>> handler) {
+        return addSyslogMessagesBatchListener(new BatchingMessageHandler<>(handler));
+    }
+
+    /**
+     * Adds a new log messages broadcasting handler, which receives messages in batches
+     * on a dedicated thread. The handler is closed as soon as listeners are removed.
+     *
+     * @param handler the configured batching handler
+     * @return the same handler instance
+     */
+    default BatchingMessageHandler<String> addSyslogMessagesBatchListener(BatchingMessageHandler<String> handler) {
+        getSyslogClient().addMessageHandler(handler);
+        return handler;
+    }
+
     /**
      * Adds a new log broadcasting errors handler.
      * Several handlers might be assigned to a single server.
@@ -48,8 +48,8 @@ class AppiumElementLocator implements CacheableLocator {
     private final By by;
     private final Duration duration;
     private final SearchContext searchContext;
-    private WebElement cachedElement;
-    private List<WebElement> cachedElementList;
+    private volatile WebElement cachedElement;
+    private volatile List<WebElement> cachedElementList;
 
     /**
      * Creates a new mobile element locator. It instantiates {@link WebElement}
@@ -72,10 +72,11 @@ class AppiumElementLocator implements CacheableLocator {
     }
 
     /**
-     * This methods makes sets some settings of the {@link By} according to
-     * the given instance of {@link SearchContext}. If there is some {@link ContentMappedBy}
-     * then it is switched to the searching for some html or native mobile element.
-     * Otherwise nothing happens there.
+     * This methods resolves the {@link By} according to the given instance of
+     * {@link SearchContext}. If there is some {@link ContentMappedBy}
+     * then the locator of some html or native mobile element is returned.
+     * Otherwise the given locator is returned. The given locator is never modified,
+     * so locators can be safely shared between threads.
      *
      * @param currentBy is some locator strategy
      * @param currentContent is an instance of some subclass of the {@link SearchContext}.
@@ -87,7 +88,7 @@ class AppiumElementLocator implements CacheableLocator {
         }
 
         return ContentMappedBy.class.cast(currentBy)
-                .useContent(getCurrentContentType(currentContent));
+                .getBy(getCurrentContentType(currentContent));
     }
 
     private <T> T waitFor(Supplier<T> supplier) {
@@ -138,6 +139,7 @@ class AppiumElementLocator implements CacheableLocator {
         List<WebElement> result;
         try {
             result = waitFor(() -> {
+                // the content might be switched while waiting, so the locator is resolved on every attempt
                 List<WebElement> list = searchContext
                         .findElements(getBy(by, searchContext));
                 return list.size() > 0 ? list : null;
@@ -16,13 +16,11 @@
 
 package io.appium.java_client.pagefactory;
 
-import static io.appium.java_client.pagefactory.WithTimeout.DurationBuilder.build;
 import static java.util.Optional.ofNullable;
 
 import io.appium.java_client.pagefactory.bys.builder.AppiumByBuilder;
 import io.appium.java_client.pagefactory.locator.CacheableElementLocatorFactory;
 import io.appium.java_client.pagefactory.locator.CacheableLocator;
-import org.openqa.seleniumone.By;
 import org.openqa.seleniumone.SearchContext;
 
 import java.lang.reflect.AnnotatedElement;
@@ -54,21 +52,12 @@ public class AppiumElementLocatorFactory implements CacheableElementLocatorFacto
     }
 
     @Override public @Nullable CacheableLocator createLocator(AnnotatedElement annotatedElement) {
-        Duration customDuration;
-        if (annotatedElement.isAnnotationPresent(WithTimeout.class)) {
-            WithTimeout withTimeout = annotatedElement.getAnnotation(WithTimeout.class);
-            customDuration = build(withTimeout);
-        } else {
-            customDuration = duration;
-        }
+        PageObjectMetadata.LocatorMetadata metadata =
+                PageObjectMetadata.getLocatorMetadata(annotatedElement, builder);
 
-        builder.setAnnotated(annotatedElement);
-        By byResult = builder.buildBy();
-
-        return ofNullable(byResult)
-                .map(by -> new AppiumElementLocator(searchContext, by, builder.isLookupCached(), customDuration))
+        return ofNullable(metadata.getBy())
+                .map(by -> new AppiumElementLocator(searchContext, by, metadata.isLookupCached(),
+                        metadata.getTimeout(duration)))
                 .orElse(null);
     }
-
-
 }
@@ -30,6 +30,7 @@ import io.appium.java_client.android.AndroidElement;
 import io.appium.java_client.ios.IOSElement;
 import io.appium.java_client.pagefactory.bys.ContentType;
 import io.appium.java_client.pagefactory.locator.CacheableLocator;
+import io.appium.java_client.pagefactory.utils.ProxyFactory;
 import io.appium.java_client.windows.WindowsElement;
 import org.openqa.seleniumone.SearchContext;
 import org.openqa.seleniumone.WebDriver;
@@ -144,6 +145,18 @@ public class AppiumFieldDecorator implements FieldDecorator {
         this(context, DEFAULT_WAITING_TIMEOUT);
     }
 
+    /**
+     * Generates proxy classes of all supported element classes and of element lists
+     * in advance. This is optional and may be called once on startup, so
+     * initialization of the first page objects becomes faster.
+     */
+    public static void preGenerateProxyClasses() {
+        availableElementClasses.stream()
+                .filter(elementClass -> !elementClass.isInterface())
+                .forEach(ProxyFactory::preGenerateProxyClasses);
+        ProxyFactory.preGenerateProxyClasses(ArrayList.class);
+    }
+
     /**
      * Decorated page object {@code field}.
      *
@@ -197,7 +210,7 @@ public class AppiumFieldDecorator implements FieldDecorator {
 
         CacheableLocator locator = widgetLocatorFactory.createLocator(field);
         Map<ContentType, Constructor<? extends Widget>> map =
-            OverrideWidgetReader.read(widgetType, field, platform);
+            PageObjectMetadata.getWidgetConstructors(widgetType, field, platform, automation);
 
         if (isAlist) {
             return getEnhancedProxy(ArrayList.class,
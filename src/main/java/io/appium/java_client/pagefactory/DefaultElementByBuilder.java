@@ -76,6 +76,9 @@ public class DefaultElementByBuilder extends AppiumByBuilder {
         if (strategy.equals(LocatorGroupStrategy.ALL_POSSIBLE)) {
             return new ByAll(bys);
         }
+        if (strategy.equals(LocatorGroupStrategy.ALL_POSSIBLE_RACE)) {
+            return new ByAll(bys, ByAll.LookupMode.RACE);
+        }
         return new ByChained(bys);
     }
 
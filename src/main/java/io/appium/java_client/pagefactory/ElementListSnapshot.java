@@ -0,0 +1,96 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.java_client.pagefactory;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import io.appium.java_client.pagefactory.interceptors.InterceptorOfAListOfElements;
+import net.sf.cglib.proxy.Callback;
+import net.sf.cglib.proxy.Factory;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Pins the content of a list field which is decorated by {@link AppiumFieldDecorator}.
+ * By default each call to such a list (e.g. {@code size()} or {@code get(i)}) looks up
+ * the elements again. Inside of the snapshot scope all the calls on the current thread
+ * use the result of a single lookup:
+ * <code>
+ * ElementListSnapshot.withSnapshot(page.rows, rows -&gt; {
+ *     for (int i = 0; i &lt; rows.size(); i++) {
+ *         rows.get(i).click();
+ *     }
+ *     return null;
+ * });
+ * </code>
+ * If {@link org.openqa.seleniumone.StaleElementReferenceException} is thrown by the action
+ * then the elements are looked up again and the action is performed once more,
+ * so the action is expected to be repeatable.
+ */
+public final class ElementListSnapshot {
+
+    private ElementListSnapshot() {
+        super();
+    }
+
+    /**
+     * Performs the action within the snapshot scope of the given list.
+     *
+     * @param list the list field which is decorated by {@link AppiumFieldDecorator}.
+     *             The action is just performed if the list is not decorated
+     * @param action the action which receives the same list
+     * @param <L> the type of the list
+     * @param <R> the type of the action result
+     * @return the action result
+     */
+    public static <L extends List<?>, R> R withSnapshot(L list, Function<? super L, R> action) {
+        checkNotNull(action);
+        InterceptorOfAListOfElements interceptor = getInterceptor(checkNotNull(list));
+        if (interceptor == null) {
+            return action.apply(list);
+        }
+        return interceptor.withSnapshot(() -> action.apply(list));
+    }
+
+    /**
+     * Performs the action within the snapshot scope of the given list.
+     *
+     * @param list the list field which is decorated by {@link AppiumFieldDecorator}.
+     *             The action is just performed if the list is not decorated
+     * @param action the action to perform
+     */
+    public static void withSnapshot(List<?> list, Runnable action) {
+        checkNotNull(action);
+        withSnapshot(list, l -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private static InterceptorOfAListOfElements getInterceptor(List<?> list) {
+        if (!(list instanceof Factory)) {
+            return null;
+        }
+        for (Callback callback : ((Factory) list).getCallbacks()) {
+            if (callback instanceof InterceptorOfAListOfElements) {
+                return (InterceptorOfAListOfElements) callback;
+            }
+        }
+        return null;
+    }
+}
@@ -17,5 +17,12 @@
 package io.appium.java_client.pagefactory;
 
 public enum LocatorGroupStrategy {
-    CHAIN, ALL_POSSIBLE;
+    CHAIN, ALL_POSSIBLE,
+    /**
+     * The same as {@link #ALL_POSSIBLE}, but all locators are tried concurrently
+     * and the first found element is returned. An Appium session processes commands
+     * serially, so see {@link io.appium.java_client.pagefactory.bys.builder.ByAll.LookupMode#RACE}
+     * before using it.
+     */
+    ALL_POSSIBLE_RACE;
 }
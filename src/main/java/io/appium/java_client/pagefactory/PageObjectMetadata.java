@@ -0,0 +1,153 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.java_client.pagefactory;
+
+import static io.appium.java_client.pagefactory.WithTimeout.DurationBuilder.build;
+
+import com.google.common.collect.ImmutableList;
+import io.appium.java_client.pagefactory.bys.ContentType;
+import io.appium.java_client.pagefactory.bys.builder.AppiumByBuilder;
+import org.openqa.seleniumone.By;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nullable;
+
+/**
+ * Keeps the precomputed metadata of page object classes for each combination
+ * of platform and automation name, so page objects of the same class could be
+ * initialized without repeated annotation parsing.
+ * The metadata is bound to the page object class and is released together with it.
+ */
+final class PageObjectMetadata {
+    private static final MetadataByPlatform METADATA = new MetadataByPlatform();
+
+    private final Map<List<Object>, LocatorMetadata> locators = new ConcurrentHashMap<>();
+    private final Map<List<Object>, Map<ContentType, Constructor<? extends Widget>>> widgetConstructors =
+            new ConcurrentHashMap<>();
+
+    private PageObjectMetadata() {
+    }
+
+    private static PageObjectMetadata of(Class<?> pageClass, String platform, String automation) {
+        List<String> key = ImmutableList.of(String.valueOf(platform), String.valueOf(automation));
+        return METADATA.get(pageClass).computeIfAbsent(key, k -> new PageObjectMetadata());
+    }
+
+    @Nullable
+    private static Class<?> getPageClass(AnnotatedElement annotatedElement) {
+        if (annotatedElement instanceof Field) {
+            return ((Field) annotatedElement).getDeclaringClass();
+        }
+        if (annotatedElement instanceof Class) {
+            return (Class<?>) annotatedElement;
+        }
+        return null;
+    }
+
+    /**
+     * Only builders of the known types are deterministic for the given annotated element.
+     * Results of custom builders are never cached.
+     */
+    private static boolean isCacheable(AppiumByBuilder builder) {
+        return builder.getClass() == DefaultElementByBuilder.class || builder.getClass() == WidgetByBuilder.class;
+    }
+
+    /**
+     * Reads the locator metadata of the given annotated element.
+     *
+     * @param annotatedElement the field or the class to read the metadata of
+     * @param builder the builder which handles page object annotations
+     * @return the locator metadata. It is read only once per page class, platform and automation.
+     */
+    static LocatorMetadata getLocatorMetadata(AnnotatedElement annotatedElement, AppiumByBuilder builder) {
+        Class<?> pageClass = getPageClass(annotatedElement);
+        if (pageClass == null || !isCacheable(builder)) {
+            return LocatorMetadata.read(annotatedElement, builder);
+        }
+        PageObjectMetadata metadata = of(pageClass, builder.getPlatform(), builder.getAutomation());
+        return metadata.locators.computeIfAbsent(ImmutableList.of(builder.getClass(), annotatedElement),
+            key -> LocatorMetadata.read(annotatedElement, builder));
+    }
+
+    /**
+     * Reads constructors of the widget, which is declared by the given field.
+     *
+     * @param widgetType the declared widget class
+     * @param field the page object field
+     * @param platform the current platform name
+     * @param automation the current automation name
+     * @return the unmodifiable map of widget constructors for each content type
+     */
+    static Map<ContentType, Constructor<? extends Widget>> getWidgetConstructors(
+            Class<? extends Widget> widgetType, Field field, String platform, String automation) {
+        PageObjectMetadata metadata = of(field.getDeclaringClass(), platform, automation);
+        return metadata.widgetConstructors.computeIfAbsent(ImmutableList.of(widgetType, field),
+            key -> Collections.unmodifiableMap(OverrideWidgetReader.read(widgetType, field, platform)));
+    }
+
+    private static final class MetadataByPlatform extends ClassValue<Map<List<String>, PageObjectMetadata>> {
+        @Override
+        protected Map<List<String>, PageObjectMetadata> computeValue(Class<?> pageClass) {
+            return new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * The locating properties of a single page object field.
+     */
+    static final class LocatorMetadata {
+        private final By by;
+        private final boolean lookupCached;
+        private final Duration timeout;
+
+        private LocatorMetadata(@Nullable By by, boolean lookupCached, @Nullable Duration timeout) {
+            this.by = by;
+            this.lookupCached = lookupCached;
+            this.timeout = timeout;
+        }
+
+        private static LocatorMetadata read(AnnotatedElement annotatedElement, AppiumByBuilder builder) {
+            Duration timeout = null;
+            if (annotatedElement.isAnnotationPresent(WithTimeout.class)) {
+                timeout = build(annotatedElement.getAnnotation(WithTimeout.class));
+            }
+            builder.setAnnotated(annotatedElement);
+            By by = builder.buildBy();
+            return new LocatorMetadata(by, by != null && builder.isLookupCached(), timeout);
+        }
+
+        @Nullable
+        By getBy() {
+            return by;
+        }
+
+        boolean isLookupCached() {
+            return lookupCached;
+        }
+
+        Duration getTimeout(Duration defaultTimeout) {
+            return timeout == null ? defaultTimeout : timeout;
+        }
+    }
+}
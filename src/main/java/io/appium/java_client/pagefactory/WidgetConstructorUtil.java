@@ -23,12 +23,23 @@ import java.util.Arrays;
 import java.util.List;
 
 class WidgetConstructorUtil {
+    private static final ClassValue<Constructor<?>> CONVENIENT_CONSTRUCTORS = new ClassValue<Constructor<?>>() {
+        @Override
+        protected Constructor<?> computeValue(Class<?> clazz) {
+            return lookUpConvenientConstructor(clazz);
+        }
+    };
+
     private WidgetConstructorUtil() {
         super();
     }
 
     @SuppressWarnings("unchecked")
     static Constructor<? extends Widget> findConvenientConstructor(Class<? extends Widget> clazz) {
+        return (Constructor<? extends Widget>) CONVENIENT_CONSTRUCTORS.get(clazz);
+    }
+
+    private static Constructor<?> lookUpConvenientConstructor(Class<?> clazz) {
         Constructor<?>[] constructors = clazz.getDeclaredConstructors();
         for (Constructor<?> constructor : constructors) {
             Class<?>[] params = constructor.getParameterTypes();
@@ -39,7 +50,7 @@ class WidgetConstructorUtil {
             Class<?> param = params[0];
             if (WebElement.class.isAssignableFrom(param)) {
                 constructor.setAccessible(true);
-                return (Constructor<? extends Widget>) constructor;
+                return constructor;
             }
         }
         List<Constructor<?>> declared = Arrays.asList(clazz.getDeclaredConstructors());
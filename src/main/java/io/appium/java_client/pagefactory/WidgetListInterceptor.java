@@ -56,8 +56,8 @@ class WidgetListInterceptor extends InterceptorOfAListOfElements {
 
     @Override protected Object getObject(List<WebElement> elements, Method method, Object[] args)
         throws Throwable {
-        if (cachedElements == null || (locator != null && !((CacheableLocator) locator)
-            .isLookUpCached())) {
+        if (cachedElements == null || (cachedElements != elements && locator != null
+            && !((CacheableLocator) locator).isLookUpCached())) {
             cachedElements = elements;
             cachedWidgets.clear();
 
@@ -18,7 +18,9 @@ package io.appium.java_client.pagefactory.bys;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static io.appium.java_client.pagefactory.bys.ContentType.NATIVE_MOBILE_SPECIFIC;
+import static io.appium.java_client.pagefactory.utils.WebDriverUnpackUtility.getCurrentContentType;
 
+import com.google.common.collect.ImmutableMap;
 import org.openqa.seleniumone.By;
 import org.openqa.seleniumone.SearchContext;
 import org.openqa.seleniumone.WebElement;
@@ -27,34 +29,57 @@ import java.util.List;
 import java.util.Map;
 import javax.annotation.Nonnull;
 
+/**
+ * The locator, which maps each {@link ContentType} to its own {@link By}.
+ * Instances are immutable, so they can be shared between threads. The content
+ * specific locator is resolved on each call and is never stored in this instance.
+ */
 public class ContentMappedBy extends By {
     private final Map<ContentType, By> map;
-    private ContentType currentContent = NATIVE_MOBILE_SPECIFIC;
 
     public ContentMappedBy(Map<ContentType, By> map) {
-        this.map = map;
+        this.map = ImmutableMap.copyOf(map);
     }
 
     /**
-     * This method sets required content type for the further searching.
+     * Gets the locator which is mapped to the given content type.
      * @param type required content type {@link ContentType}
-     * @return self-reference.
+     * @return the content specific locator.
+     * @deprecated use {@link #getBy(ContentType)} instead. This method does not
+     *     change the state of this instance anymore.
      */
+    @Deprecated
     public By useContent(@Nonnull ContentType type) {
-        checkNotNull(type);
-        currentContent = type;
-        return this;
+        return getBy(type);
+    }
+
+    /**
+     * Gets the locator which is mapped to the given content type.
+     * @param type required content type {@link ContentType}
+     * @return the content specific locator.
+     */
+    public By getBy(@Nonnull ContentType type) {
+        return map.get(checkNotNull(type));
+    }
+
+    /**
+     * Gets the locator which matches the current content of the given search context.
+     * @param context the search context which is used to detect the current {@link ContentType}
+     * @return the content specific locator.
+     */
+    public By getBy(SearchContext context) {
+        return getBy(getCurrentContentType(context));
     }
 
     @Override public WebElement findElement(SearchContext context) {
-        return context.findElement(map.get(currentContent));
+        return context.findElement(getBy(context));
     }
 
     @Override public List<WebElement> findElements(SearchContext context) {
-        return context.findElements(map.get(currentContent));
+        return context.findElements(getBy(context));
     }
 
     @Override public String toString() {
-        return map.get(currentContent).toString();
+        return map.get(NATIVE_MOBILE_SPECIFIC).toString();
     }
 }
@@ -64,6 +64,14 @@ public abstract class AppiumByBuilder extends AbstractAnnotations {
         this.automation = String.valueOf(automation);
     }
 
+    public String getPlatform() {
+        return platform;
+    }
+
+    public String getAutomation() {
+        return automation;
+    }
+
     private static List<String> getMethodNames(Method[] methods) {
         List<String> names = new ArrayList<>();
         for (Method m : methods) {
@@ -3,20 +3,59 @@ package io.appium.java_client.pagefactory.bys.builder;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.openqa.seleniumone.By;
 import org.openqa.seleniumone.NoSuchElementException;
 import org.openqa.seleniumone.SearchContext;
+import org.openqa.seleniumone.WebDriverException;
 import org.openqa.seleniumone.WebElement;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 
 
 public class ByAll extends org.openqa.seleniumone.support.pagefactory.ByAll {
 
     private final List<By> bys;
+    private final LookupMode lookupMode;
+
+    /**
+     * Defines how the alternative locators are applied by {@link #findElement(SearchContext)}.
+     */
+    public enum LookupMode {
+        /**
+         * Locators are tried one by one in the given order. This is the default mode.
+         */
+        SEQUENTIAL,
+        /**
+         * All locators are tried concurrently. The element found by the fastest
+         * lookup is returned and the rest of lookups are cancelled.
+         * Each lookup occupies a thread of an unbounded pool until it returns.
+         * An Appium session processes commands one at a time, so lookups of the
+         * same session are still executed by the server serially and this mode
+         * only makes sense if the search context is backed by several sessions
+         * or by a server which handles requests of a session in parallel.
+         */
+        RACE,
+        /**
+         * All locators are tried concurrently, but the result preserves the priority
+         * of locators: the element found by a locator is only returned after all
+         * preceding locators have failed to find anything. Pending lookups
+         * of lower priority are cancelled as soon as the result is known.
+         * The same limitations as for {@link #RACE} apply.
+         */
+        PRIORITIZED_RACE
+    }
 
     private Function<SearchContext, Optional<WebElement>> getSearchingFunction(By by) {
         return input -> {
@@ -34,21 +73,112 @@ public class ByAll extends org.openqa.seleniumone.support.pagefactory.ByAll {
      * @param bys is a set of {@link By} which forms the all possible searching.
      */
     public ByAll(By[] bys) {
+        this(bys, LookupMode.SEQUENTIAL);
+    }
+
+    /**
+     * Finds all elements that matches any of the locators.
+     *
+     * @param bys is a set of {@link By} which forms the all possible searching.
+     * @param lookupMode defines how {@link #findElement(SearchContext)} applies the given locators.
+     */
+    public ByAll(By[] bys, LookupMode lookupMode) {
         super(bys);
         checkNotNull(bys);
 
         this.bys = Arrays.asList(bys);
+        this.lookupMode = checkNotNull(lookupMode);
 
         checkArgument(!this.bys.isEmpty(), "By array should not be empty");
     }
 
+    public LookupMode getLookupMode() {
+        return lookupMode;
+    }
+
     @Override
     public WebElement findElement(SearchContext context) {
-        return bys.stream()
-                .map(by -> getSearchingFunction(by).apply(context))
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .findFirst()
-                .orElseThrow(() -> new NoSuchElementException("Cannot locate an element using " + toString()));
+        if (lookupMode == LookupMode.SEQUENTIAL || bys.size() == 1) {
+            return bys.stream()
+                    .map(by -> getSearchingFunction(by).apply(context))
+                    .filter(Optional::isPresent)
+                    .map(Optional::get)
+                    .findFirst()
+                    .orElseThrow(this::noSuchElement);
+        }
+
+        CompletionService<Optional<WebElement>> completionService =
+                new ExecutorCompletionService<>(SharedExecutor.INSTANCE);
+        List<Future<Optional<WebElement>>> lookups = new ArrayList<>();
+        try {
+            for (By by : bys) {
+                lookups.add(completionService.submit(() -> getSearchingFunction(by).apply(context)));
+            }
+            return lookupMode == LookupMode.RACE
+                    ? getFastestResult(completionService, lookups.size())
+                    : getPrioritizedResult(lookups);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException(e);
+        } finally {
+            lookups.forEach(lookup -> lookup.cancel(true));
+        }
+    }
+
+    private WebElement getFastestResult(CompletionService<Optional<WebElement>> completionService,
+                                        int lookupsCount) throws InterruptedException {
+        RuntimeException failure = null;
+        for (int i = 0; i < lookupsCount; i++) {
+            try {
+                Optional<WebElement> result = completionService.take().get();
+                if (result.isPresent()) {
+                    return result.get();
+                }
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = toUncheckedException(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        throw noSuchElement();
+    }
+
+    private WebElement getPrioritizedResult(List<Future<Optional<WebElement>>> lookups)
+            throws InterruptedException {
+        for (Future<Optional<WebElement>> lookup : lookups) {
+            try {
+                Optional<WebElement> result = lookup.get();
+                if (result.isPresent()) {
+                    return result.get();
+                }
+            } catch (ExecutionException e) {
+                throw toUncheckedException(e);
+            }
+        }
+        throw noSuchElement();
+    }
+
+    private static RuntimeException toUncheckedException(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        Throwables.throwIfUnchecked(cause);
+        return new WebDriverException(cause);
+    }
+
+    private NoSuchElementException noSuchElement() {
+        return new NoSuchElementException("Cannot locate an element using " + toString());
+    }
+
+    private static final class SharedExecutor {
+        private static final ExecutorService INSTANCE = Executors.newCachedThreadPool(
+                new ThreadFactoryBuilder()
+                        .setNameFormat("appium-by-all-%d")
+                        .setDaemon(true)
+                        .build());
     }
 }
@@ -18,6 +18,7 @@ package io.appium.java_client.pagefactory.interceptors;
 
 import net.sf.cglib.proxy.MethodInterceptor;
 import net.sf.cglib.proxy.MethodProxy;
+import org.openqa.seleniumone.StaleElementReferenceException;
 import org.openqa.seleniumone.WebElement;
 import org.openqa.seleniumone.support.pagefactory.ElementLocator;
 
@@ -25,9 +26,13 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 public abstract class InterceptorOfAListOfElements implements MethodInterceptor {
+    private static final int MAX_SNAPSHOT_ATTEMPTS = 2;
+
     protected final ElementLocator locator;
+    private final ThreadLocal<List<WebElement>> snapshot = new ThreadLocal<>();
 
     public InterceptorOfAListOfElements(ElementLocator locator) {
         this.locator = locator;
@@ -45,7 +50,40 @@ public abstract class InterceptorOfAListOfElements implements MethodInterceptor
             return proxy.invokeSuper(obj, args);
         }
 
-        List<WebElement> realElements = new ArrayList<>(locator.findElements());
+        List<WebElement> realElements = snapshot.get();
+        if (realElements == null) {
+            realElements = new ArrayList<>(locator.findElements());
+        }
         return getObject(realElements, method, args);
     }
+
+    /**
+     * Performs the given action while all the calls to the intercepted list on the
+     * current thread use the same result of the element lookup. The lookup is performed
+     * again and the action is repeated once if it fails with
+     * {@link StaleElementReferenceException}. Nested calls reuse the outer snapshot.
+     *
+     * @param action the action to perform
+     * @param <R> the type of the action result
+     * @return the action result
+     */
+    public <R> R withSnapshot(Supplier<R> action) {
+        if (snapshot.get() != null) {
+            return action.get();
+        }
+        try {
+            for (int attempt = 1; ; attempt++) {
+                snapshot.set(new ArrayList<>(locator.findElements()));
+                try {
+                    return action.get();
+                } catch (StaleElementReferenceException e) {
+                    if (attempt >= MAX_SNAPSHOT_ATTEMPTS) {
+                        throw e;
+                    }
+                }
+            }
+        } finally {
+            snapshot.remove();
+        }
+    }
 }
@@ -16,15 +16,32 @@
 
 package io.appium.java_client.pagefactory.utils;
 
+import com.google.common.collect.ImmutableList;
+import net.sf.cglib.core.CodeGenerationException;
+import net.sf.cglib.proxy.Callback;
 import net.sf.cglib.proxy.Enhancer;
 import net.sf.cglib.proxy.MethodInterceptor;
 
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Original class is a super class of a
- * proxy object here.
+ * proxy object here. Proxy classes are generated once per
+ * original class and are reused by all further proxy instances.
  */
 public final class ProxyFactory {
 
+    private static final ClassValue<ProxyClass> PROXY_CLASSES = new ClassValue<ProxyClass>() {
+        @Override
+        protected ProxyClass computeValue(Class<?> requiredClazz) {
+            return new ProxyClass(requiredClazz);
+        }
+    };
+
     private ProxyFactory() {
         super();
     }
@@ -49,9 +66,61 @@ public final class ProxyFactory {
     @SuppressWarnings("unchecked")
     public static <T> T getEnhancedProxy(Class<T> requiredClazz, Class<?>[] params, Object[] values,
         MethodInterceptor interceptor) {
-        Enhancer enhancer = new Enhancer();
-        enhancer.setSuperclass(requiredClazz);
-        enhancer.setCallback(interceptor);
-        return (T) enhancer.create(params, values);
+        return (T) PROXY_CLASSES.get(requiredClazz).newInstance(params, values, interceptor);
+    }
+
+    /**
+     * Generates proxy classes for the given classes in advance, so the first
+     * decorated page object does not pay the cost of the byte code generation.
+     *
+     * @param classes are classes whose proxies are going to be created later
+     */
+    public static void preGenerateProxyClasses(Class<?>... classes) {
+        for (Class<?> clazz : classes) {
+            PROXY_CLASSES.get(clazz);
+        }
+    }
+
+    /**
+     * The generated proxy class and its constructors, which are shared
+     * by all the proxies of the same original class.
+     */
+    private static final class ProxyClass {
+        private final Class<?> proxyClass;
+        private final Map<List<Class<?>>, Constructor<?>> constructors = new ConcurrentHashMap<>();
+
+        private ProxyClass(Class<?> requiredClazz) {
+            Enhancer enhancer = new Enhancer();
+            enhancer.setSuperclass(requiredClazz);
+            enhancer.setCallbackType(MethodInterceptor.class);
+            this.proxyClass = enhancer.createClass();
+        }
+
+        private Constructor<?> getConstructor(Class<?>[] params) {
+            return constructors.computeIfAbsent(ImmutableList.copyOf(params), key -> {
+                try {
+                    Constructor<?> constructor = proxyClass.getDeclaredConstructor(params);
+                    constructor.setAccessible(true);
+                    return constructor;
+                } catch (NoSuchMethodException e) {
+                    throw new CodeGenerationException(e);
+                }
+            });
+        }
+
+        private Object newInstance(Class<?>[] params, Object[] values, MethodInterceptor interceptor) {
+            Constructor<?> constructor = getConstructor(params);
+            // callbacks are picked up by the generated constructor from the current thread
+            Enhancer.registerCallbacks(proxyClass, new Callback[] {interceptor});
+            try {
+                return constructor.newInstance(values);
+            } catch (InvocationTargetException e) {
+                throw new CodeGenerationException(e.getTargetException());
+            } catch (ReflectiveOperationException e) {
+                throw new CodeGenerationException(e);
+            } finally {
+                Enhancer.registerCallbacks(proxyClass, null);
+            }
+        }
     }
 }
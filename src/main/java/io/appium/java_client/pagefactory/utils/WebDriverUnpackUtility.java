@@ -21,6 +21,7 @@ import static io.appium.java_client.pagefactory.bys.ContentType.NATIVE_MOBILE_SP
 import static java.util.Optional.ofNullable;
 import static org.apache.commons.lang3.StringUtils.containsIgnoreCase;
 
+import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.HasSessionDetails;
 import io.appium.java_client.pagefactory.bys.ContentType;
 import org.openqa.seleniumone.ContextAware;
@@ -81,6 +82,11 @@ public final class WebDriverUnpackUtility {
      */
     public static ContentType getCurrentContentType(SearchContext context) {
         return ofNullable(unpackWebDriverFromSearchContext(context)).map(driver -> {
+            if (AppiumDriver.class.isAssignableFrom(driver.getClass())) {
+                // the driver keeps track of the current context
+                return AppiumDriver.class.cast(driver).isBrowser() ? HTML_OR_DEFAULT : NATIVE_MOBILE_SPECIFIC;
+            }
+
             if (HasSessionDetails.class.isAssignableFrom(driver.getClass())) {
                 HasSessionDetails hasSessionDetails = HasSessionDetails.class.cast(driver);
 
@@ -18,63 +18,88 @@ package io.appium.java_client.remote;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Throwables.throwIfUnchecked;
-import static java.lang.String.format;
-import static java.nio.charset.StandardCharsets.UTF_8;
+import static com.google.common.net.HttpHeaders.CONTENT_LENGTH;
 import static java.util.Optional.ofNullable;
-import static java.util.logging.Logger.getLogger;
 import static org.openqa.seleniumone.remote.DriverCommand.NEW_SESSION;
 
 import com.google.common.base.Supplier;
 import com.google.common.base.Throwables;
 
-import com.google.common.io.CountingOutputStream;
-import com.google.common.io.FileBackedOutputStream;
-
-import io.appium.java_client.internal.Config;
-import org.openqa.seleniumone.Capabilities;
-import org.openqa.seleniumone.ImmutableCapabilities;
+import io.appium.java_client.AppiumCommandInfo;
+import io.appium.java_client.ErrorCodesMobile;
+import io.appium.java_client.remote.metrics.CommandMetricsRecorder;
+import org.openqa.seleniumone.NoSuchSessionException;
 import org.openqa.seleniumone.SessionNotCreatedException;
+import org.openqa.seleniumone.UnsupportedCommandException;
 import org.openqa.seleniumone.WebDriverException;
+import org.openqa.seleniumone.logging.LocalLogs;
+import org.openqa.seleniumone.logging.LogType;
+import org.openqa.seleniumone.logging.profiler.HttpProfilerLogEntry;
 import org.openqa.seleniumone.remote.Command;
 import org.openqa.seleniumone.remote.CommandCodec;
 import org.openqa.seleniumone.remote.CommandInfo;
 import org.openqa.seleniumone.remote.Dialect;
 import org.openqa.seleniumone.remote.DriverCommand;
 import org.openqa.seleniumone.remote.HttpCommandExecutor;
-import org.openqa.seleniumone.remote.ProtocolHandshake;
+import org.openqa.seleniumone.remote.HttpSessionId;
 import org.openqa.seleniumone.remote.Response;
 import org.openqa.seleniumone.remote.ResponseCodec;
 import org.openqa.seleniumone.remote.codec.w3c.W3CHttpCommandCodec;
 import org.openqa.seleniumone.remote.http.HttpClient;
+import org.openqa.seleniumone.remote.http.HttpMethod;
 import org.openqa.seleniumone.remote.http.HttpRequest;
 import org.openqa.seleniumone.remote.http.HttpResponse;
+import org.openqa.seleniumone.remote.http.WebSocket;
 import org.openqa.seleniumone.remote.service.DriverService;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.net.ConnectException;
 import java.net.URL;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
 
 public class AppiumCommandExecutor extends HttpCommandExecutor {
+    private static final ErrorCodesMobile ERROR_CODES = new ErrorCodesMobile();
+    private static final String COMMAND_CODEC_FIELD = "commandCodec";
+    private static final String RESPONSE_CODEC_FIELD = "responseCodec";
+    private static final String CLIENT_FIELD = "client";
+    private static final String ADDITIONAL_COMMANDS_FIELD = "additionalCommands";
+    private static final Map<String, Field> COMMAND_INFO_FIELDS = new ConcurrentHashMap<>();
+    private static volatile CommandMetricsRecorder defaultMetricsRecorder;
 
     private final Optional<DriverService> serviceOptional;
+    private final HttpClient.Factory httpClientFactory;
+    private final Map<String, AppiumCommandInfo> additionalCommands;
+    private volatile HttpClient client;
+    private volatile CommandCodec<HttpRequest> commandCodec;
+    private volatile ResponseCodec<HttpResponse> responseCodec;
+    private volatile LocalLogs logs = LocalLogs.getNullLogger();
+    private volatile CommandMetricsRecorder metricsRecorder;
+    private volatile MeasuringHttpClient measuringClient;
 
     private AppiumCommandExecutor(Map<String, CommandInfo> additionalCommands, DriverService service,
                                   URL addressOfRemoteServer,
                                   HttpClient.Factory httpClientFactory) {
+        this(additionalCommands, service, addressOfRemoteServer, new ClientCapturingFactory(httpClientFactory));
+    }
+
+    private AppiumCommandExecutor(Map<String, CommandInfo> additionalCommands, DriverService service,
+                                  URL addressOfRemoteServer,
+                                  ClientCapturingFactory httpClientFactory) {
         super(additionalCommands,
                 ofNullable(service)
                         .map(DriverService::getUrl)
                         .orElse(addressOfRemoteServer), httpClientFactory);
         serviceOptional = ofNullable(service);
+        this.httpClientFactory = httpClientFactory.delegate;
+        this.client = checkNotNull(httpClientFactory.createdClient);
+        this.additionalCommands = toAppiumCommands(additionalCommands);
     }
 
     public AppiumCommandExecutor(Map<String, CommandInfo> additionalCommands, DriverService service,
@@ -98,7 +123,48 @@ public class AppiumCommandExecutor extends HttpCommandExecutor {
         this(additionalCommands, service, HttpClient.Factory.createDefault());
     }
 
+    /**
+     * Sets the recorder of command metrics, which is used by all the executors
+     * that have no own recorder. This is the easiest way to instrument drivers, since
+     * their command executors are created internally.
+     *
+     * @param recorder the recorder instance or null to disable the instrumentation
+     */
+    public static void setDefaultMetricsRecorder(@Nullable CommandMetricsRecorder recorder) {
+        defaultMetricsRecorder = recorder;
+    }
+
+    /**
+     * Sets the recorder of command metrics for this executor.
+     *
+     * @param recorder the recorder instance or null to use the default one
+     */
+    public void setMetricsRecorder(@Nullable CommandMetricsRecorder recorder) {
+        this.metricsRecorder = recorder;
+    }
+
+    /**
+     * Reads the value of a private field declared by one of superclasses.
+     * The {@code commandCodec}, {@code responseCodec}, {@code client} and {@code additionalCommands}
+     * fields of {@link HttpCommandExecutor} are not used anymore, so their values are read from this executor.
+     *
+     * @deprecated the state of this executor is not stored in {@link HttpCommandExecutor} fields anymore.
+     *     Use the corresponding getters instead.
+     */
+    @Deprecated
     protected <B> B getPrivateFieldValue(String fieldName, Class<B> fieldType) {
+        switch (fieldName) {
+            case COMMAND_CODEC_FIELD:
+                return fieldType.cast(commandCodec);
+            case RESPONSE_CODEC_FIELD:
+                return fieldType.cast(responseCodec);
+            case CLIENT_FIELD:
+                return fieldType.cast(client);
+            case ADDITIONAL_COMMANDS_FIELD:
+                return fieldType.cast(additionalCommands);
+            default:
+                break;
+        }
         Class<?> superclass = getClass().getSuperclass();
         Throwable recentException = null;
         while (superclass != Object.class) {
@@ -114,7 +180,33 @@ public class AppiumCommandExecutor extends HttpCommandExecutor {
         throw new WebDriverException(recentException);
     }
 
+    /**
+     * Changes the value of a private field declared by one of superclasses.
+     * The {@code commandCodec}, {@code responseCodec} and {@code client} fields of
+     * {@link HttpCommandExecutor} are not used anymore, so their values are changed in this executor.
+     * Additional commands cannot be changed after the executor is created.
+     *
+     * @deprecated the state of this executor is not stored in {@link HttpCommandExecutor} fields anymore.
+     *     Use the corresponding setters instead.
+     */
+    @Deprecated
+    @SuppressWarnings("unchecked")
     protected void setPrivateFieldValue(String fieldName, Object newValue) {
+        switch (fieldName) {
+            case COMMAND_CODEC_FIELD:
+                setCommandCodec((CommandCodec<HttpRequest>) newValue);
+                return;
+            case RESPONSE_CODEC_FIELD:
+                setResponseCodec((ResponseCodec<HttpResponse>) newValue);
+                return;
+            case CLIENT_FIELD:
+                setClient((HttpClient) newValue);
+                return;
+            case ADDITIONAL_COMMANDS_FIELD:
+                throw new WebDriverException("Additional commands cannot be changed after the executor is created");
+            default:
+                break;
+        }
         Class<?> superclass = getClass().getSuperclass();
         Throwable recentException = null;
         while (superclass != Object.class) {
@@ -131,99 +223,252 @@ public class AppiumCommandExecutor extends HttpCommandExecutor {
         throw new WebDriverException(recentException);
     }
 
+    /**
+     * Converts the given commands to {@link AppiumCommandInfo} instances, so their
+     * methods and URLs are accessible without reflection later on.
+     */
+    private static Map<String, AppiumCommandInfo> toAppiumCommands(Map<String, CommandInfo> commands) {
+        Map<String, AppiumCommandInfo> result = new LinkedHashMap<>();
+        checkNotNull(commands).forEach((name, info) -> result.put(name, toAppiumCommandInfo(info)));
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Converts the given command to {@link AppiumCommandInfo}. Commands of this library are
+     * {@link AppiumCommandInfo} instances already, so only plain {@link CommandInfo} instances
+     * created elsewhere pay for reading their fields by reflection.
+     */
+    private static AppiumCommandInfo toAppiumCommandInfo(CommandInfo info) {
+        if (info instanceof AppiumCommandInfo) {
+            return (AppiumCommandInfo) info;
+        }
+        // commands created outside of this library only expose their details to Selenium itself
+        try {
+            return new AppiumCommandInfo((String) getCommandInfoField("url").get(info),
+                    (HttpMethod) getCommandInfoField("method").get(info));
+        } catch (IllegalAccessException e) {
+            throw new WebDriverException(e);
+        }
+    }
+
+    private static Field getCommandInfoField(String fieldName) {
+        return COMMAND_INFO_FIELDS.computeIfAbsent(fieldName, name -> {
+            try {
+                final Field f = CommandInfo.class.getDeclaredField(name);
+                f.setAccessible(true);
+                return f;
+            } catch (NoSuchFieldException e) {
+                throw new WebDriverException(e);
+            }
+        });
+    }
+
+    /**
+     * Gets the factory of HTTP clients of this executor. Its builder settings, like timeouts
+     * and proxy, are applied to the client of this executor.
+     *
+     * @return the factory instance
+     */
+    public HttpClient.Factory getHttpClientFactory() {
+        return httpClientFactory;
+    }
+
     protected Map<String, CommandInfo> getAdditionalCommands() {
-        //noinspection unchecked
-        return getPrivateFieldValue("additionalCommands", Map.class);
+        return Collections.unmodifiableMap(additionalCommands);
     }
 
     protected CommandCodec<HttpRequest> getCommandCodec() {
-        //noinspection unchecked
-        return getPrivateFieldValue("commandCodec", CommandCodec.class);
+        return commandCodec;
     }
 
     protected void setCommandCodec(CommandCodec<HttpRequest> newCodec) {
-        setPrivateFieldValue("commandCodec", newCodec);
+        this.commandCodec = newCodec;
     }
 
     protected void setResponseCodec(ResponseCodec<HttpResponse> codec) {
-        setPrivateFieldValue("responseCodec", codec);
+        this.responseCodec = codec;
     }
 
     protected HttpClient getClient() {
-        //noinspection unchecked
-        return getPrivateFieldValue("client", HttpClient.class);
+        return client;
+    }
+
+    private synchronized void setClient(HttpClient newClient) {
+        this.client = checkNotNull(newClient);
+        // the next measured command wraps the new client
+        this.measuringClient = null;
+    }
+
+    @Override
+    protected void defineCommand(String commandName, CommandInfo info) {
+        checkNotNull(commandName);
+        AppiumCommandInfo commandInfo = toAppiumCommandInfo(checkNotNull(info));
+        commandCodec.defineCommand(commandName, commandInfo.getMethod(), commandInfo.getUrl());
+    }
+
+    private void defineAdditionalCommands(CommandCodec<HttpRequest> codec) {
+        // the commands have been converted by the constructor, so they are defined as they are
+        additionalCommands.forEach((name, info) -> codec.defineCommand(name, info.getMethod(), info.getUrl()));
+    }
+
+    @Override
+    public void setLocalLogs(LocalLogs logs) {
+        super.setLocalLogs(logs);
+        this.logs = logs;
+    }
+
+    private void log(String logType, HttpProfilerLogEntry entry) {
+        logs.addEntry(logType, entry);
     }
 
     private Response createSession(Command command) throws IOException {
         if (getCommandCodec() != null) {
             throw new SessionNotCreatedException("Session already exists");
         }
-        ProtocolHandshake handshake = new ProtocolHandshake() {
-            @SuppressWarnings("unchecked")
-            public Result createSession(HttpClient client, Command command)
-                    throws IOException {
-                Capabilities desiredCapabilities = (Capabilities) command.getParameters().get("desiredCapabilities");
-                Capabilities desired = desiredCapabilities == null ? new ImmutableCapabilities() : desiredCapabilities;
-
-                //the number of bytes before the stream should switch to buffering to a file
-                int threshold = (int) Math.min(Runtime.getRuntime().freeMemory() / 10, Integer.MAX_VALUE);
-                FileBackedOutputStream os = new FileBackedOutputStream(threshold);
-                try {
-
-                    CountingOutputStream counter = new CountingOutputStream(os);
-                    Writer writer = new OutputStreamWriter(counter, UTF_8);
-                    NewAppiumSessionPayload payload = NewAppiumSessionPayload.create(desired);
-                    payload.writeTo(writer);
-
-                    try (InputStream rawIn = os.asByteSource().openBufferedStream();
-                         BufferedInputStream contentStream = new BufferedInputStream(rawIn)) {
-
-                        Method createSessionMethod = this.getClass().getSuperclass()
-                                .getDeclaredMethod("createSession", HttpClient.class, InputStream.class, long.class);
-                        createSessionMethod.setAccessible(true);
-
-                        Optional<Result> result = (Optional<Result>) createSessionMethod
-                                .invoke(this, client, contentStream, counter.getCount());
-
-                        return result.map(result1 -> {
-                            Result toReturn = result.get();
-                            getLogger(ProtocolHandshake.class.getName())
-                                    .info(format("Detected dialect: %s", toReturn.getDialect()));
-                            return toReturn;
-                        }).orElseThrow(() -> new SessionNotCreatedException(
-                                format("Unable to create a new remote session. Desired capabilities = %s", desired)));
-                    } catch (NoSuchMethodException | IllegalAccessException e) {
-                        throw new SessionNotCreatedException(format("Unable to create a new remote session. "
-                                        + "Make sure your project dependencies config does not override "
-                                        + "seleniumone API version %s used by java-client library.",
-                                Config.main().getValue("seleniumone.version", String.class)), e);
-                    } catch (InvocationTargetException e) {
-                        String message = "Unable to create a new remote session.";
-                        if (e.getCause() != null) {
-                            if (e.getCause() instanceof WebDriverException) {
-                                message += " Please check the server log for more details.";
-                            }
-                            message += format(" Original error: %s", e.getCause().getMessage());
-                        }
-                        throw new SessionNotCreatedException(message, e);
-                    }
-                } finally {
-                    os.reset();
-                }
-            }
-        };
-
-        ProtocolHandshake.Result result = handshake
-                .createSession(getClient(), command);
+        log(LogType.PROFILER, new HttpProfilerLogEntry(command.getName(), true));
+        AppiumProtocolHandshake.Result result = AppiumProtocolHandshake.createSession(getClient(), command);
         Dialect dialect = result.getDialect();
-        setCommandCodec(dialect.getCommandCodec());
-        getAdditionalCommands().forEach(this::defineCommand);
+        CommandCodec<HttpRequest> codec = dialect.getCommandCodec();
+        defineAdditionalCommands(codec);
+        setCommandCodec(codec);
         setResponseCodec(dialect.getResponseCodec());
+        log(LogType.PROFILER, new HttpProfilerLogEntry(command.getName(), false));
         return result.createResponse();
     }
 
+    /**
+     * Sends the command with the client of this executor. This is the copy of
+     * {@code HttpCommandExecutor.execute} from selenium-remote-driver 4.0.0-alpha-1,
+     * which reads the codecs and the client from this executor instead of the private fields
+     * of the superclass. It has to be compared with the original on every Selenium upgrade.
+     * Unlike the original, a response without a session ID to a command without a session ID,
+     * like {@link DriverCommand#GET_ALL_SESSIONS}, does not fail with {@link NullPointerException}.
+     */
+    private Response sendCommand(Command command) throws IOException {
+        if (command.getSessionId() == null) {
+            if (DriverCommand.QUIT.equals(command.getName())) {
+                return new Response();
+            }
+            if (!DriverCommand.GET_ALL_SESSIONS.equals(command.getName())) {
+                throw new NoSuchSessionException("Session ID is null. Using WebDriver after calling quit()?");
+            }
+        }
+
+        final CommandCodec<HttpRequest> commandCodec = this.commandCodec;
+        final ResponseCodec<HttpResponse> responseCodec = this.responseCodec;
+        if (commandCodec == null || responseCodec == null) {
+            throw new WebDriverException("No command or response codec has been defined. Unable to proceed");
+        }
+
+        HttpRequest httpRequest = commandCodec.encode(command);
+        try {
+            log(LogType.PROFILER, new HttpProfilerLogEntry(command.getName(), true));
+            HttpResponse httpResponse = getClient().execute(httpRequest);
+            log(LogType.PROFILER, new HttpProfilerLogEntry(command.getName(), false));
+
+            Response response = responseCodec.decode(httpResponse);
+            if (response.getSessionId() == null) {
+                if (httpResponse.getTargetHost() != null) {
+                    response.setSessionId(HttpSessionId.getSessionId(httpResponse.getTargetHost()).orElse(null));
+                } else if (command.getSessionId() != null) {
+                    // Spoof the session ID from the request
+                    response.setSessionId(command.getSessionId().toString());
+                }
+            }
+            if (DriverCommand.QUIT.equals(command.getName())) {
+                httpClientFactory.cleanupIdleClients();
+            }
+            return response;
+        } catch (UnsupportedCommandException e) {
+            // kept as in the original, although WebDriverException always adds the build info to the message
+            if (e.getMessage() == null || e.getMessage().isEmpty()) {
+                throw new UnsupportedOperationException(
+                        "No information from server. Command name was: " + command.getName(), e.getCause());
+            }
+            throw e;
+        }
+    }
+
     @Override
     public Response execute(Command command) throws WebDriverException {
+        final CommandMetricsRecorder recorder = metricsRecorder == null ? defaultMetricsRecorder : metricsRecorder;
+        if (recorder == null) {
+            return executeCommand(command);
+        }
+
+        final MeasuringHttpClient client = getMeasuringClient();
+        final long[] payloadSizes = client.startMeasuring();
+        recorder.onCommandStarted(command.getName());
+        final long startedAt = System.nanoTime();
+        int status = ErrorCodesMobile.UNHANDLED_ERROR;
+        try {
+            Response response = executeCommand(command);
+            status = ofNullable(response.getStatus()).orElse(ErrorCodesMobile.SUCCESS);
+            return response;
+        } catch (RuntimeException e) {
+            status = ERROR_CODES.toStatusCode(e);
+            throw e;
+        } finally {
+            client.stopMeasuring();
+            recorder.onCommandFinished(command.getName(), System.nanoTime() - startedAt,
+                    payloadSizes[0], payloadSizes[1], status);
+        }
+    }
+
+    /**
+     * Executes a command, which is sent to the server without the HTTP client of this executor,
+     * for example because its payload is streamed. The command is recorded by the command metrics
+     * and the profiler logs of this executor in the same way as other commands.
+     *
+     * @param commandName the name of the command
+     * @param call sends the command to the server
+     * @param <T> the type of the call result
+     * @return the call result
+     * @throws IOException if the call has failed
+     */
+    public <T> T executeDirectly(String commandName, DirectCall<T> call) throws IOException {
+        checkNotNull(commandName);
+        checkNotNull(call);
+        final CommandMetricsRecorder recorder = metricsRecorder == null ? defaultMetricsRecorder : metricsRecorder;
+        final long[] payloadSizes = {-1, -1};
+        if (recorder != null) {
+            recorder.onCommandStarted(commandName);
+        }
+        final long startedAt = System.nanoTime();
+        int status = ErrorCodesMobile.UNHANDLED_ERROR;
+        log(LogType.PROFILER, new HttpProfilerLogEntry(commandName, true));
+        try {
+            T result = call.execute(payloadSizes);
+            status = ErrorCodesMobile.SUCCESS;
+            return result;
+        } catch (RuntimeException e) {
+            status = ERROR_CODES.toStatusCode(e);
+            throw e;
+        } finally {
+            log(LogType.PROFILER, new HttpProfilerLogEntry(commandName, false));
+            if (recorder != null) {
+                recorder.onCommandFinished(commandName, System.nanoTime() - startedAt,
+                        payloadSizes[0], payloadSizes[1], status);
+            }
+        }
+    }
+
+    private MeasuringHttpClient getMeasuringClient() {
+        MeasuringHttpClient client = measuringClient;
+        if (client == null) {
+            synchronized (this) {
+                client = measuringClient;
+                if (client == null) {
+                    client = new MeasuringHttpClient(getClient());
+                    this.client = client;
+                    measuringClient = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    private Response executeCommand(Command command) throws WebDriverException {
         if (DriverCommand.NEW_SESSION.equals(command.getName())) {
             serviceOptional.ifPresent(driverService -> {
                 try {
@@ -236,7 +481,7 @@ public class AppiumCommandExecutor extends HttpCommandExecutor {
 
         Response response;
         try {
-            response = NEW_SESSION.equals(command.getName()) ? createSession(command) : super.execute(command);
+            response = NEW_SESSION.equals(command.getName()) ? createSession(command) : sendCommand(command);
         } catch (Throwable t) {
             Throwable rootCause = Throwables.getRootCause(t);
             if (rootCause instanceof ConnectException
@@ -260,10 +505,108 @@ public class AppiumCommandExecutor extends HttpCommandExecutor {
 
         if (DriverCommand.NEW_SESSION.equals(command.getName())
                 && getCommandCodec() instanceof W3CHttpCommandCodec) {
-            setCommandCodec(new AppiumW3CHttpCommandCodec());
-            getAdditionalCommands().forEach(this::defineCommand);
+            CommandCodec<HttpRequest> codec = new AppiumW3CHttpCommandCodec();
+            defineAdditionalCommands(codec);
+            setCommandCodec(codec);
         }
 
         return response;
     }
+
+    /**
+     * Sends a command to the server bypassing the HTTP client of the executor.
+     *
+     * @param <T> the type of the call result
+     */
+    @FunctionalInterface
+    public interface DirectCall<T> {
+        /**
+         * Sends the command.
+         *
+         * @param payloadSizes the array to store the sizes of the request and the response
+         *                     payloads in bytes. Its items are equal to -1 if sizes are unknown
+         * @return the call result
+         * @throws IOException if the command cannot be sent or its response cannot be read
+         */
+        T execute(long[] payloadSizes) throws IOException;
+    }
+
+    /**
+     * Remembers the client created by the superclass constructor, so it is
+     * available to this executor without reflection.
+     */
+    private static class ClientCapturingFactory implements HttpClient.Factory {
+        private final HttpClient.Factory delegate;
+        private HttpClient createdClient;
+
+        private ClientCapturingFactory(HttpClient.Factory delegate) {
+            this.delegate = checkNotNull(delegate);
+        }
+
+        @Override
+        public HttpClient.Builder builder() {
+            return delegate.builder();
+        }
+
+        @Override
+        public HttpClient createClient(URL url) {
+            createdClient = delegate.createClient(url);
+            return createdClient;
+        }
+
+        @Override
+        public void cleanupIdleClients() {
+            delegate.cleanupIdleClients();
+        }
+    }
+
+    /**
+     * Remembers sizes of request and response payloads which are sent by the current thread.
+     */
+    private static class MeasuringHttpClient implements HttpClient {
+        private final HttpClient delegate;
+        private final ThreadLocal<long[]> payloadSizes = new ThreadLocal<>();
+
+        private MeasuringHttpClient(HttpClient delegate) {
+            this.delegate = delegate;
+        }
+
+        private long[] startMeasuring() {
+            long[] sizes = {-1, -1};
+            payloadSizes.set(sizes);
+            return sizes;
+        }
+
+        private void stopMeasuring() {
+            payloadSizes.remove();
+        }
+
+        private static long parseContentLength(@Nullable String header) {
+            if (header == null) {
+                return -1;
+            }
+            try {
+                return Long.parseLong(header.trim());
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+
+        @Override
+        public HttpResponse execute(HttpRequest request) throws IOException {
+            long[] sizes = payloadSizes.get();
+            HttpResponse response = delegate.execute(request);
+            if (sizes != null) {
+                // the handshake might send several requests per command
+                sizes[0] = parseContentLength(request.getHeader(CONTENT_LENGTH));
+                sizes[1] = parseContentLength(response.getHeader(CONTENT_LENGTH));
+            }
+            return response;
+        }
+
+        @Override
+        public WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
+            return delegate.openSocket(request, listener);
+        }
+    }
 }
@@ -0,0 +1,198 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.java_client.remote;
+
+import static com.google.common.net.HttpHeaders.CONTENT_LENGTH;
+import static com.google.common.net.HttpHeaders.CONTENT_TYPE;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.net.MediaType;
+import org.openqa.seleniumone.Capabilities;
+import org.openqa.seleniumone.ImmutableCapabilities;
+import org.openqa.seleniumone.Proxy;
+import org.openqa.seleniumone.SessionNotCreatedException;
+import org.openqa.seleniumone.WebDriverException;
+import org.openqa.seleniumone.json.Json;
+import org.openqa.seleniumone.json.JsonException;
+import org.openqa.seleniumone.remote.Command;
+import org.openqa.seleniumone.remote.Dialect;
+import org.openqa.seleniumone.remote.ErrorHandler;
+import org.openqa.seleniumone.remote.Response;
+import org.openqa.seleniumone.remote.SessionId;
+import org.openqa.seleniumone.remote.http.HttpClient;
+import org.openqa.seleniumone.remote.http.HttpMethod;
+import org.openqa.seleniumone.remote.http.HttpRequest;
+import org.openqa.seleniumone.remote.http.HttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Creates a new session on the remote server and detects the protocol dialect it speaks.
+ * This is the counterpart of Selenium's {@code ProtocolHandshake}, which sends
+ * {@link NewAppiumSessionPayload} instead of the default one and serializes it
+ * without any temporary files.
+ */
+final class AppiumProtocolHandshake {
+    private static final Logger LOG = Logger.getLogger(AppiumProtocolHandshake.class.getName());
+    private static final Json JSON = new Json();
+
+    private AppiumProtocolHandshake() {
+    }
+
+    /**
+     * Sends the new session request to the server.
+     *
+     * @param client the client to send the request with
+     * @param command the {@link org.openqa.seleniumone.remote.DriverCommand#NEW_SESSION} command
+     * @return the result of the handshake
+     * @throws IOException if the request cannot be sent
+     * @throws SessionNotCreatedException if the server has failed to create a session
+     */
+    static Result createSession(HttpClient client, Command command) throws IOException {
+        Capabilities desiredCapabilities = (Capabilities) command.getParameters().get("desiredCapabilities");
+        Capabilities desired = desiredCapabilities == null ? new ImmutableCapabilities() : desiredCapabilities;
+
+        HttpRequest request = new HttpRequest(HttpMethod.POST, "/session");
+        PayloadBuffer payload = serialize(desired);
+        request.setHeader(CONTENT_LENGTH, String.valueOf(payload.size()));
+        request.setHeader(CONTENT_TYPE, MediaType.JSON_UTF_8.toString());
+        // HttpRequest wraps byte arrays into a stream as well, so the serialized payload is not copied here
+        request.setContent(payload.toInputStream());
+
+        long startedAt = System.currentTimeMillis();
+        HttpResponse response = client.execute(request);
+        long duration = System.currentTimeMillis() - startedAt;
+
+        Result result = parseResponse(response, duration);
+        if (result == null) {
+            throw new SessionNotCreatedException(
+                    format("Unable to create a new remote session. Desired capabilities = %s", desired));
+        }
+        LOG.info(format("Detected dialect: %s", result.getDialect()));
+        return result;
+    }
+
+    private static PayloadBuffer serialize(Capabilities desired) throws IOException {
+        PayloadBuffer buffer = new PayloadBuffer();
+        try (NewAppiumSessionPayload payload = NewAppiumSessionPayload.create(desired);
+             Writer writer = new OutputStreamWriter(buffer, UTF_8)) {
+            payload.writeTo(writer);
+        }
+        return buffer;
+    }
+
+    /**
+     * The buffer which hands its data over without a copy, since the payload
+     * might contain the whole application encoded in Base64.
+     */
+    private static class PayloadBuffer extends ByteArrayOutputStream {
+        ByteArrayInputStream toInputStream() {
+            return new ByteArrayInputStream(buf, 0, count);
+        }
+    }
+
+    private static Result parseResponse(HttpResponse response, long duration) {
+        Map<?, ?> data;
+        try {
+            data = JSON.toType(response.getContentString(), Map.class);
+        } catch (JsonException e) {
+            throw new WebDriverException("Unable to parse remote response: " + response.getContentString(), e);
+        }
+        if (data == null) {
+            return null;
+        }
+
+        Object value = data.get("value");
+        Object status = data.get("status");
+        if (value instanceof Map && ((Map<?, ?>) value).get("error") instanceof String) {
+            throwIfFailed(Dialect.W3C, response, duration);
+        } else if (status instanceof Number && ((Number) status).intValue() != 0) {
+            throwIfFailed(Dialect.OSS, response, duration);
+        }
+
+        if (!data.containsKey("status") && value instanceof Map) {
+            Map<?, ?> valueMap = (Map<?, ?>) value;
+            Object sessionId = valueMap.get("sessionId");
+            Object capabilities = valueMap.get("capabilities");
+            if (sessionId instanceof String && capabilities instanceof Map) {
+                return new Result(Dialect.W3C, (String) sessionId, (Map<?, ?>) capabilities);
+            }
+        }
+
+        Object sessionId = data.get("sessionId");
+        if (status instanceof Number && sessionId instanceof String && value instanceof Map) {
+            return new Result(Dialect.OSS, (String) sessionId, (Map<?, ?>) value);
+        }
+        return null;
+    }
+
+    private static void throwIfFailed(Dialect dialect, HttpResponse httpResponse, long duration) {
+        try {
+            Response response = dialect.getResponseCodec().decode(httpResponse);
+            new ErrorHandler().throwIfResponseFailed(response, duration);
+        } catch (WebDriverException e) {
+            throw new SessionNotCreatedException(format("Unable to create a new remote session. "
+                    + "Please check the server log for more details. Original error: %s", e.getMessage()), e);
+        }
+    }
+
+    /**
+     * The result of a successful handshake.
+     */
+    static final class Result {
+        private final Dialect dialect;
+        private final SessionId sessionId;
+        private final Map<String, Object> capabilities = new HashMap<>();
+
+        private Result(Dialect dialect, String sessionId, Map<?, ?> capabilities) {
+            this.dialect = dialect;
+            this.sessionId = new SessionId(sessionId);
+            capabilities.forEach((key, value) -> this.capabilities.put(String.valueOf(key), value));
+            Object proxy = this.capabilities.get("proxy");
+            if (proxy instanceof Map) {
+                Map<String, Object> proxySettings = new HashMap<>();
+                ((Map<?, ?>) proxy).forEach((key, value) -> proxySettings.put(String.valueOf(key), value));
+                this.capabilities.put("proxy", new Proxy(proxySettings));
+            }
+        }
+
+        Dialect getDialect() {
+            return dialect;
+        }
+
+        Response createResponse() {
+            Response response = new Response(sessionId);
+            response.setValue(capabilities);
+            response.setStatus(0);
+            response.setState("success");
+            return response;
+        }
+
+        @Override
+        public String toString() {
+            return format("%s: %s", dialect, capabilities);
+        }
+    }
+}
@@ -20,10 +20,8 @@ package io.appium.java_client.remote;
 import static com.google.common.collect.ImmutableMap.of;
 import static com.google.common.collect.ImmutableMap.toImmutableMap;
 import static io.appium.java_client.remote.MobileCapabilityType.FORCE_MJSONWP;
-import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Optional.ofNullable;
 import static java.util.stream.Collectors.toList;
-import static org.openqa.seleniumone.json.Json.LIST_OF_MAPS_TYPE;
 import static org.openqa.seleniumone.json.Json.MAP_TYPE;
 import static org.openqa.seleniumone.remote.CapabilityType.PLATFORM;
 import static org.openqa.seleniumone.remote.CapabilityType.PLATFORM_NAME;
@@ -34,17 +32,12 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSortedSet;
 import com.google.common.collect.Ordering;
 import com.google.common.collect.Sets;
-import com.google.common.io.CharSource;
-import com.google.common.io.CharStreams;
-import com.google.common.io.FileBackedOutputStream;
 
 import org.openqa.seleniumone.Capabilities;
 import org.openqa.seleniumone.ImmutableCapabilities;
 import org.openqa.seleniumone.json.Json;
-import org.openqa.seleniumone.json.JsonInput;
 import org.openqa.seleniumone.json.JsonOutput;
 import org.openqa.seleniumone.remote.AcceptedW3CCapabilityKeys;
-import org.openqa.seleniumone.remote.Dialect;
 import org.openqa.seleniumone.remote.session.CapabilitiesFilter;
 import org.openqa.seleniumone.remote.session.CapabilityTransform;
 import org.openqa.seleniumone.remote.session.ChromeFilter;
@@ -59,12 +52,9 @@ import org.openqa.seleniumone.remote.session.W3CPlatformNameNormaliser;
 
 import java.io.Closeable;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
-import java.io.Reader;
-import java.io.StringReader;
-import java.io.Writer;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -81,9 +71,14 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
 
+/**
+ * The payload of the new session request. Capabilities are converted to their JSON
+ * representation and parsed only once into an immutable in-memory model, which is
+ * then used to produce both the legacy and the W3C capability sets.
+ */
 public class NewAppiumSessionPayload implements Closeable {
 
-    private static final List<String> APPIUM_CAPABILITIES = ImmutableList.<String>builder()
+    private static final Set<String> APPIUM_CAPABILITIES = ImmutableSet.<String>builder()
             .addAll(getAppiumCapabilities(MobileCapabilityType.class))
             .addAll(getAppiumCapabilities(AndroidMobileCapabilityType.class))
             .addAll(getAppiumCapabilities(IOSMobileCapabilityType.class))
@@ -97,12 +92,15 @@ public class NewAppiumSessionPayload implements Closeable {
 
     private static final Predicate<String> ACCEPTED_W3C_PATTERNS = new AcceptedW3CCapabilityKeys();
 
-    private final Set<CapabilitiesFilter> adapters;
-    private final Set<CapabilityTransform> transforms;
+    private static final Set<CapabilitiesFilter> ADAPTERS = loadAdapters();
+    private static final Set<CapabilityTransform> TRANSFORMS = loadTransforms();
+
     private final boolean forceMobileJSONWP;
 
-    private final Json json = new Json();
-    private final FileBackedOutputStream backingStore;
+    private final @Nullable Map<String, Object> oss;
+    private final @Nullable Map<String, Object> alwaysMatch;
+    private final @Nullable List<Map<String, Object>> firstMatch;
+    private final Map<String, Object> metadata;
 
     private static List<String> getAppiumCapabilities(Class<?> capabilityList) {
         return Arrays.stream(capabilityList.getDeclaredFields()).map(field -> {
@@ -115,6 +113,29 @@ public class NewAppiumSessionPayload implements Closeable {
         }).filter(s -> !FORCE_MJSONWP.equals(s)).collect(toList());
     }
 
+    private static Set<CapabilitiesFilter> loadAdapters() {
+        ImmutableSet.Builder<CapabilitiesFilter> adapters = ImmutableSet.builder();
+        ServiceLoader.load(CapabilitiesFilter.class).forEach(adapters::add);
+        adapters
+                .add(new ChromeFilter())
+                .add(new EdgeFilter())
+                .add(new FirefoxFilter())
+                .add(new InternetExplorerFilter())
+                .add(new OperaFilter())
+                .add(new SafariFilter());
+        return adapters.build();
+    }
+
+    private static Set<CapabilityTransform> loadTransforms() {
+        ImmutableSet.Builder<CapabilityTransform> transforms = ImmutableSet.builder();
+        ServiceLoader.load(CapabilityTransform.class).forEach(transforms::add);
+        transforms
+                .add(new ProxyTransform())
+                .add(new StripAnyPlatform())
+                .add(new W3CPlatformNameNormaliser());
+        return transforms.build();
+    }
+
     /**
      * Creates instance of {@link NewAppiumSessionPayload}.
      *
@@ -130,105 +151,83 @@ public class NewAppiumSessionPayload implements Closeable {
         HashMap<String, ?> capabilityMap = new HashMap<>(caps.asMap());
         capabilityMap.remove(FORCE_MJSONWP);
         Map<String, ?> source = of(DESIRED_CAPABILITIES, capabilityMap);
-        String json = new Json().toJson(source);
-        return new NewAppiumSessionPayload(new StringReader(json), forceMobileJSONWP);
+        // The round trip converts all the capability values to their plain JSON representation
+        Json json = new Json();
+        Map<String, Object> parsed = json.toType(json.toJson(source), MAP_TYPE);
+        return new NewAppiumSessionPayload(parsed, forceMobileJSONWP);
     }
 
-    private NewAppiumSessionPayload(Reader source, boolean forceMobileJSONWP) throws IOException {
+    @SuppressWarnings("unchecked")
+    private NewAppiumSessionPayload(Map<String, Object> source, boolean forceMobileJSONWP) {
         this.forceMobileJSONWP = forceMobileJSONWP;
-        // Dedicate up to 10% of all RAM or 20% of available RAM (whichever is smaller) to storing this
-        // payload.
-        int threshold = (int) Math.min(
-                Integer.MAX_VALUE,
-                Math.min(
-                        Runtime.getRuntime().freeMemory() / 5,
-                        Runtime.getRuntime().maxMemory() / 10));
-
-        backingStore = new FileBackedOutputStream(threshold);
-        try (Writer writer = new OutputStreamWriter(backingStore, UTF_8)) {
-            CharStreams.copy(source, writer);
-        }
-
-        ImmutableSet.Builder<CapabilitiesFilter> adapters = ImmutableSet.builder();
-        ServiceLoader.load(CapabilitiesFilter.class).forEach(adapters::add);
-        adapters
-                .add(new ChromeFilter())
-                .add(new EdgeFilter())
-                .add(new FirefoxFilter())
-                .add(new InternetExplorerFilter())
-                .add(new OperaFilter())
-                .add(new SafariFilter());
-        this.adapters = adapters.build();
-
-        ImmutableSet.Builder<CapabilityTransform> transforms = ImmutableSet.builder();
-        ServiceLoader.load(CapabilityTransform.class).forEach(transforms::add);
-        transforms
-                .add(new ProxyTransform())
-                .add(new StripAnyPlatform())
-                .add(new W3CPlatformNameNormaliser());
-        this.transforms = transforms.build();
 
-        ImmutableSet.Builder<Dialect> dialects = ImmutableSet.builder();
-        if (getOss() != null) {
-            dialects.add(Dialect.OSS);
-        }
-        if (getAlwaysMatch() != null || getFirstMatch() != null) {
-            dialects.add(Dialect.W3C);
+        Map<String, Object> oss = null;
+        Map<String, Object> alwaysMatch = null;
+        List<Map<String, Object>> firstMatch = null;
+        Map<String, Object> metadata = new TreeMap<>();
+        for (Map.Entry<String, Object> entry : source.entrySet()) {
+            switch (entry.getKey()) {
+                case DESIRED_CAPABILITIES:
+                    oss = (Map<String, Object>) entry.getValue();
+                    break;
+                case CAPABILITIES:
+                    Map<String, Object> w3c = ofNullable((Map<String, Object>) entry.getValue()).orElse(of());
+                    alwaysMatch = (Map<String, Object>) w3c.get(ALWAYS_MATCH);
+                    firstMatch = (List<Map<String, Object>>) w3c.get(FIRST_MATCH);
+                    break;
+                case REQUIRED_CAPABILITIES:
+                    break;
+                default:
+                    metadata.put(entry.getKey(), entry.getValue());
+                    break;
+            }
         }
+        this.oss = oss == null ? null : Collections.unmodifiableMap(oss);
+        this.alwaysMatch = alwaysMatch == null ? null : Collections.unmodifiableMap(alwaysMatch);
+        this.firstMatch = firstMatch == null ? null : firstMatch.stream()
+                .map(Collections::unmodifiableMap)
+                .collect(ImmutableList.toImmutableList());
+        this.metadata = Collections.unmodifiableMap(metadata);
 
         validate();
     }
 
-    private void validate() throws IOException {
-        Map<String, Object> alwaysMatch = getAlwaysMatch();
-        if (alwaysMatch == null) {
-            alwaysMatch = of();
-        }
-        Map<String, Object> always = alwaysMatch;
-        Collection<Map<String, Object>> firsts = getFirstMatch();
-        if (firsts == null) {
-            firsts = ImmutableList.of(of());
-        }
+    private void validate() {
+        Map<String, Object> always = ofNullable(getAlwaysMatch()).orElse(of());
+        Collection<Map<String, Object>> firsts = ofNullable(getFirstMatch())
+                .orElse(ImmutableList.of(of()));
 
         if (firsts.isEmpty()) {
             throw new IllegalArgumentException("First match w3c capabilities is zero length");
         }
 
-        //noinspection ResultOfMethodCallIgnored
-        firsts.stream()
-                .peek(map -> {
-                    Set<String> overlap = Sets.intersection(always.keySet(), map.keySet());
-                    if (!overlap.isEmpty()) {
-                        throw new IllegalArgumentException(
-                                "Overlapping keys between w3c always and first match capabilities: " + overlap);
-                    }
-                })
-                .map(first -> {
-                    Map<String, Object> toReturn = new HashMap<>();
-                    toReturn.putAll(always);
-                    toReturn.putAll(first);
-                    return toReturn;
-                })
-                .peek(map -> {
-                    ImmutableSortedSet<String> nullKeys = map.entrySet().stream()
-                            .filter(entry -> entry.getValue() == null)
-                            .map(Map.Entry::getKey)
-                            .collect(ImmutableSortedSet.toImmutableSortedSet(Ordering.natural()));
-                    if (!nullKeys.isEmpty()) {
-                        throw new IllegalArgumentException(
-                                "Null values found in w3c capabilities. Keys are: " + nullKeys);
-                    }
-                })
-                .peek(map -> {
-                    ImmutableSortedSet<String> illegalKeys = map.entrySet().stream()
-                            .filter(entry -> !ACCEPTED_W3C_PATTERNS.test(entry.getKey()))
-                            .map(Map.Entry::getKey)
-                            .collect(ImmutableSortedSet.toImmutableSortedSet(Ordering.natural()));
-                    if (!illegalKeys.isEmpty()) {
-                        throw new IllegalArgumentException(
-                                "Illegal key values seen in w3c capabilities: " + illegalKeys);
-                    }
-                });
+        for (Map<String, Object> first : firsts) {
+            Set<String> overlap = Sets.intersection(always.keySet(), first.keySet());
+            if (!overlap.isEmpty()) {
+                throw new IllegalArgumentException(
+                        "Overlapping keys between w3c always and first match capabilities: " + overlap);
+            }
+
+            Map<String, Object> map = new HashMap<>(always);
+            map.putAll(first);
+
+            ImmutableSortedSet<String> nullKeys = map.entrySet().stream()
+                    .filter(entry -> entry.getValue() == null)
+                    .map(Map.Entry::getKey)
+                    .collect(ImmutableSortedSet.toImmutableSortedSet(Ordering.natural()));
+            if (!nullKeys.isEmpty()) {
+                throw new IllegalArgumentException(
+                        "Null values found in w3c capabilities. Keys are: " + nullKeys);
+            }
+
+            ImmutableSortedSet<String> illegalKeys = map.keySet().stream()
+                    .filter(key -> !ACCEPTED_W3C_PATTERNS.test(key))
+                    .collect(ImmutableSortedSet.toImmutableSortedSet(Ordering.natural()));
+            if (!illegalKeys.isEmpty()) {
+                throw new IllegalArgumentException(
+                        "Illegal key values seen in w3c capabilities: " + illegalKeys);
+            }
+        }
     }
 
     /**
@@ -274,27 +273,11 @@ public class NewAppiumSessionPayload implements Closeable {
         }
     }
 
-    private void writeMetaData(JsonOutput out) throws IOException {
-        CharSource charSource = backingStore.asByteSource().asCharSource(UTF_8);
-        try (Reader reader = charSource.openBufferedStream();
-             JsonInput input = json.newInput(reader)) {
-            input.beginObject();
-            while (input.hasNext()) {
-                String name = input.nextName();
-                switch (name) {
-                    case CAPABILITIES:
-                    case DESIRED_CAPABILITIES:
-                    case REQUIRED_CAPABILITIES:
-                        input.skipValue();
-                        break;
-
-                    default:
-                        out.name(name);
-                        out.write(input.read(Object.class));
-                        break;
-                }
-            }
-        }
+    private void writeMetaData(JsonOutput out) {
+        metadata.forEach((name, value) -> {
+            out.name(name);
+            out.write(value);
+        });
     }
 
     /**
@@ -321,27 +304,15 @@ public class NewAppiumSessionPayload implements Closeable {
     }
 
     @Override
-    public void close() throws IOException {
-        backingStore.reset();
+    public void close() {
+        // nothing to release since the payload is kept in memory
     }
 
-    private @Nullable Map<String, Object> getOss() throws IOException {
-        CharSource charSource = backingStore.asByteSource().asCharSource(UTF_8);
-        try (Reader reader = charSource.openBufferedStream();
-             JsonInput input = json.newInput(reader)) {
-            input.beginObject();
-            while (input.hasNext()) {
-                String name = input.nextName();
-                if (DESIRED_CAPABILITIES.equals(name)) {
-                    return input.read(MAP_TYPE);
-                }
-                input.skipValue();
-            }
-        }
-        return null;
+    private @Nullable Map<String, Object> getOss() {
+        return oss;
     }
 
-    private Stream<Map<String, Object>> getW3C() throws IOException {
+    private Stream<Map<String, Object>> getW3C() {
         // If there's an OSS value, generate a stream of capabilities from that using the transforms,
         // then add magic to generate each of the w3c capabilities. For the sake of simplicity, we're
         // going to make the (probably wrong) assumption we can hold all of the firstMatch values and
@@ -353,7 +324,7 @@ public class NewAppiumSessionPayload implements Closeable {
             Set<String> usedKeys = new HashSet<>();
 
             // Are there any values we care want to pull out into a mapping of their own?
-            List<Map<String, Object>> firsts = adapters.stream()
+            List<Map<String, Object>> firsts = ADAPTERS.stream()
                     .map(adapter -> adapter.apply(oss))
                     .filter(Objects::nonNull)
                     .filter(map -> !map.isEmpty())
@@ -446,54 +417,12 @@ public class NewAppiumSessionPayload implements Closeable {
         return toReturn;
     }
 
-    private @Nullable Map<String, Object> getAlwaysMatch() throws IOException {
-        CharSource charSource = backingStore.asByteSource().asCharSource(UTF_8);
-        try (Reader reader = charSource.openBufferedStream();
-             JsonInput input = json.newInput(reader)) {
-            input.beginObject();
-            while (input.hasNext()) {
-                String name = input.nextName();
-                if (CAPABILITIES.equals(name)) {
-                    input.beginObject();
-                    while (input.hasNext()) {
-                        name = input.nextName();
-                        if (ALWAYS_MATCH.equals(name)) {
-                            return input.read(MAP_TYPE);
-                        }
-                        input.skipValue();
-                    }
-                    input.endObject();
-                } else {
-                    input.skipValue();
-                }
-            }
-        }
-        return null;
+    private @Nullable Map<String, Object> getAlwaysMatch() {
+        return alwaysMatch;
     }
 
-    private @Nullable Collection<Map<String, Object>> getFirstMatch() throws IOException {
-        CharSource charSource = backingStore.asByteSource().asCharSource(UTF_8);
-        try (Reader reader = charSource.openBufferedStream();
-             JsonInput input = json.newInput(reader)) {
-            input.beginObject();
-            while (input.hasNext()) {
-                String name = input.nextName();
-                if (CAPABILITIES.equals(name)) {
-                    input.beginObject();
-                    while (input.hasNext()) {
-                        name = input.nextName();
-                        if (FIRST_MATCH.equals(name)) {
-                            return input.read(LIST_OF_MAPS_TYPE);
-                        }
-                        input.skipValue();
-                    }
-                    input.endObject();
-                } else {
-                    input.skipValue();
-                }
-            }
-        }
-        return null;
+    private @Nullable Collection<Map<String, Object>> getFirstMatch() {
+        return firstMatch;
     }
 
     private Map<String, Object> applyTransforms(Map<String, Object> caps) {
@@ -510,7 +439,7 @@ public class NewAppiumSessionPayload implements Closeable {
                 continue;
             }
 
-            for (CapabilityTransform transform : transforms) {
+            for (CapabilityTransform transform : TRANSFORMS) {
                 Collection<Map.Entry<String, Object>> result = transform.apply(entry);
                 if (result == null) {
                     toReturn.remove(entry.getKey());
@@ -0,0 +1,53 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.java_client.remote.metrics;
+
+import java.util.Map;
+
+/**
+ * The JMX view of {@link InMemoryCommandMetrics}. Maps are keyed by command names.
+ */
+public interface CommandMetricsMXBean {
+
+    Map<String, Long> getCommandCounts();
+
+    Map<String, Long> getInFlightCommands();
+
+    Map<String, Double> getMeanLatencyMillis();
+
+    Map<String, Double> getMedianLatencyMillis();
+
+    Map<String, Double> getP99LatencyMillis();
+
+    Map<String, Double> getMaxLatencyMillis();
+
+    Map<String, Long> getRequestBytes();
+
+    Map<String, Long> getResponseBytes();
+
+    /**
+     * Gets counts of failed commands.
+     *
+     * @return the map, which is keyed by strings in form of {@code <command name>:<status code>}
+     */
+    Map<String, Long> getErrorCounts();
+
+    /**
+     * Forgets all the recorded metrics.
+     */
+    void reset();
+}
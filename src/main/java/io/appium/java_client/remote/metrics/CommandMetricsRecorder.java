@@ -0,0 +1,46 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.java_client.remote.metrics;
+
+/**
+ * The instrumentation interface of {@link io.appium.java_client.remote.AppiumCommandExecutor}.
+ * Methods are called on the thread which executes the command, so implementations
+ * are expected to be thread-safe and fast.
+ */
+public interface CommandMetricsRecorder {
+
+    /**
+     * Is called before the command is sent to the server.
+     *
+     * @param commandName the name of the command
+     */
+    void onCommandStarted(String commandName);
+
+    /**
+     * Is called after the command has been executed or has failed.
+     *
+     * @param commandName the name of the command
+     * @param durationNanos the time spent on the command execution in nanoseconds
+     * @param requestSize the size of the request payload in bytes or -1 if it is unknown
+     * @param responseSize the size of the response payload in bytes or -1 if it is unknown
+     * @param status the status of the response. It is equal to
+     *               {@link io.appium.java_client.ErrorCodesMobile#SUCCESS} if the command
+     *               has been executed successfully
+     */
+    void onCommandFinished(String commandName, long durationNanos, long requestSize, long responseSize,
+                           int status);
+}
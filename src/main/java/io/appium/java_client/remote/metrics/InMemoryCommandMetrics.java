@@ -0,0 +1,242 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.java_client.remote.metrics;
+
+import io.appium.java_client.ErrorCodesMobile;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Keeps command metrics in memory. The instance might be shared by several command executors.
+ * Metrics can be read directly with {@link #getStats(String)} or via JMX
+ * after {@link #registerMBean(String)} has been called.
+ */
+public class InMemoryCommandMetrics implements CommandMetricsRecorder, CommandMetricsMXBean {
+    public static final String DEFAULT_OBJECT_NAME = "io.appium.java_client:type=CommandMetrics";
+    private static final double NANOS_IN_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final ConcurrentMap<String, CommandStats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * Metrics of a single command.
+     */
+    public static class CommandStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final AtomicLong inFlight = new AtomicLong();
+        private final LongAdder requestBytes = new LongAdder();
+        private final LongAdder responseBytes = new LongAdder();
+        private final ConcurrentMap<Integer, LongAdder> errors = new ConcurrentHashMap<>();
+
+        /**
+         * Gets the histogram of command durations in nanoseconds.
+         *
+         * @return the latency histogram
+         */
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        /**
+         * Gets the count of commands which are being executed.
+         *
+         * @return the count of commands in flight
+         */
+        public long getInFlight() {
+            return inFlight.get();
+        }
+
+        /**
+         * Gets the total size of request payloads.
+         *
+         * @return the size in bytes
+         */
+        public long getRequestBytes() {
+            return requestBytes.sum();
+        }
+
+        /**
+         * Gets the total size of response payloads.
+         *
+         * @return the size in bytes
+         */
+        public long getResponseBytes() {
+            return responseBytes.sum();
+        }
+
+        /**
+         * Gets counts of errors by their status codes.
+         * See {@link ErrorCodesMobile} for more details about status codes.
+         *
+         * @return the map of status codes to counts of errors
+         */
+        public Map<Integer, Long> getErrorCounts() {
+            Map<Integer, Long> result = new TreeMap<>();
+            errors.forEach((status, counter) -> result.put(status, counter.sum()));
+            return result;
+        }
+
+        private void reset() {
+            latency.reset();
+            requestBytes.reset();
+            responseBytes.reset();
+            errors.clear();
+        }
+    }
+
+    private CommandStats getOrCreateStats(String commandName) {
+        CommandStats commandStats = stats.get(commandName);
+        return commandStats == null
+                ? stats.computeIfAbsent(commandName, name -> new CommandStats())
+                : commandStats;
+    }
+
+    @Override
+    public void onCommandStarted(String commandName) {
+        getOrCreateStats(commandName).inFlight.incrementAndGet();
+    }
+
+    @Override
+    public void onCommandFinished(String commandName, long durationNanos, long requestSize, long responseSize,
+                                  int status) {
+        CommandStats commandStats = getOrCreateStats(commandName);
+        commandStats.inFlight.decrementAndGet();
+        commandStats.latency.record(durationNanos);
+        if (requestSize > 0) {
+            commandStats.requestBytes.add(requestSize);
+        }
+        if (responseSize > 0) {
+            commandStats.responseBytes.add(responseSize);
+        }
+        if (status != ErrorCodesMobile.SUCCESS) {
+            commandStats.errors.computeIfAbsent(status, code -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Gets metrics of the given command.
+     *
+     * @param commandName the name of the command
+     * @return command metrics or null if the command has not been executed yet
+     */
+    public CommandStats getStats(String commandName) {
+        return stats.get(commandName);
+    }
+
+    /**
+     * Gets metrics of all the executed commands.
+     *
+     * @return the unmodifiable map of command names to their metrics
+     */
+    public Map<String, CommandStats> getAllStats() {
+        return Collections.unmodifiableMap(stats);
+    }
+
+    /**
+     * Registers this instance in the platform MBean server.
+     *
+     * @param objectName the name of the MBean,
+     *                   for example {@value #DEFAULT_OBJECT_NAME}
+     * @return self instance for chaining
+     */
+    public InMemoryCommandMetrics registerMBean(String objectName) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(objectName));
+        } catch (JMException e) {
+            throw new IllegalStateException(String.format("Cannot register the MBean '%s'", objectName), e);
+        }
+        return this;
+    }
+
+    private <T> Map<String, T> collect(Function<CommandStats, T> getter) {
+        Map<String, T> result = new TreeMap<>();
+        stats.forEach((name, commandStats) -> result.put(name, getter.apply(commandStats)));
+        return result;
+    }
+
+    private Map<String, Double> collectMillis(ToDoubleFunction<LatencyHistogram> getter) {
+        return collect(commandStats -> getter.applyAsDouble(commandStats.latency) / NANOS_IN_MILLI);
+    }
+
+    @Override
+    public Map<String, Long> getCommandCounts() {
+        return collect(commandStats -> commandStats.latency.getCount());
+    }
+
+    @Override
+    public Map<String, Long> getInFlightCommands() {
+        return collect(CommandStats::getInFlight);
+    }
+
+    @Override
+    public Map<String, Double> getMeanLatencyMillis() {
+        return collectMillis(LatencyHistogram::getMean);
+    }
+
+    @Override
+    public Map<String, Double> getMedianLatencyMillis() {
+        return collectMillis(histogram -> histogram.getValueAtPercentile(50));
+    }
+
+    @Override
+    public Map<String, Double> getP99LatencyMillis() {
+        return collectMillis(histogram -> histogram.getValueAtPercentile(99));
+    }
+
+    @Override
+    public Map<String, Double> getMaxLatencyMillis() {
+        return collectMillis(LatencyHistogram::getMax);
+    }
+
+    @Override
+    public Map<String, Long> getRequestBytes() {
+        return collect(CommandStats::getRequestBytes);
+    }
+
+    @Override
+    public Map<String, Long> getResponseBytes() {
+        return collect(CommandStats::getResponseBytes);
+    }
+
+    @Override
+    public Map<String, Long> getErrorCounts() {
+        Map<String, Long> result = new TreeMap<>();
+        stats.forEach((name, commandStats) -> commandStats.getErrorCounts()
+                .forEach((status, count) -> result.put(name + ":" + status, count)));
+        return result;
+    }
+
+    /**
+     * Forgets all the recorded metrics. Commands which are still in flight
+     * are not forgotten, so they are counted correctly when they finish.
+     */
+    @Override
+    public void reset() {
+        stats.values().forEach(CommandStats::reset);
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.java_client.remote.metrics;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The lock-free histogram of non-negative values (for example, durations in nanoseconds).
+ * Like HDR histograms it uses log-linear buckets: each power of two range is divided into
+ * {@value #SUB_BUCKETS} equal buckets, so the relative error of recorded values does not exceed 3.2%.
+ * Values greater than 2^{@value #MAX_EXPONENT} are recorded as that maximum value.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40;
+    private static final long MAX_VALUE = (1L << MAX_EXPONENT) - 1;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(
+            bucketIndex(MAX_VALUE) + 1);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    static long bucketLowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        return (long) (index - shift * SUB_BUCKETS) << shift;
+    }
+
+    /**
+     * Records the value.
+     *
+     * @param value the value to record. Negative values are recorded as zero
+     */
+    public void record(long value) {
+        long normalized = Math.min(Math.max(value, 0), MAX_VALUE);
+        buckets.incrementAndGet(bucketIndex(normalized));
+        count.incrementAndGet();
+        sum.addAndGet(normalized);
+        long currentMax = max.get();
+        while (normalized > currentMax && !max.compareAndSet(currentMax, normalized)) {
+            currentMax = max.get();
+        }
+    }
+
+    /**
+     * Forgets all the recorded values. Values which are recorded concurrently with
+     * this call might be partially kept.
+     */
+    void reset() {
+        for (int i = 0; i < buckets.length(); i++) {
+            buckets.set(i, 0);
+        }
+        count.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+
+    /**
+     * Gets the count of recorded values.
+     *
+     * @return the count of recorded values
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Gets the maximum recorded value.
+     *
+     * @return the maximum value or zero if nothing has been recorded
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Gets the mean of recorded values.
+     *
+     * @return the mean value or zero if nothing has been recorded
+     */
+    public double getMean() {
+        long currentCount = count.get();
+        return currentCount == 0 ? 0 : (double) sum.get() / currentCount;
+    }
+
+    /**
+     * Gets the value at the given percentile. Values which are recorded concurrently with
+     * this call might be ignored.
+     *
+     * @param percentile the percentile in range [0.0, 100.0]
+     * @return the highest value which is equivalent to the value at the given percentile
+     *         (limited by the maximum recorded value) or zero if nothing has been recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        checkArgument(percentile >= 0 && percentile <= 100, "percentile must be in range [0, 100]");
+        long[] snapshot = new long[buckets.length()];
+        long total = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(bucketLowerBound(i + 1) - 1, getMax());
+            }
+        }
+        return getMax();
+    }
+}
@@ -16,13 +16,23 @@
 
 package io.appium.java_client.screenrecording;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
 import static io.appium.java_client.MobileCommand.START_RECORDING_SCREEN;
 import static io.appium.java_client.MobileCommand.STOP_RECORDING_SCREEN;
 import static io.appium.java_client.MobileCommand.startRecordingScreenCommand;
 import static io.appium.java_client.MobileCommand.stopRecordingScreenCommand;
 
+import com.google.common.collect.ImmutableMap;
+
 import io.appium.java_client.CommandExecutionHelper;
 import io.appium.java_client.ExecutesMethod;
+import io.appium.java_client.filetransfer.RemoteFileTransfer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.Map;
 
 public interface CanRecordScreen extends ExecutesMethod {
 
@@ -68,4 +78,59 @@ public interface CanRecordScreen extends ExecutesMethod {
     default String stopRecordingScreen() {
         return this.execute(STOP_RECORDING_SCREEN).getValue().toString();
     }
+
+    /**
+     * Gather the output from the previously started screen recording with default options
+     * and save it to the given file. The Base-64 encoded content is decoded while it is
+     * being received, so the recorded media is never loaded into memory as a whole.
+     *
+     * @param destination the path to the local media file. An existing file is overwritten.
+     * @throws IOException when there are problems with the local file system or the connection
+     */
+    default void stopRecordingScreen(Path destination) throws IOException {
+        RemoteFileTransfer.saveBase64Value(this, STOP_RECORDING_SCREEN, ImmutableMap.of(), destination,
+                this::stopRecordingScreen);
+    }
+
+    /**
+     * Gather the output from the previously started screen recording and save it to the given file.
+     * The Base-64 encoded content is decoded while it is being received, so the recorded media
+     * is never loaded into memory as a whole.
+     *
+     * @param options see the documentation on the {@link BaseStopScreenRecordingOptions}
+     *                descendant for the particular platform. Upload options must not be set.
+     * @param destination the path to the local media file. An existing file is overwritten.
+     * @throws IOException when there are problems with the local file system or the connection
+     */
+    default <T extends BaseStopScreenRecordingOptions<T>> void stopRecordingScreen(
+            T options, Path destination) throws IOException {
+        checkArgument(!checkNotNull(options).build().containsKey("remotePath"),
+                "Upload options cannot be used if the recording is saved to a local file");
+        RemoteFileTransfer.saveBase64Value(this, STOP_RECORDING_SCREEN,
+                ImmutableMap.of("options", options.build()), destination, () -> stopRecordingScreen(options));
+    }
+
+    /**
+     * Gather the output from the previously started screen recording and make the server upload it
+     * to the given receiver, which saves the recording to the given file. The server sends the file
+     * in chunks, so this is the most memory-efficient way to retrieve long recordings.
+     *
+     * @param options see the documentation on the {@link BaseStopScreenRecordingOptions}
+     *                descendant for the particular platform. Upload options of these options
+     *                are replaced with the ones pointing to the receiver in the sent command,
+     *                the given instance is not changed.
+     * @param receiver the running receiver, which must be reachable from the server
+     * @param destination the path to the local media file. An existing file is overwritten.
+     * @throws IOException if the recording has not been received
+     */
+    default <T extends BaseStopScreenRecordingOptions<T>> void stopRecordingScreen(
+            T options, ScreenRecordingReceiver receiver, Path destination) throws IOException {
+        checkNotNull(options);
+        try (ScreenRecordingReceiver.Upload upload = checkNotNull(receiver).expectUpload(destination)) {
+            Map<String, Object> uploadingOptions = upload.getUploadOptions().replaceIn(options.build());
+            CommandExecutionHelper.execute(this, new AbstractMap.SimpleEntry<>(STOP_RECORDING_SCREEN,
+                    ImmutableMap.of("options", uploadingOptions)));
+            upload.awaitCompletion();
+        }
+    }
 }
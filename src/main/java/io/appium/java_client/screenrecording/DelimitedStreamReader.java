@@ -0,0 +1,130 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.java_client.screenrecording;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Splits the given input stream into sections, which end with the given delimiters.
+ * Only a single buffer of the fixed size is used for any length of sections.
+ */
+class DelimitedStreamReader {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int start = 0;
+    private int end = 0;
+    private boolean endOfInput = false;
+
+    DelimitedStreamReader(InputStream in) {
+        this.in = checkNotNull(in);
+    }
+
+    /**
+     * Gets the stream of bytes preceding the next occurrence of the given delimiter.
+     * The delimiter itself is skipped once the returned stream has been read to its end.
+     * The previously returned stream must be read to its end before this method is called again.
+     *
+     * @param delimiter the delimiter of the section
+     * @return the stream of section bytes
+     */
+    InputStream nextSection(byte[] delimiter) {
+        checkArgument(delimiter.length > 0 && delimiter.length < BUFFER_SIZE / 2,
+                "The delimiter length is out of range");
+        return new InputStream() {
+            private boolean finished = false;
+
+            @Override
+            public int read() throws IOException {
+                byte[] single = new byte[1];
+                return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+            }
+
+            @Override
+            public int read(byte[] bytes, int offset, int length) throws IOException {
+                checkPositionIndexes(offset, offset + length, bytes.length);
+                if (finished) {
+                    return -1;
+                }
+                if (length == 0) {
+                    return 0;
+                }
+                fill(delimiter.length);
+                int delimiterIndex = indexOf(delimiter, start + length);
+                if (delimiterIndex == start) {
+                    start += delimiter.length;
+                    finished = true;
+                    return -1;
+                }
+                // the end of the buffer might contain the beginning of the delimiter
+                int available = delimiterIndex < 0 ? end - start - delimiter.length + 1 : delimiterIndex - start;
+                if (available <= 0) {
+                    throw new EOFException("The stream has ended before the section delimiter");
+                }
+                int count = Math.min(length, available);
+                System.arraycopy(buffer, start, bytes, offset, count);
+                start += count;
+                return count;
+            }
+        };
+    }
+
+    /**
+     * Reads the input until the buffer contains at least the given count of bytes
+     * or the input has ended.
+     */
+    private void fill(int minLength) throws IOException {
+        if (end - start >= minLength || endOfInput) {
+            return;
+        }
+        System.arraycopy(buffer, start, buffer, 0, end - start);
+        end -= start;
+        start = 0;
+        while (end < minLength) {
+            int count = in.read(buffer, end, buffer.length - end);
+            if (count < 0) {
+                endOfInput = true;
+                return;
+            }
+            end += count;
+        }
+    }
+
+    /**
+     * Searches for the delimiter, which starts before the given position.
+     */
+    private int indexOf(byte[] delimiter, int limit) {
+        int last = Math.min(end - delimiter.length, limit - 1);
+        outer:
+        for (int i = start; i <= last; i++) {
+            for (int j = 0; j < delimiter.length; j++) {
+                if (buffer[i + j] != delimiter[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.java_client.screenrecording;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nullable;
+
+/**
+ * The embedded HTTP server, which receives screen recordings uploaded by the Appium server
+ * and writes them directly to local files. The server uploads the recorded file in chunks,
+ * so neither side has to keep the whole video in memory.
+ * The Appium server must be able to reach the address of this receiver.
+ */
+public class ScreenRecordingReceiver implements Closeable {
+    public static final Duration DEFAULT_UPLOAD_TIMEOUT = Duration.ofMinutes(1);
+    private static final String CONTEXT_PATH = "/recordings/";
+    private static final Pattern BOUNDARY_PATTERN = Pattern.compile("boundary=(?:\"([^\"]+)\"|([^;\\s]+))");
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final String publicHost;
+    private final Map<String, Upload> uploads = new ConcurrentHashMap<>();
+    private volatile Duration uploadTimeout = DEFAULT_UPLOAD_TIMEOUT;
+
+    private ScreenRecordingReceiver(HttpServer server, ExecutorService executor, String publicHost) {
+        this.server = server;
+        this.executor = executor;
+        this.publicHost = publicHost;
+    }
+
+    /**
+     * Starts the receiver on the loopback interface.
+     * This is enough if the Appium server is running on the same machine.
+     *
+     * @return the started receiver
+     * @throws IOException if the receiver cannot be started
+     */
+    public static ScreenRecordingReceiver start() throws IOException {
+        return start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), null);
+    }
+
+    /**
+     * Starts the receiver on the given address.
+     *
+     * @param bindAddress the address to listen on. Zero port means any free port
+     * @param publicHost the host name or IP address the Appium server should upload files to
+     *                   or null to use the bind address
+     * @return the started receiver
+     * @throws IOException if the receiver cannot be started
+     */
+    public static ScreenRecordingReceiver start(InetSocketAddress bindAddress,
+                                                @Nullable String publicHost) throws IOException {
+        HttpServer server = HttpServer.create(checkNotNull(bindAddress), 0);
+        ExecutorService executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+                .setNameFormat("appium-screen-recording-receiver-%d")
+                .setDaemon(true)
+                .build());
+        InetAddress address = server.getAddress().getAddress();
+        if (publicHost == null) {
+            publicHost = address.isAnyLocalAddress()
+                    ? InetAddress.getLocalHost().getHostAddress()
+                    : address.getHostAddress();
+        }
+        ScreenRecordingReceiver receiver = new ScreenRecordingReceiver(server, executor, publicHost);
+        server.createContext(CONTEXT_PATH, receiver::handle);
+        server.setExecutor(executor);
+        server.start();
+        return receiver;
+    }
+
+    /**
+     * Sets how long to wait for the upload to be finished after the recording has been stopped.
+     *
+     * @param uploadTimeout the timeout value. {@link #DEFAULT_UPLOAD_TIMEOUT} by default
+     */
+    public void setUploadTimeout(Duration uploadTimeout) {
+        checkArgument(!checkNotNull(uploadTimeout).isNegative(), "uploadTimeout must not be negative");
+        this.uploadTimeout = uploadTimeout;
+    }
+
+    public Duration getUploadTimeout() {
+        return uploadTimeout;
+    }
+
+    /**
+     * Registers the new upload, which is going to be written to the given file.
+     *
+     * @param destination the path to the local file. An existing file is overwritten
+     * @return the upload, whose options should be passed to the Appium server
+     */
+    public Upload expectUpload(Path destination) {
+        String id = UUID.randomUUID().toString();
+        Upload upload = new Upload(id, checkNotNull(destination));
+        uploads.put(id, upload);
+        return upload;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        uploads.values().forEach(upload -> upload.result.cancel(false));
+        uploads.clear();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            Upload upload = uploads.get(path.substring(CONTEXT_PATH.length()));
+            String method = exchange.getRequestMethod();
+            if (upload == null || !("PUT".equals(method) || "POST".equals(method))) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            try (InputStream body = exchange.getRequestBody()) {
+                receive(body, exchange.getRequestHeaders().getFirst("Content-Type"), upload.destination);
+            } catch (IOException | RuntimeException e) {
+                upload.result.completeExceptionally(e);
+                exchange.sendResponseHeaders(500, -1);
+                return;
+            }
+            upload.result.complete(upload.destination);
+            exchange.sendResponseHeaders(200, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Writes the uploaded file. Multipart bodies are expected to contain the file in their first part.
+     */
+    private static void receive(InputStream body, @Nullable String contentType,
+                                Path destination) throws IOException {
+        InputStream content = body;
+        if (contentType != null && contentType.startsWith("multipart/")) {
+            Matcher matcher = BOUNDARY_PATTERN.matcher(contentType);
+            if (!matcher.find()) {
+                throw new IOException(String.format("No boundary in the content type '%s'", contentType));
+            }
+            String boundary = matcher.group(1) == null ? matcher.group(2) : matcher.group(1);
+            DelimitedStreamReader reader = new DelimitedStreamReader(body);
+            // preamble
+            ByteStreams.exhaust(reader.nextSection(("--" + boundary).getBytes(US_ASCII)));
+            // part headers
+            ByteStreams.exhaust(reader.nextSection("\r\n\r\n".getBytes(US_ASCII)));
+            content = reader.nextSection(("\r\n--" + boundary).getBytes(US_ASCII));
+        }
+        try {
+            Files.copy(content, destination, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(destination);
+            throw e;
+        }
+    }
+
+    /**
+     * The expected upload of a single screen recording.
+     */
+    public class Upload implements Closeable {
+        private final String id;
+        private final Path destination;
+        private final CompletableFuture<Path> result = new CompletableFuture<>();
+
+        private Upload(String id, Path destination) {
+            this.id = id;
+            this.destination = destination;
+        }
+
+        /**
+         * Gets the options, which make the Appium server upload the recording to this receiver.
+         *
+         * @return upload options of the screen recording
+         */
+        public ScreenRecordingUploadOptions getUploadOptions() {
+            return ScreenRecordingUploadOptions.uploadOptions()
+                    .withRemotePath(String.format("http://%s:%d%s%s", formatHost(publicHost),
+                            server.getAddress().getPort(), CONTEXT_PATH, id))
+                    .withHttpMethod(ScreenRecordingUploadOptions.RequestMethod.PUT);
+        }
+
+        /**
+         * Waits until the recording is written to the destination file.
+         *
+         * @return the path to the received file
+         * @throws IOException if the upload has failed or has not been finished in time
+         */
+        public Path awaitCompletion() throws IOException {
+            try {
+                return result.get(uploadTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            } catch (CancellationException e) {
+                throw new IOException("The receiver has been closed before the screen recording was received", e);
+            } catch (ExecutionException e) {
+                throw new IOException("Cannot receive the screen recording", e.getCause());
+            } catch (TimeoutException e) {
+                throw new IOException(String.format("The screen recording has not been received within %s ms",
+                        uploadTimeout.toMillis()), e);
+            }
+        }
+
+        /**
+         * Unregisters the upload, so further requests to its address are rejected.
+         */
+        @Override
+        public void close() {
+            uploads.remove(id);
+        }
+    }
+
+    private static String formatHost(String host) {
+        return host.contains(":") && !host.startsWith("[") ? "[" + host + "]" : host;
+    }
+}
@@ -21,6 +21,8 @@ import static java.util.Optional.ofNullable;
 
 import com.google.common.collect.ImmutableMap;
 
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class ScreenRecordingUploadOptions {
@@ -74,6 +76,19 @@ public class ScreenRecordingUploadOptions {
         return this;
     }
 
+    /**
+     * Replaces upload options in the given recording options with these ones.
+     *
+     * @param options the built options of a screen recording command
+     * @return the new options map
+     */
+    Map<String, Object> replaceIn(Map<String, Object> options) {
+        final Map<String, Object> result = new LinkedHashMap<>(options);
+        result.keySet().removeAll(Arrays.asList("remotePath", "user", "pass", "method"));
+        result.putAll(build());
+        return result;
+    }
+
     /**
      * Builds a map, which is ready to be passed to the subordinated
      * Appium API.
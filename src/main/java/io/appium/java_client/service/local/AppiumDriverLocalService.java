@@ -17,6 +17,7 @@
 package io.appium.java_client.service.local;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.slf4j.event.Level.DEBUG;
 import static org.slf4j.event.Level.INFO;
 
@@ -29,8 +30,6 @@ import org.apache.commons.lang3.StringUtils;
 import org.openqa.seleniumone.net.UrlChecker;
 import org.openqa.seleniumone.os.CommandLine;
 import org.openqa.seleniumone.remote.service.DriverService;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.slf4j.event.Level;
 
 import java.io.File;
@@ -51,9 +50,8 @@ import javax.annotation.Nullable;
 public final class AppiumDriverLocalService extends DriverService {
 
     private static final String URL_MASK = "http://%s:%d/wd/hub";
-    private static final Logger LOG = LoggerFactory.getLogger(AppiumDriverLocalService.class);
-    private static final Pattern LOG_MESSAGE_PATTERN = Pattern.compile("^(.*)\\R");
     private static final Pattern LOGGER_CONTEXT_PATTERN = Pattern.compile("^(\\[debug\\] )?\\[(.+?)\\]");
+    private static final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s+");
     private static final String APPIUM_SERVICE_SLF4J_LOGGER_PREFIX = "appium.service";
     private final File nodeJSExec;
     private final ImmutableList<String> nodeJSArgs;
@@ -320,7 +318,7 @@ public final class AppiumDriverLocalService extends DriverService {
         String loggerName = APPIUM_SERVICE_SLF4J_LOGGER_PREFIX;
         Level level = INFO;
         if (m.find()) {
-            loggerName += "." + m.group(2).toLowerCase().replaceAll("\\s+", "");
+            loggerName += "." + WHITESPACE_PATTERN.matcher(m.group(2).toLowerCase()).replaceAll("");
             if (m.group(1) != null) {
                 level = DEBUG;
             }
@@ -337,6 +335,9 @@ public final class AppiumDriverLocalService extends DriverService {
      * 
      * <p>If the Consumer fails and throws an exception the exception is logged (at
      * WARN level) and execution continues.
+     *
+     * <p>Server output is decoded as UTF-8. Log messages longer than
+     * 65536 characters are split and passed to the consumer in several chunks.
      * <br>
      * 
      * @param consumer
@@ -345,23 +346,7 @@ public final class AppiumDriverLocalService extends DriverService {
      */
     public void addLogMessageConsumer(Consumer<String> consumer) {
         checkNotNull(consumer, "consumer parameter is NULL!");
-        addOutPutStream(new OutputStream() {
-            StringBuilder lineBuilder = new StringBuilder();
-
-            @Override
-            public void write(int chr) {
-                try {
-                    lineBuilder.append((char) chr);
-                    Matcher matcher = LOG_MESSAGE_PATTERN.matcher(lineBuilder.toString());
-                    if (matcher.matches()) {
-                        consumer.accept(matcher.group(1));
-                        lineBuilder = new StringBuilder();
-                    }
-                } catch (Exception e) {
-                    // log error and continue
-                    LOG.warn("Log message consumer crashed!", e);
-                }
-            }
-        });
+        addOutPutStream(new LineSplittingOutputStream(consumer, UTF_8,
+            LineSplittingOutputStream.DEFAULT_MAX_LINE_LENGTH));
     }
 }
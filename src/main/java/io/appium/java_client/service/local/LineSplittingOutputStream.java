@@ -0,0 +1,182 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.java_client.service.local;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.function.Consumer;
+
+/**
+ * This output stream decodes the incoming server output data in blocks
+ * and passes each complete line (without its terminator) to the given consumer.
+ * Lines longer than the configured limit are split into several chunks.
+ */
+class LineSplittingOutputStream extends OutputStream {
+    private static final Logger LOG = LoggerFactory.getLogger(LineSplittingOutputStream.class);
+    static final int DEFAULT_MAX_LINE_LENGTH = 64 * 1024;
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Consumer<String> lineConsumer;
+    private final int maxLineLength;
+    private final CharsetDecoder decoder;
+    private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+    private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+    private final StringBuilder line = new StringBuilder();
+    private boolean skipLineFeed = false;
+    private boolean closed = false;
+
+    LineSplittingOutputStream(Consumer<String> lineConsumer, Charset charset, int maxLineLength) {
+        checkArgument(maxLineLength > 0, "maxLineLength must be a positive number");
+        this.lineConsumer = checkNotNull(lineConsumer);
+        this.maxLineLength = maxLineLength;
+        this.decoder = checkNotNull(charset).newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    @Override
+    public synchronized void write(int chr) {
+        if (closed) {
+            return;
+        }
+        bytes.put((byte) chr);
+        decode(false);
+    }
+
+    @Override
+    public synchronized void write(byte[] buffer, int offset, int length) {
+        checkPositionIndexes(offset, offset + length, buffer.length);
+        if (closed) {
+            return;
+        }
+        while (length > 0) {
+            int chunk = Math.min(length, bytes.remaining());
+            bytes.put(buffer, offset, chunk);
+            offset += chunk;
+            length -= chunk;
+            decode(false);
+        }
+    }
+
+    /**
+     * Decodes the rest of buffered bytes and passes the last incomplete line
+     * (if any) to the consumer. Further writes are ignored.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        decode(true);
+        while (decoder.flush(chars).isOverflow()) {
+            splitLines();
+        }
+        splitLines();
+        if (line.length() > 0) {
+            emitLine();
+        }
+        closed = true;
+    }
+
+    private void decode(boolean endOfInput) {
+        bytes.flip();
+        CoderResult result = CoderResult.OVERFLOW;
+        while (result.isOverflow()) {
+            result = decoder.decode(bytes, chars, endOfInput);
+            splitLines();
+        }
+        // incomplete multibyte sequences are kept until the next write
+        bytes.compact();
+    }
+
+    private void splitLines() {
+        chars.flip();
+        final char[] array = chars.array();
+        final int end = chars.limit();
+        int lineStart = chars.position();
+        for (int i = lineStart; i < end; i++) {
+            char chr = array[i];
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (chr == '\n') {
+                    lineStart = i + 1;
+                    continue;
+                }
+            }
+            if (isLineTerminator(chr)) {
+                appendToLine(array, lineStart, i);
+                emitLine();
+                skipLineFeed = chr == '\r';
+                lineStart = i + 1;
+            }
+        }
+        appendToLine(array, lineStart, end);
+        chars.clear();
+    }
+
+    private void appendToLine(char[] array, int from, int to) {
+        while (from < to) {
+            if (line.length() == maxLineLength) {
+                emitLine();
+            }
+            int chunk = Math.min(to - from, maxLineLength - line.length());
+            line.append(array, from, chunk);
+            from += chunk;
+        }
+    }
+
+    private void emitLine() {
+        String message = line.toString();
+        line.setLength(0);
+        try {
+            lineConsumer.accept(message);
+        } catch (Exception e) {
+            // log error and continue
+            LOG.warn("Log message consumer crashed!", e);
+        }
+    }
+
+    /**
+     * The same set of characters as matched by the {@code \R} regular expression.
+     */
+    private static boolean isLineTerminator(char chr) {
+        switch (chr) {
+            case '\n':
+            case '\u000B':
+            case '\f':
+            case '\r':
+            case '\u0085':
+            case '\u2028':
+            case '\u2029':
+                return true;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.java_client.ws;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * The message handler which does not block the web socket reader thread while
+ * messages are processed. Received messages are put into a bounded queue and passed
+ * to the batch consumer on a dedicated thread. A batch is delivered as soon as
+ * it has reached the maximum size or the maximum delay has expired since its first message.
+ *
+ * <p>The handler has to be closed when it is not needed anymore. This happens automatically
+ * if message handlers of {@link StringWebSocketClient} are removed.
+ *
+ * @param <T> the type of messages
+ */
+public class BatchingMessageHandler<T> implements Consumer<T>, AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(BatchingMessageHandler.class);
+    public static final int DEFAULT_CAPACITY = 10000;
+    public static final int DEFAULT_MAX_BATCH_SIZE = 500;
+    public static final Duration DEFAULT_MAX_DELAY = Duration.ofMillis(200);
+    private static final long POLL_INTERVAL_MS = 100;
+
+    /**
+     * Defines what happens to a message which is received while the queue is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * The web socket reader thread waits until there is free space in the queue.
+         */
+        BLOCK,
+        /**
+         * The received message is dropped.
+         */
+        DROP_NEWEST,
+        /**
+         * The oldest queued message is dropped to free space for the received one.
+         */
+        DROP_OLDEST
+    }
+
+    private final Consumer<List<T>> batchConsumer;
+    private final BlockingQueue<T> queue;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final AtomicLong receivedCount = new AtomicLong();
+    private final AtomicLong deliveredCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final Thread worker;
+    private volatile boolean closed = false;
+
+    /**
+     * Creates the handler with the default settings, which drops the oldest messages on overflow.
+     *
+     * @param batchConsumer the function which accepts batches of messages
+     */
+    public BatchingMessageHandler(Consumer<List<T>> batchConsumer) {
+        this(batchConsumer, DEFAULT_CAPACITY, DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_DELAY,
+                OverflowPolicy.DROP_OLDEST);
+    }
+
+    /**
+     * Creates the handler.
+     *
+     * @param batchConsumer the function which accepts batches of messages
+     * @param capacity the maximum count of queued messages
+     * @param maxBatchSize the maximum count of messages in a single batch
+     * @param maxDelay the maximum time to wait for more messages before an incomplete batch is delivered
+     * @param overflowPolicy what to do with a received message if the queue is full
+     */
+    public BatchingMessageHandler(Consumer<List<T>> batchConsumer, int capacity, int maxBatchSize,
+                                  Duration maxDelay, OverflowPolicy overflowPolicy) {
+        checkArgument(capacity > 0, "capacity must be a positive number");
+        checkArgument(maxBatchSize > 0, "maxBatchSize must be a positive number");
+        checkArgument(!checkNotNull(maxDelay).isNegative(), "maxDelay must not be negative");
+        this.batchConsumer = checkNotNull(batchConsumer);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.overflowPolicy = checkNotNull(overflowPolicy);
+        this.worker = new ThreadFactoryBuilder()
+                .setNameFormat("appium-messages-batch-%d")
+                .setDaemon(true)
+                .build()
+                .newThread(this::deliverBatches);
+        this.worker.start();
+    }
+
+    @Override
+    public void accept(T message) {
+        receivedCount.incrementAndGet();
+        if (closed) {
+            droppedCount.incrementAndGet();
+            return;
+        }
+        switch (overflowPolicy) {
+            case BLOCK:
+                try {
+                    while (!queue.offer(message, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+                        if (closed) {
+                            droppedCount.incrementAndGet();
+                            return;
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    droppedCount.incrementAndGet();
+                }
+                break;
+            case DROP_OLDEST:
+                while (!queue.offer(message)) {
+                    if (queue.poll() != null) {
+                        droppedCount.incrementAndGet();
+                    }
+                }
+                break;
+            default:
+                if (!queue.offer(message)) {
+                    droppedCount.incrementAndGet();
+                }
+                break;
+        }
+    }
+
+    private void deliverBatches() {
+        final List<T> batch = new ArrayList<>();
+        while (!closed || !queue.isEmpty()) {
+            try {
+                T first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                final long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0 || closed) {
+                        break;
+                    }
+                    T next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // the handler is being closed
+            }
+            if (!batch.isEmpty()) {
+                deliver(new ArrayList<>(batch));
+                batch.clear();
+            }
+        }
+    }
+
+    private void deliver(List<T> batch) {
+        try {
+            batchConsumer.accept(batch);
+        } catch (RuntimeException e) {
+            // log error and continue
+            LOG.warn("Batch consumer has failed to process messages", e);
+        } finally {
+            deliveredCount.addAndGet(batch.size());
+        }
+    }
+
+    /**
+     * Gets the count of received messages.
+     *
+     * @return the count of messages which have been passed to this handler
+     */
+    public long getReceivedCount() {
+        return receivedCount.get();
+    }
+
+    /**
+     * Gets the count of delivered messages.
+     *
+     * @return the count of messages which have been passed to the batch consumer
+     */
+    public long getDeliveredCount() {
+        return deliveredCount.get();
+    }
+
+    /**
+     * Gets the count of dropped messages.
+     *
+     * @return the count of messages which have been dropped because of the queue overflow
+     *         or because the handler was closed
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Gets the current queue depth.
+     *
+     * @return the count of messages which are waiting for the delivery
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Delivers all the queued messages and stops the consumer thread.
+     * Messages which are received after that are dropped.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.java_client.ws;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The message handler which stores received lines (for example, logcat or syslog messages)
+ * in a set of memory-mapped files of a fixed size, which are used as a ring buffer.
+ * As soon as all the files are full, the oldest one is overwritten, so the disk budget
+ * is equal to the segment size multiplied by the count of segments. Stored lines do not
+ * occupy the heap and might be extracted by the range of line numbers or by the time when
+ * they have been received:
+ * <code>
+ * RingFileMessageSink sink = new RingFileMessageSink(Paths.get("build", "logcat"));
+ * driver.addLogcatMessagesListener(sink);
+ * driver.startLogcatBroadcast();
+ * ...
+ * List&lt;String&gt; lines = sink.getLines(testStartedAt, Instant.now());
+ * </code>
+ * Line numbers start from zero and are counted since the sink has been created.
+ * Lines which do not fit into a single segment are truncated on a character boundary.
+ */
+public class RingFileMessageSink implements Consumer<String>, AutoCloseable {
+    public static final int DEFAULT_SEGMENT_SIZE = 8 * 1024 * 1024;
+    public static final int DEFAULT_SEGMENTS_COUNT = 8;
+    // the time when the line has been received and the length of the line
+    private static final int RECORD_HEADER_SIZE = Long.BYTES + Integer.BYTES;
+    private static final byte[] LINE_SEPARATOR = {'\n'};
+
+    private final Segment[] segments;
+    private final int maxLineLength;
+    private int currentSegment = 0;
+    private long nextLineNumber = 0;
+    private boolean closed = false;
+
+    /**
+     * Creates the sink with the default disk budget of 64 MB.
+     *
+     * @param directory the directory to store segment files. It is created if it does not exist.
+     *                  Existing segment files are overwritten
+     * @throws IOException if segment files cannot be created
+     */
+    public RingFileMessageSink(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE, DEFAULT_SEGMENTS_COUNT);
+    }
+
+    /**
+     * Creates the sink.
+     *
+     * @param directory the directory to store segment files. It is created if it does not exist.
+     *                  Existing segment files are overwritten
+     * @param segmentSize the size of a single segment file in bytes
+     * @param segmentsCount the count of segment files. At least two segments are required
+     * @throws IOException if segment files cannot be created
+     */
+    public RingFileMessageSink(Path directory, int segmentSize, int segmentsCount) throws IOException {
+        checkArgument(segmentSize > RECORD_HEADER_SIZE, "segmentSize must be greater than %s bytes",
+                RECORD_HEADER_SIZE);
+        checkArgument(segmentsCount > 1, "segmentsCount must be greater than one");
+        Files.createDirectories(checkNotNull(directory));
+        this.maxLineLength = segmentSize - RECORD_HEADER_SIZE;
+        this.segments = new Segment[segmentsCount];
+        try {
+            for (int i = 0; i < segmentsCount; i++) {
+                segments[i] = new Segment(directory.resolve(String.format("segment-%d.log", i)), segmentSize);
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Appends the line to the current segment.
+     * Lines are ignored after the sink has been closed.
+     *
+     * @param line the received line
+     */
+    @Override
+    public synchronized void accept(String line) {
+        if (closed) {
+            return;
+        }
+        byte[] bytes = line.getBytes(UTF_8);
+        int length = bytes.length;
+        if (length > maxLineLength) {
+            final ByteBuffer truncated = truncate(line);
+            bytes = truncated.array();
+            length = truncated.position();
+        }
+        Segment segment = segments[currentSegment];
+        if (segment.buffer.remaining() < RECORD_HEADER_SIZE + length) {
+            currentSegment = (currentSegment + 1) % segments.length;
+            segment = segments[currentSegment];
+            segment.reset();
+        }
+        final long timestamp = System.currentTimeMillis();
+        if (segment.lineCount == 0) {
+            segment.firstLineNumber = nextLineNumber;
+            segment.firstTimestamp = timestamp;
+        }
+        segment.buffer.putLong(timestamp).putInt(length).put(bytes, 0, length);
+        segment.lastTimestamp = timestamp;
+        segment.lineCount++;
+        nextLineNumber++;
+    }
+
+    private ByteBuffer truncate(String line) {
+        // the encoder stops before a character which does not fit,
+        // so multi-byte sequences are never split
+        final ByteBuffer result = ByteBuffer.allocate(maxLineLength);
+        UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE)
+                .encode(CharBuffer.wrap(line), result, true);
+        return result;
+    }
+
+    /**
+     * Gets the total count of lines which have been received.
+     *
+     * @return the number of the next line
+     */
+    public synchronized long getLineCount() {
+        return nextLineNumber;
+    }
+
+    /**
+     * Gets the number of the oldest line, which has not been overwritten yet.
+     *
+     * @return the number of the first available line
+     */
+    public synchronized long getFirstAvailableLineNumber() {
+        final List<Segment> available = getSegmentsInOrder();
+        return available.isEmpty() ? nextLineNumber : available.get(0).firstLineNumber;
+    }
+
+    /**
+     * Extracts lines by their numbers.
+     *
+     * @param fromLine the number of the first line to extract (inclusive)
+     * @param toLine the number of the last line to extract (exclusive)
+     * @return the list of available lines from the given range
+     */
+    public synchronized List<String> getLines(long fromLine, long toLine) {
+        final List<String> result = new ArrayList<>();
+        for (Segment segment : getSegmentsInOrder()) {
+            if (segment.firstLineNumber + segment.lineCount <= fromLine || segment.firstLineNumber >= toLine) {
+                continue;
+            }
+            final ByteBuffer records = segment.records();
+            for (long lineNumber = segment.firstLineNumber;
+                 lineNumber < segment.firstLineNumber + segment.lineCount; lineNumber++) {
+                records.getLong();
+                final int length = records.getInt();
+                if (lineNumber >= fromLine && lineNumber < toLine) {
+                    result.add(readLine(records, length));
+                } else {
+                    records.position(records.position() + length);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Extracts lines by the time when they have been received.
+     *
+     * @param from the start of the time range (inclusive)
+     * @param to the end of the time range (exclusive)
+     * @return the list of available lines from the given time range
+     */
+    public synchronized List<String> getLines(Instant from, Instant to) {
+        final List<String> result = new ArrayList<>();
+        forEachLine(from, to, (records, length) -> result.add(readLine(records, length)));
+        return result;
+    }
+
+    /**
+     * Writes lines received within the given time range to the stream.
+     * Each line is followed by the line feed character.
+     *
+     * @param from the start of the time range (inclusive)
+     * @param to the end of the time range (exclusive)
+     * @param output the stream to write lines to. It is not closed by this method
+     * @throws IOException if lines cannot be written
+     */
+    public synchronized void copyLines(Instant from, Instant to, OutputStream output) throws IOException {
+        final byte[] buffer = new byte[maxLineLength];
+        final IOException[] failure = new IOException[1];
+        forEachLine(from, to, (records, length) -> {
+            if (failure[0] != null) {
+                records.position(records.position() + length);
+                return;
+            }
+            records.get(buffer, 0, length);
+            try {
+                output.write(buffer, 0, length);
+                output.write(LINE_SEPARATOR);
+            } catch (IOException e) {
+                failure[0] = e;
+            }
+        });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+    }
+
+    private void forEachLine(Instant from, Instant to, RecordConsumer consumer) {
+        final long fromMillis = from.toEpochMilli();
+        final long toMillis = to.toEpochMilli();
+        for (Segment segment : getSegmentsInOrder()) {
+            if (segment.lastTimestamp < fromMillis || segment.firstTimestamp >= toMillis) {
+                continue;
+            }
+            final ByteBuffer records = segment.records();
+            for (int i = 0; i < segment.lineCount; i++) {
+                final long timestamp = records.getLong();
+                final int length = records.getInt();
+                if (timestamp >= fromMillis && timestamp < toMillis) {
+                    consumer.accept(records, length);
+                } else {
+                    records.position(records.position() + length);
+                }
+            }
+        }
+    }
+
+    private static String readLine(ByteBuffer records, int length) {
+        final byte[] bytes = new byte[length];
+        records.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private List<Segment> getSegmentsInOrder() {
+        checkState(!closed, "The sink has been already closed");
+        final List<Segment> result = new ArrayList<>(segments.length);
+        for (int i = 1; i <= segments.length; i++) {
+            final Segment segment = segments[(currentSegment + i) % segments.length];
+            if (segment.lineCount > 0) {
+                result.add(segment);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Closes segment files. Files are not deleted, although they must not be used
+     * to restore lines, since the ring state is not persisted.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        for (Segment segment : segments) {
+            if (segment == null) {
+                continue;
+            }
+            try {
+                segment.channel.close();
+            } catch (IOException e) {
+                // the file has been mapped already, so nothing is lost
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface RecordConsumer {
+        /**
+         * Consumes the record. The record data must be read from the buffer or skipped.
+         *
+         * @param records the buffer which is positioned at the start of the line
+         * @param length the length of the line in bytes
+         */
+        void accept(ByteBuffer records, int length);
+    }
+
+    private static final class Segment {
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private long firstLineNumber;
+        private int lineCount;
+        private long firstTimestamp;
+        private long lastTimestamp;
+
+        private Segment(Path file, int size) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+
+        private void reset() {
+            buffer.clear();
+            lineCount = 0;
+        }
+
+        private ByteBuffer records() {
+            final ByteBuffer records = buffer.duplicate();
+            records.flip();
+            return records;
+        }
+    }
+}
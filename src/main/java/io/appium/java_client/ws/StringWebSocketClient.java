@@ -23,9 +23,9 @@ import okhttp3.WebSocket;
 import okhttp3.WebSocketListener;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import javax.annotation.Nullable;
@@ -40,6 +40,26 @@ public class StringWebSocketClient extends WebSocketListener implements
     private volatile boolean isListening = false;
 
     private URI endpoint;
+    @Nullable
+    private final OkHttpClient client;
+
+    /**
+     * Creates the web socket client which uses the shared connection pool.
+     * See {@link WebSocketClientFactory} for more details.
+     */
+    public StringWebSocketClient() {
+        this(null);
+    }
+
+    /**
+     * Creates the web socket client which uses the given HTTP client to connect.
+     *
+     * @param client the HTTP client or null to use the one provided
+     *               by {@link WebSocketClientFactory#getClient()}
+     */
+    public StringWebSocketClient(@Nullable OkHttpClient client) {
+        this.client = client;
+    }
 
     private void setEndpoint(URI endpoint) {
         this.endpoint = endpoint;
@@ -65,14 +85,11 @@ public class StringWebSocketClient extends WebSocketListener implements
             return;
         }
 
-        OkHttpClient client = new OkHttpClient.Builder()
-                .readTimeout(0, TimeUnit.MILLISECONDS)
-                .build();
+        OkHttpClient httpClient = client == null ? WebSocketClientFactory.getClient() : client;
         Request request = new Request.Builder()
                 .url(endpoint.toString())
                 .build();
-        client.newWebSocket(request, this);
-        client.dispatcher().executorService().shutdown();
+        httpClient.newWebSocket(request, this);
 
         setEndpoint(endpoint);
     }
@@ -104,6 +121,26 @@ public class StringWebSocketClient extends WebSocketListener implements
         return messageHandlers;
     }
 
+    /**
+     * Removes existing message handlers. Handlers which are {@link AutoCloseable},
+     * for example {@link BatchingMessageHandler}, are closed.
+     */
+    @Override
+    public void removeMessageHandlers() {
+        List<Consumer<String>> handlers = new ArrayList<>(messageHandlers);
+        messageHandlers.clear();
+        for (Consumer<String> handler : handlers) {
+            if (!(handler instanceof AutoCloseable)) {
+                continue;
+            }
+            try {
+                ((AutoCloseable) handler).close();
+            } catch (Exception e) {
+                getErrorHandlers().forEach(x -> x.accept(e));
+            }
+        }
+    }
+
     @Override
     public List<Consumer<Throwable>> getErrorHandlers() {
         return errorHandlers;
@@ -0,0 +1,128 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.java_client.ws;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import io.appium.java_client.internal.HttpClientSettings;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import org.openqa.seleniumone.remote.http.HttpClient;
+
+import java.net.Proxy;
+import java.time.Duration;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Provides the web socket client which is shared by all {@link StringWebSocketClient} instances
+ * in the current process. All the connections use the same dispatcher, connection pool and
+ * the bounded pool of worker threads. The configuration is supposed to be changed before
+ * any connection is made. Already opened connections are not affected by changes.
+ */
+public final class WebSocketClientFactory {
+    public static final int DEFAULT_MAX_CONNECTIONS = 128;
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private static OkHttpClient sharedClient;
+
+    private WebSocketClientFactory() {
+        super();
+    }
+
+    /**
+     * Gets the shared client. It is created with the default settings on the first call.
+     *
+     * @return the shared instance of {@link OkHttpClient}
+     */
+    public static synchronized OkHttpClient getClient() {
+        if (sharedClient == null) {
+            sharedClient = createClient(DEFAULT_MAX_CONNECTIONS);
+        }
+        return sharedClient;
+    }
+
+    /**
+     * Replaces the shared client with the custom one.
+     * Make sure the read timeout of the given client is disabled, so idle web sockets are not closed.
+     *
+     * @param client the client to be shared
+     */
+    public static synchronized void setClient(OkHttpClient client) {
+        sharedClient = checkNotNull(client);
+    }
+
+    /**
+     * Limits the count of web socket connections which can be opened at the same time.
+     * Each opened connection occupies a single worker thread.
+     *
+     * @param maxConnections the maximum count of connections. {@value #DEFAULT_MAX_CONNECTIONS} by default
+     */
+    public static synchronized void setMaxConnections(int maxConnections) {
+        checkArgument(maxConnections > 0, "maxConnections must be a positive number");
+        OkHttpClient newClient = createClient(maxConnections);
+        if (sharedClient != null) {
+            newClient = sharedClient.newBuilder()
+                    .dispatcher(newClient.dispatcher())
+                    .build();
+        }
+        sharedClient = newClient;
+    }
+
+    /**
+     * Applies the connection timeout and the proxy of clients created by the given factory
+     * (for example the one which has been passed to the driver constructor) to the shared client.
+     *
+     * @param httpClientFactory the factory of HTTP clients
+     */
+    public static synchronized void useSettingsOf(HttpClient.Factory httpClientFactory) {
+        HttpClient.Builder builder = checkNotNull(httpClientFactory).builder();
+        OkHttpClient.Builder clientBuilder = getClient().newBuilder();
+        Duration connectionTimeout = HttpClientSettings.getConnectionTimeout(builder);
+        if (connectionTimeout != null) {
+            clientBuilder.connectTimeout(connectionTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        Proxy proxy = HttpClientSettings.getProxy(builder);
+        if (proxy != null) {
+            clientBuilder.proxy(proxy);
+        }
+        sharedClient = clientBuilder.build();
+    }
+
+    private static OkHttpClient createClient(int maxConnections) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(0, maxConnections,
+                KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                new ThreadFactoryBuilder()
+                        .setNameFormat("appium-web-socket-%d")
+                        .setDaemon(true)
+                        .build());
+        Dispatcher dispatcher = new Dispatcher(executor);
+        // web sockets are long living calls, usually to the same host
+        dispatcher.setMaxRequests(maxConnections);
+        dispatcher.setMaxRequestsPerHost(maxConnections);
+        return new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool())
+                .readTimeout(0, TimeUnit.MILLISECONDS)
+                .build();
+    }
+}
@@ -0,0 +1,165 @@
+package io.appium.java_client;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.fail;
+
+import com.google.common.collect.ImmutableMap;
+
+import io.appium.java_client.pagefactory.bys.ContentType;
+import io.appium.java_client.pagefactory.utils.WebDriverUnpackUtility;
+import io.appium.java_client.remote.AppiumCommandExecutor;
+import io.appium.java_client.remote.CannedResponseHttpClientFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.seleniumone.ImmutableCapabilities;
+import org.openqa.seleniumone.NoSuchSessionException;
+import org.openqa.seleniumone.remote.http.HttpMethod;
+import org.openqa.seleniumone.remote.http.HttpRequest;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+
+public class AppiumDriverTest {
+    private static final String SESSION_PATH = "/session/1";
+    private static final String CONTEXT_PATH = SESSION_PATH + "/context";
+    private static final String MISSING_CONTEXT = "WEBVIEW_MISSING";
+
+    private final CannedResponseHttpClientFactory httpClientFactory =
+            new CannedResponseHttpClientFactory(AppiumDriverTest::respond);
+    private AppiumDriver<MobileElement> driver;
+
+    private static String respond(HttpRequest request) {
+        if (request.getMethod() == HttpMethod.POST && request.getUri().equals("/session")) {
+            return "{\"value\": {\"sessionId\": \"1\", \"capabilities\": {\"platformName\": \"Android\"}}}";
+        }
+        if (request.getMethod() == HttpMethod.GET && request.getUri().equals(SESSION_PATH)) {
+            return "{\"value\": {\"platformName\": \"Android\", \"browserName\": \"Chrome\"}}";
+        }
+        if (request.getMethod() == HttpMethod.GET && request.getUri().equals(CONTEXT_PATH)) {
+            return "{\"value\": \"NATIVE_APP\"}";
+        }
+        if (request.getMethod() == HttpMethod.POST && request.getUri().equals(CONTEXT_PATH)
+                && request.getContentString().contains(MISSING_CONTEXT)) {
+            return "{\"value\": {\"error\": \"no such context\", \"message\": \"No such context\"}}";
+        }
+        return "{\"value\": null}";
+    }
+
+    @Before
+    public void createDriver() throws MalformedURLException {
+        driver = new AppiumDriver<>(new AppiumCommandExecutor(MobileCommand.commandRepository,
+                new URL("http://localhost:4723/wd/hub"), httpClientFactory),
+                new ImmutableCapabilities("platformName", "Android", "deviceName", "emulator"));
+    }
+
+    private long countRequests(HttpMethod method, String uri) {
+        return httpClientFactory.getRequests().stream()
+                .filter(request -> request.getMethod() == method && request.getUri().equals(uri))
+                .count();
+    }
+
+    private long countSessionRequests() {
+        return countRequests(HttpMethod.GET, SESSION_PATH);
+    }
+
+    @Test
+    public void sessionDetailsAreRequestedOnce() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(driver.getPlatformName(), is("Android"));
+            driver.getSessionDetail("browserName");
+        }
+        assertThat(countSessionRequests(), is(1L));
+    }
+
+    @Test
+    public void sessionDetailsAreRequestedAgainAfterContextSwitch() {
+        driver.getPlatformName();
+        driver.context("WEBVIEW_1");
+        driver.getPlatformName();
+        assertThat(countSessionRequests(), is(2L));
+    }
+
+    @Test
+    public void sessionDetailsAreRequestedAgainAfterSettingsChange() {
+        driver.getPlatformName();
+        driver.execute(MobileCommand.SET_SETTINGS, ImmutableMap.of("settings",
+                ImmutableMap.of("ignoreUnimportantViews", true)));
+        driver.getPlatformName();
+        assertThat(countSessionRequests(), is(2L));
+    }
+
+    @Test
+    public void sessionDetailsAreRequestedAgainAfterQuit() {
+        driver.getPlatformName();
+        driver.quit();
+        try {
+            driver.getSessionDetails();
+            fail("Session details are not expected to be read after quit");
+        } catch (NoSuchSessionException e) {
+            // the cached details of the closed session are not returned
+        }
+        assertThat(countRequests(HttpMethod.DELETE, SESSION_PATH), is(1L));
+    }
+
+    @Test
+    public void sessionDetailsAreRequestedEveryTimeWithoutCaching() {
+        driver.getPlatformName();
+        driver.setSessionDetailsCaching(false);
+        long requestsBefore = countSessionRequests();
+        for (int i = 0; i < 3; i++) {
+            driver.getPlatformName();
+        }
+        assertThat(countSessionRequests() - requestsBefore, is(3L));
+    }
+
+    @Test
+    public void currentContextIsRequestedOnce() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(driver.getCurrentContext(), is("NATIVE_APP"));
+        }
+        assertThat(countRequests(HttpMethod.GET, CONTEXT_PATH), is(1L));
+    }
+
+    @Test
+    public void currentContextIsUpdatedBySuccessfulSwitch() {
+        driver.context("WEBVIEW_1");
+        assertThat(driver.getCurrentContext(), is("WEBVIEW_1"));
+        assertThat(countRequests(HttpMethod.GET, CONTEXT_PATH), is(0L));
+    }
+
+    @Test
+    public void currentContextIsKeptAfterFailedSwitch() {
+        driver.context("WEBVIEW_1");
+        try {
+            driver.context(MISSING_CONTEXT);
+            fail("The context is not expected to be switched");
+        } catch (NoSuchContextException e) {
+            // expected
+        }
+        assertThat(driver.getCurrentContext(), is("WEBVIEW_1"));
+        assertThat(countRequests(HttpMethod.GET, CONTEXT_PATH), is(0L));
+    }
+
+    @Test
+    public void currentContextIsUnknownAfterQuit() {
+        driver.context("WEBVIEW_1");
+        driver.quit();
+        try {
+            driver.getCurrentContext();
+            fail("The context of the closed session is not expected to be returned");
+        } catch (NoSuchSessionException e) {
+            // the context is requested from the server again
+        }
+    }
+
+    @Test
+    public void contentTypeFollowsTrackedContext() {
+        assertThat(WebDriverUnpackUtility.getCurrentContentType(driver), is(ContentType.NATIVE_MOBILE_SPECIFIC));
+        driver.context("WEBVIEW_1");
+        assertThat(WebDriverUnpackUtility.getCurrentContentType(driver), is(ContentType.HTML_OR_DEFAULT));
+        driver.context("NATIVE_APP");
+        assertThat(WebDriverUnpackUtility.getCurrentContentType(driver), is(ContentType.NATIVE_MOBILE_SPECIFIC));
+        assertThat(countRequests(HttpMethod.GET, CONTEXT_PATH), is(1L));
+    }
+}
@@ -0,0 +1,90 @@
+package io.appium.java_client;
+
+import static io.appium.java_client.ScreenshotStateTest.createScreen;
+
+import com.google.common.collect.ImmutableMap;
+
+import io.appium.java_client.imagecomparison.SimilarityMatchingResult;
+import org.openqa.seleniumone.remote.Response;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Measures the cost of a single {@link ScreenshotState} poll on 1080x2340 screenshots for every
+ * comparison method. Each poll compares a changed screenshot with the remembered one, so it succeeds at once.
+ * Local methods score the screenshots by {@link LocalImageSimilarity}. The server method encodes the
+ * screenshot to PNG and Base64, which is all the client does before the image is sent, so the server
+ * itself is replaced by a stub. Run it with the test classpath:
+ * <pre>
+ * java -cp &lt;test classpath&gt; io.appium.java_client.ScreenshotStateBenchmark [polls]
+ * </pre>
+ */
+public final class ScreenshotStateBenchmark {
+    private static final int DEFAULT_POLLS = 20;
+    private static final int ROUNDS = 5;
+    private static final Duration TIMEOUT = Duration.ofMinutes(1);
+    private static final double MIN_SCORE = 0.99;
+
+    private ScreenshotStateBenchmark() {
+        super();
+    }
+
+    /**
+     * Runs the benchmark and prints the time per poll of each comparison method.
+     *
+     * @param args the optional count of polls per round
+     */
+    public static void main(String[] args) {
+        int polls = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_POLLS;
+        BufferedImage initialScreen = createScreen(Color.BLUE);
+        BufferedImage changedScreen = createScreen(Color.YELLOW);
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            System.out.printf("round %d: local correlation %d us/poll, local SSIM %d us/poll, "
+                            + "PNG and Base64 %d us/poll%n", round,
+                    measure(ScreenshotState.ComparisonMethod.LOCAL_CORRELATION, initialScreen, changedScreen, polls),
+                    measure(ScreenshotState.ComparisonMethod.LOCAL_SSIM, initialScreen, changedScreen, polls),
+                    measure(ScreenshotState.ComparisonMethod.SERVER, initialScreen, changedScreen, polls));
+        }
+    }
+
+    private static long measure(ScreenshotState.ComparisonMethod method, BufferedImage initialScreen,
+                                BufferedImage changedScreen, int polls) {
+        StubServer server = new StubServer();
+        ScreenshotState state = new ScreenshotState(server, () -> changedScreen)
+                .setComparisonMethod(method)
+                .remember(initialScreen);
+        long start = System.nanoTime();
+        for (int i = 0; i < polls; i++) {
+            state.verifyChanged(TIMEOUT, MIN_SCORE);
+        }
+        long elapsed = System.nanoTime() - start;
+        if (method == ScreenshotState.ComparisonMethod.SERVER && server.encodedLength == 0) {
+            throw new IllegalStateException("No screenshots were encoded");
+        }
+        return elapsed / polls / 1000;
+    }
+
+    private static final class StubServer implements ComparesImages {
+        private long encodedLength;
+
+        @Override
+        public Response execute(String driverCommand, Map<String, ?> parameters) {
+            throw new UnsupportedOperationException(driverCommand);
+        }
+
+        @Override
+        public Response execute(String driverCommand) {
+            throw new UnsupportedOperationException(driverCommand);
+        }
+
+        @Override
+        public SimilarityMatchingResult getImagesSimilarity(byte[] base64image1, byte[] base64Image2) {
+            encodedLength += base64Image2.length;
+            return new SimilarityMatchingResult(ImmutableMap.of("score", 0.0));
+        }
+    }
+}
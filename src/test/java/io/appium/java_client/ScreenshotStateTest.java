@@ -0,0 +1,130 @@
+package io.appium.java_client;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.sameInstance;
+
+import com.google.common.collect.ImmutableMap;
+
+import io.appium.java_client.imagecomparison.SimilarityMatchingResult;
+
+import org.junit.Test;
+import org.openqa.seleniumone.remote.Response;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class ScreenshotStateTest {
+    private static final ComparesImages NO_SERVER = new ComparesImages() {
+        @Override
+        public Response execute(String driverCommand, Map<String, ?> parameters) {
+            throw new AssertionError("The server must not be called");
+        }
+
+        @Override
+        public Response execute(String driverCommand) {
+            throw new AssertionError("The server must not be called");
+        }
+    };
+
+    static BufferedImage createScreen(Color buttonColor) {
+        BufferedImage image = new BufferedImage(1080, 2340, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, 1080, 2340);
+        graphics.setColor(Color.DARK_GRAY);
+        for (int y = 100; y < 2200; y += 150) {
+            graphics.fillRect(50, y, 700, 60);
+        }
+        graphics.setColor(buttonColor);
+        graphics.fillRect(200, 1800, 680, 300);
+        graphics.dispose();
+        return image;
+    }
+
+    @Test
+    public void localCorrelationOfEqualImagesIsOne() {
+        ScreenshotState state = new ScreenshotState(NO_SERVER)
+                .setComparisonMethod(ScreenshotState.ComparisonMethod.LOCAL_CORRELATION);
+        assertThat(state.getOverlapScore(createScreen(Color.BLUE), createScreen(Color.BLUE)),
+                closeTo(1.0, 1e-6));
+    }
+
+    @Test
+    public void localSsimOfEqualImagesIsOne() {
+        ScreenshotState state = new ScreenshotState(NO_SERVER)
+                .setComparisonMethod(ScreenshotState.ComparisonMethod.LOCAL_SSIM);
+        assertThat(state.getOverlapScore(createScreen(Color.BLUE), createScreen(Color.BLUE)),
+                closeTo(1.0, 1e-6));
+    }
+
+    @Test
+    public void localScoreDecreasesIfScreenIsChanged() {
+        for (ScreenshotState.ComparisonMethod method : new ScreenshotState.ComparisonMethod[] {
+                ScreenshotState.ComparisonMethod.LOCAL_CORRELATION,
+                ScreenshotState.ComparisonMethod.LOCAL_SSIM}) {
+            ScreenshotState state = new ScreenshotState(NO_SERVER).setComparisonMethod(method);
+            assertThat(state.getOverlapScore(createScreen(Color.BLUE), createScreen(Color.YELLOW)),
+                    lessThan(0.95));
+        }
+    }
+
+    @Test
+    public void canVerifyChangedStateLocally() {
+        final Color[] currentColor = {Color.BLUE};
+        ScreenshotState state = new ScreenshotState(NO_SERVER, () -> createScreen(currentColor[0]))
+                .setComparisonMethod(ScreenshotState.ComparisonMethod.LOCAL_CORRELATION)
+                .setComparisonInterval(Duration.ofMillis(10))
+                .remember();
+        state.verifyNotChanged(Duration.ofMillis(100), 0.99);
+        currentColor[0] = Color.YELLOW;
+        state.verifyChanged(Duration.ofMillis(100), 0.95);
+    }
+
+    @Test(expected = ScreenshotState.ScreenshotComparisonError.class)
+    public void imagesOfDifferentSizeCannotBeComparedLocally() {
+        new ScreenshotState(NO_SERVER)
+                .setComparisonMethod(ScreenshotState.ComparisonMethod.LOCAL_SSIM)
+                .getOverlapScore(new BufferedImage(10, 20, BufferedImage.TYPE_INT_RGB),
+                        new BufferedImage(20, 10, BufferedImage.TYPE_INT_RGB));
+    }
+
+    @Test
+    public void rememberedStateIsEncodedOnce() {
+        final List<byte[]> referenceImages = new ArrayList<>();
+        ComparesImages comparator = new ComparesImages() {
+            @Override
+            public Response execute(String driverCommand, Map<String, ?> parameters) {
+                throw new AssertionError("Unexpected command " + driverCommand);
+            }
+
+            @Override
+            public Response execute(String driverCommand) {
+                throw new AssertionError("Unexpected command " + driverCommand);
+            }
+
+            @Override
+            public SimilarityMatchingResult getImagesSimilarity(byte[] base64image1, byte[] base64Image2) {
+                assertThat(base64Image2, is(equalTo(base64image1)));
+                referenceImages.add(base64image1);
+                return new SimilarityMatchingResult(ImmutableMap.of("score", 1.0));
+            }
+        };
+        BufferedImage screen = createScreen(Color.BLUE);
+        ScreenshotState state = new ScreenshotState(comparator, () -> screen)
+                .setComparisonInterval(Duration.ofMillis(10))
+                .remember();
+        state.verifyNotChanged(Duration.ofMillis(100), 0.99);
+        state.verifyNotChanged(Duration.ofMillis(100), 0.99);
+        assertThat(referenceImages.size(), is(2));
+        assertThat(referenceImages.get(0), is(sameInstance(referenceImages.get(1))));
+    }
+}
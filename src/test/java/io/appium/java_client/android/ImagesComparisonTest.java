@@ -16,12 +16,14 @@
 
 package io.appium.java_client.android;
 
+import static org.hamcrest.Matchers.closeTo;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
 
+import io.appium.java_client.ScreenshotState;
 import io.appium.java_client.imagecomparison.FeatureDetector;
 import io.appium.java_client.imagecomparison.FeaturesMatchingOptions;
 import io.appium.java_client.imagecomparison.FeaturesMatchingResult;
@@ -34,6 +36,14 @@ import org.apache.commons.codec.binary.Base64;
 import org.junit.Test;
 import org.openqa.seleniumone.OutputType;
 
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
 public class ImagesComparisonTest extends BaseAndroidTest {
 
     @Test
@@ -73,4 +83,23 @@ public class ImagesComparisonTest extends BaseAndroidTest {
         assertThat(result.getVisualization().length, is(greaterThan(0)));
         assertThat(result.getScore(), is(greaterThan(0.0)));
     }
+
+    @Test
+    public void verifyLocalSimilarityMatchesServerScore() throws IOException {
+        BufferedImage screenshot = ImageIO.read(new ByteArrayInputStream(driver.getScreenshotAs(OutputType.BYTES)));
+        BufferedImage changedScreenshot = ImageIO.read(
+                new ByteArrayInputStream(driver.getScreenshotAs(OutputType.BYTES)));
+        Graphics2D graphics = changedScreenshot.createGraphics();
+        graphics.setColor(Color.RED);
+        graphics.fillRect(0, 0, changedScreenshot.getWidth() / 2, changedScreenshot.getHeight() / 3);
+        graphics.dispose();
+
+        ScreenshotState serverState = new ScreenshotState(driver);
+        ScreenshotState localState = new ScreenshotState(driver)
+                .setComparisonMethod(ScreenshotState.ComparisonMethod.LOCAL_CORRELATION);
+        assertThat(localState.getOverlapScore(screenshot, screenshot),
+                is(closeTo(serverState.getOverlapScore(screenshot, screenshot), 0.05)));
+        assertThat(localState.getOverlapScore(screenshot, changedScreenshot),
+                is(closeTo(serverState.getOverlapScore(screenshot, changedScreenshot), 0.1)));
+    }
 }
@@ -0,0 +1,58 @@
+package io.appium.java_client.appium;
+
+import static java.time.Duration.ofMinutes;
+
+import io.appium.java_client.AppiumFluentWait;
+import org.openqa.seleniumone.support.ui.FluentWait;
+import org.openqa.seleniumone.support.ui.Sleeper;
+import org.openqa.seleniumone.support.ui.Wait;
+
+import java.time.Clock;
+import java.util.function.Function;
+
+/**
+ * Measures the cost of a single {@link AppiumFluentWait#until(Function)} iteration against
+ * {@link FluentWait}. The condition does nothing but count its calls and the sleeper returns at once,
+ * so only the loop itself is measured. Run it with the test classpath:
+ * <pre>
+ * java -cp &lt;test classpath&gt; io.appium.java_client.appium.AppiumFluentWaitBenchmark [iterations]
+ * </pre>
+ */
+public final class AppiumFluentWaitBenchmark {
+    private static final int DEFAULT_ITERATIONS = 1_000_000;
+    private static final int ROUNDS = 5;
+    private static final Sleeper NO_SLEEP = duration -> { };
+
+    private AppiumFluentWaitBenchmark() {
+        super();
+    }
+
+    /**
+     * Runs the benchmark and prints the time per iteration of each wait.
+     *
+     * @param args the optional count of iterations per round
+     */
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ITERATIONS;
+
+        Wait<int[]> appiumWait = new AppiumFluentWait<>(new int[1], Clock.systemUTC(), NO_SLEEP)
+                .withTimeout(ofMinutes(1));
+        Wait<int[]> fluentWait = new FluentWait<>(new int[1], Clock.systemUTC(), NO_SLEEP)
+                .withTimeout(ofMinutes(1));
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            System.out.printf("round %d: AppiumFluentWait %d ns/iteration, FluentWait %d ns/iteration%n", round,
+                    measure(appiumWait, iterations), measure(fluentWait, iterations));
+        }
+    }
+
+    private static long measure(Wait<int[]> wait, int iterations) {
+        long start = System.nanoTime();
+        int calls = wait.until(counter -> ++counter[0] % iterations == 0 ? counter[0] : null);
+        long elapsed = System.nanoTime() - start;
+        if (calls == 0) {
+            throw new IllegalStateException("The condition was never applied");
+        }
+        return elapsed / iterations;
+    }
+}
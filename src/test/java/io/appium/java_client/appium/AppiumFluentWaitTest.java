@@ -16,19 +16,28 @@
 
 package io.appium.java_client.appium;
 
+import static java.time.Duration.ofMillis;
 import static java.time.Duration.ofSeconds;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
 
 import io.appium.java_client.AppiumFluentWait;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.openqa.seleniumone.NoSuchElementException;
 import org.openqa.seleniumone.TimeoutException;
 import org.openqa.seleniumone.support.ui.Wait;
 
 import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
@@ -94,4 +103,92 @@ public class AppiumFluentWaitTest {
             assertThat(callsCounter.get(), is(equalTo(2)));
         }
     }
+
+    @Test
+    public void testWaitCallsOverriddenPropagationHook() {
+        final AtomicInteger propagations = new AtomicInteger();
+        final AppiumFluentWait<FakeElement> wait = new AppiumFluentWait<FakeElement>(new FakeElement(),
+                Clock.systemDefaultZone(), duration -> { }) {
+            @Override
+            protected Throwable propagateIfNotIgnored(Throwable e,
+                                                      List<Class<? extends Throwable>> ignoredExceptions) {
+                propagations.incrementAndGet();
+                return e;
+            }
+        };
+        wait.withTimeout(ofSeconds(5));
+        final AtomicInteger calls = new AtomicInteger();
+        boolean result = wait.until(el -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new IllegalStateException("not ignored by default");
+            }
+            return true;
+        });
+        assertThat(result, is(equalTo(true)));
+        assertThat(propagations.get(), is(equalTo(2)));
+    }
+
+    @Test
+    public void testAsyncWaitUsesCustomStrategy() throws Exception {
+        final AtomicInteger callsCounter = new AtomicInteger(0);
+        final AppiumFluentWait<AtomicInteger> wait = new AppiumFluentWait<>(callsCounter)
+                .withPollingStrategy(info -> ofMillis(info.getNumber() * 10));
+        wait.withTimeout(ofSeconds(5))
+                .pollingEvery(ofSeconds(1));
+        CompletableFuture<Integer> result = wait.untilAsync(counter -> {
+            int callNumber = counter.incrementAndGet();
+            return callNumber == 3 ? callNumber : null;
+        });
+        assertThat(result.get(5, TimeUnit.SECONDS), is(equalTo(3)));
+    }
+
+    @Test
+    public void testAsyncWaitTimesOut() throws Exception {
+        final FakeElement el = new FakeElement();
+        final AppiumFluentWait<FakeElement> wait = new AppiumFluentWait<>(el);
+        wait.withTimeout(ofMillis(300))
+                .pollingEvery(ofMillis(100))
+                .ignoring(NoSuchElementException.class);
+        CompletableFuture<Boolean> result = wait.untilAsync(element -> {
+            throw new NoSuchElementException("not yet");
+        });
+        try {
+            result.get(5, TimeUnit.SECONDS);
+            Assert.fail("TimeoutException is expected");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), is(instanceOf(TimeoutException.class)));
+            assertThat(e.getCause().getCause(), is(instanceOf(NoSuchElementException.class)));
+        }
+    }
+
+    @Test
+    public void testAsyncWaitIsNotBlockedBySlowConditions() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final AppiumFluentWait<CountDownLatch> wait = new AppiumFluentWait<>(release);
+        wait.withTimeout(ofSeconds(5))
+                .pollingEvery(ofMillis(10));
+        int slowConditionsCount = Runtime.getRuntime().availableProcessors() + 1;
+        List<CompletableFuture<Boolean>> slowResults = new ArrayList<>();
+        for (int i = 0; i < slowConditionsCount; i++) {
+            slowResults.add(wait.untilAsync(AppiumFluentWaitTest::awaitRelease));
+        }
+        try {
+            CompletableFuture<Boolean> fastResult = wait.untilAsync(latch -> true);
+            assertThat(fastResult.get(1, TimeUnit.SECONDS), is(equalTo(true)));
+        } finally {
+            release.countDown();
+        }
+        for (CompletableFuture<Boolean> slowResult : slowResults) {
+            assertThat(slowResult.get(5, TimeUnit.SECONDS), is(equalTo(true)));
+        }
+    }
+
+    private static boolean awaitRelease(CountDownLatch release) {
+        try {
+            return release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
 }
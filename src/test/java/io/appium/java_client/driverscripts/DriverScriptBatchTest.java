@@ -0,0 +1,149 @@
+package io.appium.java_client.driverscripts;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.common.collect.ImmutableMap;
+import io.appium.java_client.ExecutesDriverScript;
+import io.appium.java_client.android.AndroidElement;
+import org.junit.Test;
+import org.openqa.seleniumone.WebDriverException;
+import org.openqa.seleniumone.WebElement;
+import org.openqa.seleniumone.remote.Response;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class DriverScriptBatchTest {
+
+    @Test
+    public void compilesStepsIntoSingleScript() {
+        DriverScriptBatch batch = new DriverScriptBatch();
+        DriverScriptBatch.Element input = batch.findElement("accessibility id", "user\"name");
+        input.sendKeys("al", "ice");
+        input.findElement("xpath", "//button").click();
+        batch.call("hideKeyboard");
+        batch.executeScript("mobile: scroll", ImmutableMap.of("direction", "down"));
+
+        String script = batch.toScript();
+        assertThat(batch.size(), is(6));
+        assertThat(script, containsString(
+                "$r[0] = await driver.findElement(\"accessibility id\", \"user\\\"name\");"));
+        assertThat(script, containsString("$r[1] = await driver.elementSendKeys($id($r[0]), \"alice\");"));
+        assertThat(script, containsString("$r[2] = await driver.findElementFromElement($id($r[0]), \"xpath\", "));
+        assertThat(script, containsString("$r[3] = await driver.elementClick($id($r[2]));"));
+        assertThat(script, containsString("$r[4] = await driver.hideKeyboard();"));
+        assertTrue(script.endsWith("return $r;"));
+    }
+
+    @Test
+    public void completesTypedFuturesFromSingleRequest() throws Exception {
+        AndroidElement found = new AndroidElement();
+        found.setId("element-1");
+        StubDriver driver = new StubDriver(ImmutableMap.of(
+                "result", Arrays.asList(found, null, "Hello alice", true),
+                "logs", ImmutableMap.of("log", Collections.singletonList("done"))));
+        AtomicReference<CompletableFuture<String>> text = new AtomicReference<>();
+        AtomicReference<CompletableFuture<Boolean>> displayed = new AtomicReference<>();
+        AtomicReference<DriverScriptBatch.Element> element = new AtomicReference<>();
+
+        ScriptValue value = driver.batch(b -> {
+            element.set(b.findElement("id", "greeting"));
+            element.get().click();
+            text.set(element.get().getText());
+            displayed.set(element.get().isDisplayed());
+        });
+
+        assertThat(driver.scripts.size(), is(1));
+        assertThat(driver.scripts.get(0), containsString("getElementText($id($r[0]))"));
+        assertThat(text.get().get(), is("Hello alice"));
+        assertThat(displayed.get().get(), is(true));
+        assertThat(element.get().toWebElement().get(), is(sameInstance(found)));
+        Map<String, Object> logs = value.getLogs();
+        assertThat(((List<?>) logs.get("log")).get(0), is("done"));
+    }
+
+    @Test
+    public void failsAllFuturesIfScriptFails() throws Exception {
+        StubDriver driver = new StubDriver(null);
+        AtomicReference<CompletableFuture<Void>> click = new AtomicReference<>();
+        try {
+            driver.batch(b -> click.set(b.findElement("id", "missing").click()));
+            fail("The exception was expected");
+        } catch (WebDriverException e) {
+            assertThat(e.getMessage(), containsString("no such element"));
+        }
+        try {
+            click.get().get();
+            fail("The exception was expected");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), instanceOf(WebDriverException.class));
+        }
+    }
+
+    @Test
+    public void failsBatchOnUnexpectedScriptResult() {
+        StubDriver driver = new StubDriver(ImmutableMap.of("result", "unexpected"));
+        AtomicReference<CompletableFuture<String>> source = new AtomicReference<>();
+        try {
+            driver.batch(b -> source.set(b.getPageSource()));
+            fail("The exception was expected");
+        } catch (WebDriverException e) {
+            assertThat(e.getMessage(), containsString("Got 'unexpected' instead"));
+        }
+        assertTrue(source.get().isCompletedExceptionally());
+    }
+
+    @Test
+    public void failsElementFutureIfElementIsNotConverted() {
+        DriverScriptBatch batch = new DriverScriptBatch();
+        CompletableFuture<WebElement> element = batch.findElement("id", "input").toWebElement();
+        batch.complete(Collections.singletonList(ImmutableMap.of("ELEMENT", "element-2")));
+        assertTrue(element.isCompletedExceptionally());
+    }
+
+    @Test
+    public void voidStepsCompleteWithNull() throws Exception {
+        DriverScriptBatch batch = new DriverScriptBatch();
+        CompletableFuture<Void> clear = batch.findElement("id", "input").clear();
+        batch.complete(Arrays.asList(new AndroidElement(), null));
+        assertThat(clear.get(), nullValue());
+    }
+
+    private static class StubDriver implements ExecutesDriverScript {
+        private final Object value;
+        private final List<String> scripts = new ArrayList<>();
+
+        StubDriver(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public Response execute(String driverCommand, Map<String, ?> parameters) {
+            scripts.add((String) parameters.get("script"));
+            if (value == null) {
+                throw new WebDriverException("no such element");
+            }
+            Response response = new Response();
+            response.setValue(value);
+            return response;
+        }
+
+        @Override
+        public Response execute(String driverCommand) {
+            return execute(driverCommand, Collections.emptyMap());
+        }
+    }
+}
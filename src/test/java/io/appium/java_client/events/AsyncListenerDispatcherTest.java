@@ -0,0 +1,185 @@
+package io.appium.java_client.events;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+
+import io.appium.java_client.events.api.general.ElementEventListener;
+import org.junit.Test;
+import org.openqa.seleniumone.By;
+import org.openqa.seleniumone.WebDriver;
+import org.openqa.seleniumone.WebElement;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AsyncListenerDispatcherTest {
+
+    @Test
+    public void afterEventsAreDeliveredInBackground() {
+        ThreadRecordingListener listener = new ThreadRecordingListener();
+        AsyncListenerDispatcher dispatcher = new AsyncListenerDispatcher();
+        WebDriver driver = LightweightEventFiringObjectFactory.getEventFiringObject(new EmptyWebDriver(),
+            new EmptyWebDriver(), dispatcher, listener);
+        WebElement element = driver.findElement(By.id("someId"));
+        element.click();
+        element.click();
+        dispatcher.close();
+
+        assertThat(listener.beforeThreads, contains(Thread.currentThread().getName(),
+            Thread.currentThread().getName()));
+        assertThat(listener.afterThreads.size(), is(2));
+        assertThat(listener.afterThreads, everyItem(startsWith("appium-listener-dispatcher")));
+        assertThat(dispatcher.getQueueDepth(), is(0));
+        assertThat(dispatcher.getDroppedEventCount(), is(0L));
+    }
+
+    @Test
+    public void eventsAreDroppedIfQueueIsFull() throws InterruptedException {
+        AsyncListenerDispatcher dispatcher = new AsyncListenerDispatcher(1,
+            AsyncListenerDispatcher.OverflowPolicy.DROP);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        dispatcher.dispatch(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        started.await(5, TimeUnit.SECONDS);
+        for (int i = 0; i < 5; i++) {
+            dispatcher.dispatch(() -> { });
+        }
+        assertThat(dispatcher.getQueueDepth(), is(1));
+        assertThat(dispatcher.getDroppedEventCount(), is(4L));
+
+        release.countDown();
+        dispatcher.close();
+        assertThat(dispatcher.getDispatchedEventCount(), is(2L));
+    }
+
+    @Test
+    public void everyNthEventIsKeptIfSampled() throws InterruptedException {
+        AsyncListenerDispatcher dispatcher = new AsyncListenerDispatcher(1,
+            AsyncListenerDispatcher.OverflowPolicy.SAMPLE, 3);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        dispatcher.dispatch(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        started.await(5, TimeUnit.SECONDS);
+        dispatcher.dispatch(() -> { });
+        new Thread(() -> {
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            release.countDown();
+        }).start();
+        // the first two overflowing events are dropped, the third one waits for the free space
+        for (int i = 0; i < 3; i++) {
+            dispatcher.dispatch(() -> { });
+        }
+        dispatcher.close();
+        assertThat(dispatcher.getDroppedEventCount(), is(2L));
+        assertThat(dispatcher.getDispatchedEventCount(), is(3L));
+    }
+
+    @Test
+    public void eventsFiredAfterCloseWaitForQueuedEvents() throws InterruptedException {
+        AsyncListenerDispatcher dispatcher = new AsyncListenerDispatcher();
+        List<String> delivered = new CopyOnWriteArrayList<>();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        dispatcher.dispatch(() -> {
+            started.countDown();
+            awaitQuietly(release);
+            record(delivered, "queued first", running, maxRunning);
+        });
+        started.await(5, TimeUnit.SECONDS);
+        dispatcher.dispatch(() -> record(delivered, "queued second", running, maxRunning));
+
+        Thread closer = new Thread(dispatcher::close);
+        closer.start();
+        awaitWaiting(closer);
+        Thread firer = new Thread(() -> dispatcher.dispatch(
+            () -> record(delivered, "fired after close", running, maxRunning)));
+        firer.start();
+        awaitWaiting(firer);
+        release.countDown();
+        closer.join(5000);
+        firer.join(5000);
+
+        assertThat(delivered, contains("queued first", "queued second", "fired after close"));
+        assertThat(maxRunning.get(), is(1));
+    }
+
+    private static void record(List<String> delivered, String event, AtomicInteger running,
+                               AtomicInteger maxRunning) {
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        delivered.add(event);
+        running.decrementAndGet();
+    }
+
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (thread.getState() != Thread.State.WAITING && thread.getState() != Thread.State.BLOCKED
+            && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class ThreadRecordingListener implements ElementEventListener {
+        private final List<String> beforeThreads = new CopyOnWriteArrayList<>();
+        private final List<String> afterThreads = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void beforeClickOn(WebElement element, WebDriver driver) {
+            beforeThreads.add(Thread.currentThread().getName());
+        }
+
+        @Override
+        public void afterClickOn(WebElement element, WebDriver driver) {
+            afterThreads.add(Thread.currentThread().getName());
+        }
+
+        @Override
+        public void beforeChangeValueOf(WebElement element, WebDriver driver) {
+        }
+
+        @Override
+        public void beforeChangeValueOf(WebElement element, WebDriver driver, CharSequence[] keysToSend) {
+        }
+
+        @Override
+        public void afterChangeValueOf(WebElement element, WebDriver driver) {
+        }
+
+        @Override
+        public void afterChangeValueOf(WebElement element, WebDriver driver, CharSequence[] keysToSend) {
+        }
+
+        @Override
+        public void beforeGetText(WebElement element, WebDriver driver) {
+        }
+
+        @Override
+        public void afterGetText(WebElement element, WebDriver driver, String text) {
+        }
+    }
+}
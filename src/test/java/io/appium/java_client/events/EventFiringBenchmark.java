@@ -0,0 +1,81 @@
+package io.appium.java_client.events;
+
+import org.openqa.seleniumone.By;
+
+import java.util.function.Supplier;
+
+/**
+ * Measures the cost of wrapping a driver by {@link LightweightEventFiringObjectFactory} against
+ * {@link EventFiringObjectFactory}, which creates a Spring context per object, and the cost of a single
+ * call of a wrapped driver against a call of the original driver. Every call finds an element,
+ * so it fires events and wraps the element it returns. Run it with the test classpath:
+ * <pre>
+ * java -cp &lt;test classpath&gt; io.appium.java_client.events.EventFiringBenchmark [calls]
+ * </pre>
+ */
+public final class EventFiringBenchmark {
+    private static final int DEFAULT_CALLS = 1_000;
+    // a Spring context per object is too slow to be created as many times as the other objects
+    private static final int SPRING_WRAPS_DIVISOR = 10;
+    private static final int ROUNDS = 5;
+    private static final By LOCATOR = By.id("element");
+
+    private EventFiringBenchmark() {
+        super();
+    }
+
+    /**
+     * Runs the benchmark and prints the time per wrap and per call of each approach.
+     *
+     * @param args the optional count of wraps and calls per round
+     */
+    public static void main(String[] args) {
+        int calls = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_CALLS;
+        EmptyWebDriver original = new EmptyWebDriver();
+        Supplier<EmptyWebDriver> lightweightWrap = () ->
+                LightweightEventFiringObjectFactory.getEventFiringObject(original, original);
+        Supplier<EmptyWebDriver> springWrap = () ->
+                EventFiringObjectFactory.getEventFiringObject(original, original);
+        EmptyWebDriver lightweightDriver = lightweightWrap.get();
+        EmptyWebDriver springDriver = springWrap.get();
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            System.out.printf("round %d: wrap lightweight %d ns/op, Spring %d ns/op; "
+                            + "call original %d ns/op, lightweight %d ns/op, Spring %d ns/op%n", round,
+                    measureWraps(lightweightWrap, calls),
+                    measureWraps(springWrap, Math.max(1, calls / SPRING_WRAPS_DIVISOR)),
+                    measureCalls(original, calls), measureCalls(lightweightDriver, calls),
+                    measureCalls(springDriver, calls));
+        }
+    }
+
+    private static long measureWraps(Supplier<EmptyWebDriver> wrap, int wraps) {
+        int checksum = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < wraps; i++) {
+            if (wrap.get() != null) {
+                checksum++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (checksum == 0) {
+            throw new IllegalStateException("No drivers were wrapped");
+        }
+        return elapsed / wraps;
+    }
+
+    private static long measureCalls(EmptyWebDriver driver, int calls) {
+        int checksum = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            if (driver.findElement(LOCATOR) != null) {
+                checksum++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (checksum == 0) {
+            throw new IllegalStateException("No elements were found");
+        }
+        return elapsed / calls;
+    }
+}
@@ -0,0 +1,103 @@
+package io.appium.java_client.events;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.MobileElement;
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.android.AndroidElement;
+import io.appium.java_client.ios.IOSDriver;
+import io.appium.java_client.ios.IOSElement;
+import org.aspectj.lang.annotation.After;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Before;
+import org.aspectj.weaver.tools.PointcutExpression;
+import org.aspectj.weaver.tools.PointcutParser;
+import org.junit.Test;
+import org.openqa.seleniumone.Alert;
+import org.openqa.seleniumone.ContextAware;
+import org.openqa.seleniumone.JavascriptExecutor;
+import org.openqa.seleniumone.Rotatable;
+import org.openqa.seleniumone.SearchContext;
+import org.openqa.seleniumone.TakesScreenshot;
+import org.openqa.seleniumone.WebDriver;
+import org.openqa.seleniumone.WebElement;
+import org.openqa.seleniumone.remote.RemoteWebDriver;
+import org.openqa.seleniumone.remote.RemoteWebElement;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Checks that the actions fired by {@link EventFiringInterceptor} stay in sync
+ * with the advices of {@link DefaultAspect}.
+ */
+public class ObservedActionTest {
+
+    private static final List<Class<?>> OBSERVED_CLASSES = Arrays.asList(WebDriver.class, WebElement.class,
+        WebDriver.Navigation.class, WebDriver.TargetLocator.class, WebDriver.Options.class,
+        WebDriver.Window.class, Alert.class, ContextAware.class, JavascriptExecutor.class,
+        TakesScreenshot.class, Rotatable.class, SearchContext.class, RemoteWebDriver.class,
+        RemoteWebElement.class, MobileElement.class, AndroidElement.class, IOSElement.class,
+        AppiumDriver.class, AndroidDriver.class, IOSDriver.class);
+
+    @Test
+    public void everyActionHasBeforeAndAfterAdvices() {
+        Set<String> beforePointcuts = new HashSet<>();
+        Set<String> afterPointcuts = new HashSet<>();
+        for (Method method : DefaultAspect.class.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(Before.class)) {
+                beforePointcuts.add(method.getAnnotation(Before.class).value());
+            }
+            if (method.isAnnotationPresent(After.class)) {
+                afterPointcuts.add(method.getAnnotation(After.class).value());
+            }
+            if (method.isAnnotationPresent(AfterReturning.class)) {
+                afterPointcuts.add(method.getAnnotation(AfterReturning.class).value());
+            }
+        }
+
+        Set<String> actionPointcuts = EnumSet.allOf(ObservedAction.class).stream()
+            .filter(action -> action != ObservedAction.NONE)
+            .map(ObservedAction::getPointcut)
+            .collect(Collectors.toSet());
+        assertThat(beforePointcuts, is(equalTo(actionPointcuts)));
+        assertThat(afterPointcuts, is(equalTo(actionPointcuts)));
+    }
+
+    @Test
+    public void actionsMatchTheSameMethodsAsPointcuts() {
+        PointcutParser parser = PointcutParser
+            .getPointcutParserSupportingAllPrimitivesAndUsingContextClassloaderForResolution();
+        List<String> mismatches = new ArrayList<>();
+        for (ObservedAction action : ObservedAction.values()) {
+            if (action == ObservedAction.NONE) {
+                continue;
+            }
+            PointcutExpression pointcut = parser.parsePointcutExpression(action.getPointcut());
+            for (Class<?> observedClass : OBSERVED_CLASSES) {
+                for (Method method : observedClass.getMethods()) {
+                    if (method.isBridge() || method.getDeclaringClass() == Object.class) {
+                        continue;
+                    }
+                    boolean matchedByAspect = pointcut.matchesMethodExecution(method).alwaysMatches();
+                    boolean matchedByAction = action.matches(observedClass, method);
+                    if (matchedByAspect != matchedByAction) {
+                        mismatches.add(String.format("%s: %s.%s (aspect: %s, action: %s)", action,
+                            observedClass.getSimpleName(), method, matchedByAspect, matchedByAction));
+                    }
+                }
+            }
+        }
+        assertThat(mismatches, is(empty()));
+    }
+}
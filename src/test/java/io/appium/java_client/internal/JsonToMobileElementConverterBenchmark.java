@@ -0,0 +1,94 @@
+package io.appium.java_client.internal;
+
+import static io.appium.java_client.internal.ElementMap.getElementClass;
+
+import io.appium.java_client.internal.JsonToMobileElementConverterTest.StubDriver;
+import io.appium.java_client.remote.MobilePlatform;
+import org.openqa.seleniumone.WebDriverException;
+import org.openqa.seleniumone.remote.RemoteWebElement;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the cost of converting a response with many elements by {@link JsonToMobileElementConverter}
+ * against a converter which looks up the element class and its constructor for every element, which is
+ * how elements were created before the constructor was resolved once per converter.
+ * Run it with the test classpath:
+ * <pre>
+ * java -cp &lt;test classpath&gt; io.appium.java_client.internal.JsonToMobileElementConverterBenchmark [elements]
+ * </pre>
+ */
+public final class JsonToMobileElementConverterBenchmark {
+    private static final int DEFAULT_ELEMENTS = 1_000;
+    private static final int CONVERSIONS = 1_000;
+    private static final int ROUNDS = 5;
+
+    private JsonToMobileElementConverterBenchmark() {
+        super();
+    }
+
+    /**
+     * Runs the benchmark and prints the time per converted element of each converter.
+     *
+     * @param args the optional count of elements in a single response
+     */
+    public static void main(String[] args) {
+        int elements = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ELEMENTS;
+        List<RemoteWebElement> response = new ArrayList<>(elements);
+        for (int i = 0; i < elements; i++) {
+            RemoteWebElement element = new RemoteWebElement();
+            element.setId(String.valueOf(i));
+            response.add(element);
+        }
+
+        StubDriver driver = new StubDriver(MobilePlatform.ANDROID, null);
+        JsonToMobileElementConverter cachingConverter = new JsonToMobileElementConverter(driver, driver);
+        JsonToMobileElementConverter resolvingConverter = new ResolvingConverter(driver);
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            System.out.printf("round %d: cached constructor %d ns/element, lookup per element %d ns/element%n",
+                    round, measure(cachingConverter, response), measure(resolvingConverter, response));
+        }
+    }
+
+    private static long measure(JsonToMobileElementConverter converter, List<RemoteWebElement> response) {
+        int checksum = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < CONVERSIONS; i++) {
+            checksum += ((List<?>) converter.apply(response)).size();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (checksum == 0) {
+            throw new IllegalStateException("No elements were converted");
+        }
+        return elapsed / ((long) CONVERSIONS * response.size());
+    }
+
+    private static final class ResolvingConverter extends JsonToMobileElementConverter {
+        private final String platform;
+        private final String automation;
+
+        ResolvingConverter(StubDriver driver) {
+            super(driver, driver);
+            this.platform = driver.getPlatformName();
+            this.automation = driver.getAutomationName();
+        }
+
+        @Override
+        protected RemoteWebElement newRemoteWebElement() {
+            try {
+                Constructor<? extends RemoteWebElement> constructor = getElementClass(platform, automation)
+                        .getDeclaredConstructor();
+                constructor.setAccessible(true);
+                RemoteWebElement result = constructor.newInstance();
+                result.setParent(driver);
+                result.setFileDetector(driver.getFileDetector());
+                return result;
+            } catch (Exception e) {
+                throw new WebDriverException(e);
+            }
+        }
+    }
+}
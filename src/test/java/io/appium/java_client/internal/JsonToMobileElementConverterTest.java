@@ -0,0 +1,126 @@
+package io.appium.java_client.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import com.google.common.collect.ImmutableMap;
+
+import io.appium.java_client.HasSessionDetails;
+import io.appium.java_client.android.AndroidElement;
+import io.appium.java_client.ios.IOSElement;
+import io.appium.java_client.remote.AutomationName;
+import io.appium.java_client.remote.MobilePlatform;
+import org.junit.Test;
+import org.openqa.seleniumone.remote.RemoteWebDriver;
+import org.openqa.seleniumone.remote.RemoteWebElement;
+import org.openqa.seleniumone.remote.Response;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class JsonToMobileElementConverterTest {
+
+    @Test
+    public void elementClassIsResolvedOnceForAllConversions() {
+        StubDriver driver = new StubDriver(MobilePlatform.ANDROID, null);
+        JsonToMobileElementConverter converter = new JsonToMobileElementConverter(driver, driver);
+        int sessionDetailsRequests = driver.getSessionDetailsRequests();
+
+        RemoteWebElement first = (RemoteWebElement) converter.apply(element("1"));
+        driver.setSessionDetails(MobilePlatform.IOS, AutomationName.IOS_XCUI_TEST);
+        RemoteWebElement second = (RemoteWebElement) converter.apply(element("2"));
+        RemoteWebElement third = (RemoteWebElement) converter.apply(element("3"));
+
+        assertThat(first, is(instanceOf(AndroidElement.class)));
+        assertThat(second.getClass(), is(equalTo(first.getClass())));
+        assertThat(third.getClass(), is(equalTo(first.getClass())));
+        assertThat(second, is(not(sameInstance(first))));
+        assertThat(second.getId(), is(equalTo("2")));
+        assertThat(third.getId(), is(equalTo("3")));
+        assertThat(driver.getSessionDetailsRequests(), is(equalTo(sessionDetailsRequests)));
+    }
+
+    @Test
+    public void elementClassMatchesPlatformAndAutomation() {
+        assertThat(convert(MobilePlatform.ANDROID, null), is(instanceOf(AndroidElement.class)));
+        assertThat(convert(MobilePlatform.ANDROID, AutomationName.ANDROID_UIAUTOMATOR2),
+                is(instanceOf(AndroidElement.class)));
+        assertThat(convert(MobilePlatform.IOS, AutomationName.IOS_XCUI_TEST), is(instanceOf(IOSElement.class)));
+        assertThat(convert(null, AutomationName.IOS_XCUI_TEST), is(instanceOf(IOSElement.class)));
+        assertThat(convert(null, null).getClass(), is(equalTo(RemoteWebElement.class)));
+    }
+
+    @Test
+    public void convertersOfDifferentDriverClassesDoNotShareConstructors() {
+        StubDriver androidDriver = new StubDriver(MobilePlatform.ANDROID, null);
+        StubDriver iosDriver = new StubDriver(MobilePlatform.IOS, AutomationName.IOS_XCUI_TEST) {
+        };
+        JsonToMobileElementConverter androidConverter = new JsonToMobileElementConverter(androidDriver, androidDriver);
+        JsonToMobileElementConverter iosConverter = new JsonToMobileElementConverter(iosDriver, iosDriver);
+
+        for (int i = 0; i < 3; i++) {
+            RemoteWebElement androidElement = (RemoteWebElement) androidConverter.apply(element("a" + i));
+            RemoteWebElement iosElement = (RemoteWebElement) iosConverter.apply(element("i" + i));
+
+            assertThat(androidElement, is(instanceOf(AndroidElement.class)));
+            assertThat(androidElement.getWrappedDriver(), is(sameInstance(androidDriver)));
+            assertThat(iosElement, is(instanceOf(IOSElement.class)));
+            assertThat(iosElement.getWrappedDriver(), is(sameInstance(iosDriver)));
+        }
+    }
+
+    private static Object convert(String platform, String automation) {
+        StubDriver driver = new StubDriver(platform, automation);
+        return new JsonToMobileElementConverter(driver, driver).apply(element("1"));
+    }
+
+    private static RemoteWebElement element(String id) {
+        RemoteWebElement element = new RemoteWebElement();
+        element.setId(id);
+        return element;
+    }
+
+    static class StubDriver extends RemoteWebDriver implements HasSessionDetails {
+        private final AtomicInteger sessionDetailsRequests = new AtomicInteger();
+        private volatile Map<String, Object> sessionDetails;
+
+        StubDriver(String platform, String automation) {
+            setSessionDetails(platform, automation);
+        }
+
+        final void setSessionDetails(String platform, String automation) {
+            ImmutableMap.Builder<String, Object> builder = ImmutableMap.builder();
+            if (platform != null) {
+                builder.put("platformName", platform);
+            }
+            if (automation != null) {
+                builder.put("automationName", automation);
+            }
+            sessionDetails = builder.build();
+        }
+
+        int getSessionDetailsRequests() {
+            return sessionDetailsRequests.get();
+        }
+
+        @Override
+        public Map<String, Object> getSessionDetails() {
+            sessionDetailsRequests.incrementAndGet();
+            return sessionDetails;
+        }
+
+        @Override
+        public Response execute(String driverCommand, Map<String, ?> parameters) {
+            throw new UnsupportedOperationException(driverCommand);
+        }
+
+        @Override
+        public Response execute(String driverCommand) {
+            throw new UnsupportedOperationException(driverCommand);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package io.appium.java_client.pagefactory_tests;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.sameInstance;
+
+import com.google.common.collect.ImmutableMap;
+import io.appium.java_client.pagefactory.bys.builder.ByAll;
+import org.junit.Test;
+import org.openqa.seleniumone.By;
+import org.openqa.seleniumone.NoSuchElementException;
+import org.openqa.seleniumone.SearchContext;
+import org.openqa.seleniumone.WebElement;
+import org.openqa.seleniumone.remote.RemoteWebElement;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class ByAllTest {
+
+    private static final By SLOW_MISS = By.id("slowMiss");
+    private static final By SLOW_HIT = By.id("slowHit");
+    private static final By FAST_HIT = By.id("fastHit");
+    private static final By FAST_MISS = By.id("fastMiss");
+    private static final By FAST_HIT_AFTER_SLOW_START = By.id("fastHitAfterSlowStart");
+
+    private final WebElement slowElement = new RemoteWebElement();
+    private final WebElement fastElement = new RemoteWebElement();
+    private final Map<By, WebElement> elements = ImmutableMap.of(SLOW_HIT, slowElement, FAST_HIT, fastElement);
+    private final CountDownLatch slowLookupStarted = new CountDownLatch(1);
+    private final CountDownLatch slowLookupInterrupted = new CountDownLatch(1);
+
+    private final SearchContext context = new SearchContext() {
+        @Override
+        public <T extends WebElement> List<T> findElements(By by) {
+            return Collections.singletonList(findElement(by));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T extends WebElement> T findElement(By by) {
+            if (by.equals(SLOW_MISS) || by.equals(SLOW_HIT)) {
+                slowLookupStarted.countDown();
+                try {
+                    Thread.sleep(500);
+                } catch (InterruptedException e) {
+                    slowLookupInterrupted.countDown();
+                    throw new NoSuchElementException("interrupted");
+                }
+            }
+            if (by.equals(FAST_HIT_AFTER_SLOW_START)) {
+                awaitSlowLookupStart();
+                return (T) fastElement;
+            }
+            if (!elements.containsKey(by)) {
+                throw new NoSuchElementException(by.toString());
+            }
+            return (T) elements.get(by);
+        }
+    };
+
+    @Test
+    public void sequentialModeIsUsedByDefault() {
+        ByAll byAll = new ByAll(new By[] {SLOW_MISS, FAST_HIT});
+        assertThat(byAll.getLookupMode(), is(ByAll.LookupMode.SEQUENTIAL));
+        assertThat(byAll.findElement(context), sameInstance(fastElement));
+    }
+
+    @Test
+    public void raceReturnsFastestElement() {
+        ByAll byAll = new ByAll(new By[] {SLOW_HIT, SLOW_MISS, FAST_HIT}, ByAll.LookupMode.RACE);
+        long start = System.currentTimeMillis();
+        assertThat(byAll.findElement(context), sameInstance(fastElement));
+        assertThat(System.currentTimeMillis() - start, lessThan(400L));
+    }
+
+    @Test
+    public void prioritizedRaceKeepsLocatorsOrder() {
+        ByAll byAll = new ByAll(new By[] {FAST_MISS, SLOW_HIT, FAST_HIT}, ByAll.LookupMode.PRIORITIZED_RACE);
+        assertThat(byAll.findElement(context), sameInstance(slowElement));
+    }
+
+    @Test
+    public void prioritizedRaceCancelsLowerPriorityLookups() throws InterruptedException {
+        ByAll byAll = new ByAll(new By[] {FAST_HIT_AFTER_SLOW_START, SLOW_MISS}, ByAll.LookupMode.PRIORITIZED_RACE);
+        assertThat(byAll.findElement(context), sameInstance(fastElement));
+        // the slow lookup is running when the fast one wins, so it can only end by the interruption
+        assertThat(slowLookupInterrupted.await(5, TimeUnit.SECONDS), is(true));
+    }
+
+    private void awaitSlowLookupStart() {
+        try {
+            slowLookupStarted.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void raceFailsIfNoLocatorMatches() {
+        new ByAll(new By[] {FAST_MISS, SLOW_MISS}, ByAll.LookupMode.RACE).findElement(context);
+    }
+}
@@ -0,0 +1,59 @@
+package io.appium.java_client.pagefactory_tests;
+
+import static io.appium.java_client.pagefactory.bys.ContentType.HTML_OR_DEFAULT;
+import static io.appium.java_client.pagefactory.bys.ContentType.NATIVE_MOBILE_SPECIFIC;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+import com.google.common.collect.ImmutableMap;
+import io.appium.java_client.pagefactory.bys.ContentMappedBy;
+import org.junit.Test;
+import org.openqa.seleniumone.By;
+import org.openqa.seleniumone.SearchContext;
+import org.openqa.seleniumone.WebElement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class ContentMappedByTest {
+
+    private final By htmlBy = By.cssSelector(".login");
+    private final By nativeBy = By.id("login");
+    private final ContentMappedBy contentMappedBy = new ContentMappedBy(ImmutableMap.of(
+            HTML_OR_DEFAULT, htmlBy, NATIVE_MOBILE_SPECIFIC, nativeBy));
+
+    @Test
+    public void resolvesLocatorWithoutChangingState() {
+        assertThat(contentMappedBy.getBy(HTML_OR_DEFAULT), is(htmlBy));
+        assertThat(contentMappedBy.toString(), is(nativeBy.toString()));
+        assertThat(contentMappedBy.getBy(NATIVE_MOBILE_SPECIFIC), is(nativeBy));
+    }
+
+    @Test
+    public void resolvesLocatorPerSearchContext() {
+        List<By> usedLocators = Collections.synchronizedList(new ArrayList<>());
+        SearchContext context = new SearchContext() {
+            @Override
+            public <T extends WebElement> List<T> findElements(By by) {
+                usedLocators.add(by);
+                return Collections.emptyList();
+            }
+
+            @Override
+            public <T extends WebElement> T findElement(By by) {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        List<Integer> sizes = IntStream.range(0, 100).parallel()
+                .mapToObj(i -> contentMappedBy.findElements(context).size())
+                .collect(Collectors.toList());
+
+        assertThat(sizes.size(), is(100));
+        assertThat(usedLocators.stream().distinct().collect(Collectors.toList()), contains(htmlBy));
+    }
+}
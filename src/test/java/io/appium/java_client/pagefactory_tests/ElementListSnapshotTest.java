@@ -0,0 +1,103 @@
+package io.appium.java_client.pagefactory_tests;
+
+import static io.appium.java_client.pagefactory.ElementListSnapshot.withSnapshot;
+import static io.appium.java_client.pagefactory.utils.ProxyFactory.getEnhancedProxy;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import io.appium.java_client.pagefactory.interceptors.InterceptorOfAListOfElements;
+import org.junit.Test;
+import org.openqa.seleniumone.StaleElementReferenceException;
+import org.openqa.seleniumone.WebElement;
+import org.openqa.seleniumone.remote.RemoteWebElement;
+import org.openqa.seleniumone.support.pagefactory.ElementLocator;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class ElementListSnapshotTest {
+
+    private static class CountingLocator implements ElementLocator {
+        private int lookups;
+
+        @Override
+        public WebElement findElement() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<WebElement> findElements() {
+            lookups++;
+            List<WebElement> result = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                result.add(new RemoteWebElement());
+            }
+            return result;
+        }
+    }
+
+    private static class ListInterceptor extends InterceptorOfAListOfElements {
+        ListInterceptor(ElementLocator locator) {
+            super(locator);
+        }
+
+        @Override
+        protected Object getObject(List<WebElement> elements, Method method, Object[] args) throws Throwable {
+            return method.invoke(elements, args);
+        }
+    }
+
+    private final CountingLocator locator = new CountingLocator();
+    @SuppressWarnings("unchecked")
+    private final List<WebElement> elements = getEnhancedProxy(ArrayList.class, new ListInterceptor(locator));
+
+    @Test
+    public void eachCallLooksUpElementsWithoutSnapshot() {
+        for (int i = 0; i < elements.size(); i++) {
+            elements.get(i);
+        }
+        assertThat(locator.lookups, is(7));
+    }
+
+    @Test
+    public void snapshotLooksUpElementsOnce() {
+        List<WebElement> seen = withSnapshot(elements, list -> {
+            List<WebElement> result = new ArrayList<>();
+            for (int i = 0; i < list.size(); i++) {
+                result.add(list.get(i));
+            }
+            withSnapshot(list, () -> result.add(list.get(0)));
+            return result;
+        });
+        assertThat(locator.lookups, is(1));
+        assertThat(seen.size(), is(4));
+        assertThat(seen.get(3), is(sameInstance(seen.get(0))));
+
+        elements.size();
+        assertThat(locator.lookups, is(2));
+    }
+
+    @Test
+    public void snapshotIsRefreshedIfElementIsStale() {
+        List<WebElement> firstSeen = new ArrayList<>();
+        WebElement element = withSnapshot(elements, list -> {
+            if (firstSeen.isEmpty()) {
+                firstSeen.add(list.get(0));
+                throw new StaleElementReferenceException("stale");
+            }
+            return list.get(0);
+        });
+        assertThat(locator.lookups, is(2));
+        assertThat(element, is(not(sameInstance(firstSeen.get(0)))));
+    }
+
+    @Test
+    public void actionIsPerformedForNotDecoratedList() {
+        List<String> list = Collections.singletonList("item");
+        assertThat(withSnapshot(list, List::size), is(1));
+    }
+}
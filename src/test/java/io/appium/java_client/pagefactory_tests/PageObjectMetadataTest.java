@@ -0,0 +1,61 @@
+package io.appium.java_client.pagefactory_tests;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import io.appium.java_client.pagefactory.AndroidFindBy;
+import io.appium.java_client.pagefactory.AppiumFieldDecorator;
+import org.junit.Test;
+import org.openqa.seleniumone.By;
+import org.openqa.seleniumone.SearchContext;
+import org.openqa.seleniumone.WebElement;
+import org.openqa.seleniumone.remote.RemoteWebElement;
+import org.openqa.seleniumone.support.FindBy;
+import org.openqa.seleniumone.support.PageFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class PageObjectMetadataTest {
+
+    private final List<By> usedLocators = new ArrayList<>();
+
+    private final SearchContext searchContext = new SearchContext() {
+        @Override
+        public <T extends WebElement> List<T> findElements(By by) {
+            return Collections.singletonList(findElement(by));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T extends WebElement> T findElement(By by) {
+            usedLocators.add(by);
+            return (T) new RemoteWebElement();
+        }
+    };
+
+    public static class LoginPage {
+        @AndroidFindBy(accessibility = "login")
+        @FindBy(css = ".login")
+        private List<WebElement> loginButtons;
+    }
+
+    private LoginPage initPage() {
+        LoginPage page = new LoginPage();
+        PageFactory.initElements(new AppiumFieldDecorator(searchContext), page);
+        return page;
+    }
+
+    @Test
+    public void locatorsAreBuiltOncePerPageClass() {
+        assertThat(initPage().loginButtons.size(), is(1));
+        assertThat(initPage().loginButtons.size(), is(1));
+
+        assertThat(usedLocators, hasSize(2));
+        assertThat(usedLocators.get(0).toString(), is(By.cssSelector(".login").toString()));
+        assertThat(usedLocators.get(1), sameInstance(usedLocators.get(0)));
+    }
+}
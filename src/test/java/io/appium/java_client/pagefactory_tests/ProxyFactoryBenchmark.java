@@ -0,0 +1,64 @@
+package io.appium.java_client.pagefactory_tests;
+
+import static io.appium.java_client.pagefactory.utils.ProxyFactory.getEnhancedProxy;
+
+import io.appium.java_client.pagefactory_tests.ProxyFactoryTest.Greeter;
+import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.proxy.MethodInterceptor;
+
+import java.util.function.Supplier;
+
+/**
+ * Measures the cost of a proxy instantiation by {@link io.appium.java_client.pagefactory.utils.ProxyFactory}
+ * against a new {@link Enhancer} per instance, which is how proxies were created before proxy classes
+ * were reused. The first rounds include the class generation and the JIT warm-up.
+ * Run it with the test classpath:
+ * <pre>
+ * java -cp &lt;test classpath&gt; io.appium.java_client.pagefactory_tests.ProxyFactoryBenchmark [instances]
+ * </pre>
+ */
+public final class ProxyFactoryBenchmark {
+    private static final int DEFAULT_INSTANCES = 10_000;
+    private static final int ROUNDS = 5;
+    private static final MethodInterceptor INTERCEPTOR = (obj, method, args, proxy) -> proxy.invokeSuper(obj, args);
+
+    private ProxyFactoryBenchmark() {
+        super();
+    }
+
+    /**
+     * Runs the benchmark and prints the time per instantiation of each approach.
+     *
+     * @param args the optional count of instances to create per round
+     */
+    public static void main(String[] args) {
+        int instances = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_INSTANCES;
+
+        Supplier<Greeter> proxyFactory = () -> getEnhancedProxy(Greeter.class, new Class<?>[] {String.class},
+                new Object[] {"Alice"}, INTERCEPTOR);
+        Supplier<Greeter> enhancerPerInstance = () -> {
+            Enhancer enhancer = new Enhancer();
+            enhancer.setSuperclass(Greeter.class);
+            enhancer.setCallback(INTERCEPTOR);
+            return (Greeter) enhancer.create(new Class<?>[] {String.class}, new Object[] {"Alice"});
+        };
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            System.out.printf("round %d: ProxyFactory %d ns/op, Enhancer per instance %d ns/op%n", round,
+                    measure(proxyFactory, instances), measure(enhancerPerInstance, instances));
+        }
+    }
+
+    private static long measure(Supplier<Greeter> factory, int instances) {
+        int checksum = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < instances; i++) {
+            checksum += factory.get().greet().length();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (checksum == 0) {
+            throw new IllegalStateException("No proxies were created");
+        }
+        return elapsed / instances;
+    }
+}
@@ -0,0 +1,49 @@
+package io.appium.java_client.pagefactory_tests;
+
+import static io.appium.java_client.pagefactory.utils.ProxyFactory.getEnhancedProxy;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import io.appium.java_client.pagefactory.AppiumFieldDecorator;
+import net.sf.cglib.proxy.MethodInterceptor;
+import org.junit.Test;
+
+public class ProxyFactoryTest {
+
+    public static class Greeter {
+        private final String name;
+
+        public Greeter(String name) {
+            this.name = name;
+        }
+
+        public String greet() {
+            return "Hello " + name;
+        }
+    }
+
+    private static MethodInterceptor suffixWith(String suffix) {
+        return (obj, method, args, proxy) -> proxy.invokeSuper(obj, args) + suffix;
+    }
+
+    @Test
+    public void proxyClassIsGeneratedOnce() {
+        Greeter first = getEnhancedProxy(Greeter.class, new Class<?>[] {String.class},
+                new Object[] {"Alice"}, suffixWith("!"));
+        Greeter second = getEnhancedProxy(Greeter.class, new Class<?>[] {String.class},
+                new Object[] {"Bob"}, suffixWith("?"));
+
+        assertThat(second.getClass(), sameInstance(first.getClass()));
+        assertThat(first.greet(), is("Hello Alice!"));
+        assertThat(second.greet(), is("Hello Bob?"));
+    }
+
+    @Test
+    public void proxyClassesCanBeGeneratedInAdvance() {
+        AppiumFieldDecorator.preGenerateProxyClasses();
+        Greeter greeter = getEnhancedProxy(Greeter.class, new Class<?>[] {String.class},
+                new Object[] {"Carol"}, suffixWith("."));
+        assertThat(greeter.greet(), is("Hello Carol."));
+    }
+}
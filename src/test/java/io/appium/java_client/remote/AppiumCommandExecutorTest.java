@@ -0,0 +1,193 @@
+package io.appium.java_client.remote;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.fail;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.net.HttpHeaders;
+
+import io.appium.java_client.MobileCommand;
+import org.junit.Test;
+import org.openqa.seleniumone.ImmutableCapabilities;
+import org.openqa.seleniumone.NoSuchSessionException;
+import org.openqa.seleniumone.SessionNotCreatedException;
+import org.openqa.seleniumone.UnsupportedCommandException;
+import org.openqa.seleniumone.WebDriverException;
+import org.openqa.seleniumone.remote.Command;
+import org.openqa.seleniumone.remote.CommandCodec;
+import org.openqa.seleniumone.remote.CommandInfo;
+import org.openqa.seleniumone.remote.DriverCommand;
+import org.openqa.seleniumone.remote.Response;
+import org.openqa.seleniumone.remote.ResponseCodec;
+import org.openqa.seleniumone.remote.SessionId;
+import org.openqa.seleniumone.remote.codec.jwp.JsonHttpCommandCodec;
+import org.openqa.seleniumone.remote.codec.w3c.W3CHttpCommandCodec;
+import org.openqa.seleniumone.remote.codec.w3c.W3CHttpResponseCodec;
+import org.openqa.seleniumone.remote.http.HttpClient;
+import org.openqa.seleniumone.remote.http.HttpMethod;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class AppiumCommandExecutorTest {
+    private final CannedResponseHttpClientFactory httpClientFactory = new CannedResponseHttpClientFactory();
+
+    private AppiumCommandExecutor createExecutor() throws MalformedURLException {
+        return new AppiumCommandExecutor(MobileCommand.commandRepository,
+                new URL("http://localhost:4723/wd/hub"), httpClientFactory);
+    }
+
+    private static Command newSessionCommand() {
+        return new Command(null, DriverCommand.NEW_SESSION, ImmutableMap.of("desiredCapabilities",
+                new ImmutableCapabilities("platformName", "Android", "deviceName", "emulator")));
+    }
+
+    @Test
+    public void w3cSessionIsCreated() throws MalformedURLException {
+        AppiumCommandExecutor executor = createExecutor();
+        httpClientFactory.respondWith("{\"value\": {\"sessionId\": \"123\", \"capabilities\": {\"platformName\": \"Android\"}}}");
+        Response response = executor.execute(newSessionCommand());
+
+        assertThat(response.getSessionId(), is("123"));
+        assertThat(((Map<?, ?>) response.getValue()).get("platformName"), is("Android"));
+        assertThat(executor.getCommandCodec(), instanceOf(AppiumW3CHttpCommandCodec.class));
+        String payload = httpClientFactory.getRequests().get(0).getContentString();
+        assertThat(payload, containsString("\"appium:deviceName\""));
+        assertThat(httpClientFactory.getRequests().get(0).getHeader(HttpHeaders.CONTENT_LENGTH),
+                is(String.valueOf(payload.getBytes(UTF_8).length)));
+
+        httpClientFactory.respondWith("{\"value\": true}");
+        Response keyboardResponse = executor.execute(new Command(new SessionId("123"),
+                "isKeyboardShown", Collections.emptyMap()));
+        assertThat(keyboardResponse.getValue(), is(true));
+        assertThat(httpClientFactory.getRequests().get(1).getUri(), is("/session/123/appium/device/is_keyboard_shown"));
+    }
+
+    @Test
+    public void ossSessionIsCreated() throws MalformedURLException {
+        AppiumCommandExecutor executor = createExecutor();
+        httpClientFactory.respondWith("{\"status\": 0, \"sessionId\": \"456\", \"value\": {\"platformName\": \"iOS\"}}");
+        Response response = executor.execute(newSessionCommand());
+
+        assertThat(response.getSessionId(), is("456"));
+        assertThat(executor.getCommandCodec(), instanceOf(JsonHttpCommandCodec.class));
+    }
+
+    @Test
+    public void serverErrorIsReported() throws MalformedURLException {
+        AppiumCommandExecutor executor = createExecutor();
+        httpClientFactory.respondWith("{\"value\": {\"error\": \"session not created\", \"message\": \"No device\"}}");
+        try {
+            executor.execute(newSessionCommand());
+            fail("The session is not expected to be created");
+        } catch (SessionNotCreatedException e) {
+            assertThat(e.getMessage(), containsString("No device"));
+        }
+        assertThat(executor.getCommandCodec(), is(nullValue()));
+    }
+
+    @Test
+    public void plainCommandInfoIsDefinedAfterSessionIsCreated() throws MalformedURLException {
+        Map<String, CommandInfo> commands = ImmutableMap.of("custom",
+                new CommandInfo("/session/:sessionId/custom", HttpMethod.GET));
+        AppiumCommandExecutor executor = new AppiumCommandExecutor(commands,
+                new URL("http://localhost:4723/wd/hub"), httpClientFactory);
+        httpClientFactory.respondWith("{\"value\": {\"sessionId\": \"123\", \"capabilities\": {}}}");
+        executor.execute(newSessionCommand());
+
+        httpClientFactory.respondWith("{\"value\": 42}");
+        Response response = executor.execute(new Command(new SessionId("123"), "custom", Collections.emptyMap()));
+        assertThat(((Number) response.getValue()).intValue(), is(42));
+        assertThat(httpClientFactory.getRequests().get(1).getUri(), is("/session/123/custom"));
+    }
+
+    @Test
+    public void quitWithoutSessionIsNotSent() throws MalformedURLException {
+        AppiumCommandExecutor executor = createExecutor();
+        Response response = executor.execute(new Command(null, DriverCommand.QUIT, Collections.emptyMap()));
+
+        assertThat(response.getValue(), is(nullValue()));
+        assertThat(httpClientFactory.getRequests().isEmpty(), is(true));
+    }
+
+    @Test
+    public void otherCommandsWithoutSessionAreRejected() throws MalformedURLException {
+        AppiumCommandExecutor executor = createExecutor();
+        try {
+            executor.execute(new Command(null, DriverCommand.GET_CURRENT_URL, Collections.emptyMap()));
+            fail("The command is not expected to be sent without a session");
+        } catch (NoSuchSessionException e) {
+            assertThat(e.getMessage(), containsString("Session ID is null"));
+        }
+        assertThat(httpClientFactory.getRequests().isEmpty(), is(true));
+    }
+
+    @Test
+    public void allSessionsAreRequestedWithoutSession() throws MalformedURLException {
+        AppiumCommandExecutor executor = createExecutor();
+        httpClientFactory.respondWith("{\"value\": {\"sessionId\": \"123\", \"capabilities\": {}}}");
+        executor.execute(newSessionCommand());
+
+        httpClientFactory.respondWith("{\"value\": [{\"id\": \"123\"}]}");
+        Response response = executor.execute(new Command(null, DriverCommand.GET_ALL_SESSIONS,
+                Collections.emptyMap()));
+        assertThat(((List<?>) response.getValue()).size(), is(1));
+        assertThat(httpClientFactory.getRequests().get(1).getUri(), is("/sessions"));
+    }
+
+    @Test
+    public void unsupportedCommandWithMessageIsRethrown() throws MalformedURLException {
+        CannedResponseHttpClientFactory failingFactory = new CannedResponseHttpClientFactory(request -> {
+            throw new UnsupportedCommandException("Not implemented by the driver");
+        });
+        AppiumCommandExecutor executor = new AppiumCommandExecutor(MobileCommand.commandRepository,
+                new URL("http://localhost:4723/wd/hub"), failingFactory);
+        failingFactory.respondWith("{\"value\": {\"sessionId\": \"123\", \"capabilities\": {}}}");
+        executor.execute(newSessionCommand());
+        try {
+            executor.execute(new Command(new SessionId("123"), DriverCommand.GET_CURRENT_URL,
+                    Collections.emptyMap()));
+            fail("The command is not expected to be supported");
+        } catch (UnsupportedCommandException e) {
+            assertThat(e.getMessage(), containsString("Not implemented by the driver"));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void deprecatedFieldAccessorsUseExecutorState() throws MalformedURLException {
+        AppiumCommandExecutor executor = createExecutor();
+        httpClientFactory.respondWith("{\"value\": {\"sessionId\": \"123\", \"capabilities\": {}}}");
+        executor.execute(newSessionCommand());
+
+        assertThat(executor.getPrivateFieldValue("commandCodec", CommandCodec.class),
+                is(sameInstance(executor.getCommandCodec())));
+        assertThat(executor.getPrivateFieldValue("client", HttpClient.class),
+                is(sameInstance(executor.getClient())));
+        assertThat(executor.getPrivateFieldValue("additionalCommands", Map.class).containsKey("isKeyboardShown"),
+                is(true));
+
+        W3CHttpCommandCodec commandCodec = new W3CHttpCommandCodec();
+        executor.setPrivateFieldValue("commandCodec", commandCodec);
+        assertThat(executor.getCommandCodec(), is(sameInstance(commandCodec)));
+        W3CHttpResponseCodec responseCodec = new W3CHttpResponseCodec();
+        executor.setPrivateFieldValue("responseCodec", responseCodec);
+        assertThat(executor.getPrivateFieldValue("responseCodec", ResponseCodec.class),
+                is(sameInstance(responseCodec)));
+        try {
+            executor.setPrivateFieldValue("additionalCommands", Collections.emptyMap());
+            fail("Additional commands are not expected to be changed");
+        } catch (WebDriverException e) {
+            assertThat(e.getMessage(), containsString("cannot be changed"));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package io.appium.java_client.remote;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.net.HttpHeaders;
+
+import org.openqa.seleniumone.remote.http.HttpClient;
+import org.openqa.seleniumone.remote.http.HttpRequest;
+import org.openqa.seleniumone.remote.http.HttpResponse;
+import org.openqa.seleniumone.remote.http.WebSocket;
+
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Creates HTTP clients which record requests and answer them with canned response bodies.
+ * Queued responses are returned in order, then the default responder answers
+ * every further request. Bodies which contain an error are returned with the 500 status.
+ */
+public final class CannedResponseHttpClientFactory implements HttpClient.Factory {
+    private final List<HttpRequest> requests = new ArrayList<>();
+    private final Deque<String> responses = new ArrayDeque<>();
+    private final Function<HttpRequest, String> defaultResponder;
+
+    public CannedResponseHttpClientFactory() {
+        this((String) null);
+    }
+
+    public CannedResponseHttpClientFactory(String defaultResponse) {
+        this(request -> defaultResponse);
+    }
+
+    /**
+     * Creates the factory whose clients answer requests by the given function.
+     *
+     * @param defaultResponder returns the response body for the given request or null if it is unexpected
+     */
+    public CannedResponseHttpClientFactory(Function<HttpRequest, String> defaultResponder) {
+        this.defaultResponder = defaultResponder;
+    }
+
+    public CannedResponseHttpClientFactory respondWith(String content) {
+        responses.add(content);
+        return this;
+    }
+
+    public List<HttpRequest> getRequests() {
+        return requests;
+    }
+
+    private HttpResponse respond(HttpRequest request) {
+        requests.add(request);
+        String content = responses.isEmpty() ? defaultResponder.apply(request) : responses.poll();
+        if (content == null) {
+            throw new IllegalStateException("No response is defined for " + request);
+        }
+        byte[] body = content.getBytes(UTF_8);
+        HttpResponse response = new HttpResponse();
+        response.setStatus(content.contains("\"error\"") ? 500 : 200);
+        response.setHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(body.length));
+        response.setContent(body);
+        return response;
+    }
+
+    @Override
+    public HttpClient.Builder builder() {
+        return new HttpClient.Builder() {
+            @Override
+            public HttpClient createClient(URL url) {
+                return new HttpClient() {
+                    @Override
+                    public HttpResponse execute(HttpRequest request) {
+                        return respond(request);
+                    }
+
+                    @Override
+                    public WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+        };
+    }
+
+    @Override
+    public void cleanupIdleClients() {
+        // nothing to clean up
+    }
+}
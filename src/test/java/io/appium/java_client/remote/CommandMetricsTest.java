@@ -0,0 +1,141 @@
+package io.appium.java_client.remote;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.fail;
+
+import com.google.common.collect.ImmutableMap;
+
+import io.appium.java_client.ErrorCodesMobile;
+import io.appium.java_client.MobileCommand;
+import io.appium.java_client.remote.metrics.InMemoryCommandMetrics;
+import io.appium.java_client.remote.metrics.LatencyHistogram;
+import org.junit.Test;
+import org.openqa.seleniumone.WebDriverException;
+import org.openqa.seleniumone.remote.Command;
+import org.openqa.seleniumone.remote.DriverCommand;
+import org.openqa.seleniumone.remote.SessionId;
+import org.openqa.seleniumone.remote.codec.w3c.W3CHttpResponseCodec;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+public class CommandMetricsTest {
+    private static final String RESPONSE = "{\"value\": \"NATIVE_APP\"}";
+
+    private static AppiumCommandExecutor createExecutor(boolean hasSession) throws MalformedURLException {
+        AppiumCommandExecutor executor = new AppiumCommandExecutor(MobileCommand.commandRepository,
+                new URL("http://localhost:4723/wd/hub"), new CannedResponseHttpClientFactory(RESPONSE));
+        if (hasSession) {
+            executor.setCommandCodec(new AppiumW3CHttpCommandCodec());
+            executor.setResponseCodec(new W3CHttpResponseCodec());
+        }
+        return executor;
+    }
+
+    @Test
+    public void successfulCommandsAreRecorded() throws MalformedURLException {
+        InMemoryCommandMetrics metrics = new InMemoryCommandMetrics();
+        AppiumCommandExecutor executor = createExecutor(true);
+        executor.setMetricsRecorder(metrics);
+        for (int i = 0; i < 3; i++) {
+            executor.execute(new Command(new SessionId("1"), DriverCommand.GET_CURRENT_URL,
+                    Collections.emptyMap()));
+        }
+
+        InMemoryCommandMetrics.CommandStats stats = metrics.getStats(DriverCommand.GET_CURRENT_URL);
+        assertThat(stats.getLatency().getCount(), is(3L));
+        assertThat(stats.getInFlight(), is(0L));
+        assertThat(stats.getResponseBytes(), is(3L * RESPONSE.getBytes(UTF_8).length));
+        assertThat(stats.getErrorCounts().isEmpty(), is(true));
+        assertThat(metrics.getCommandCounts(), is(ImmutableMap.of(DriverCommand.GET_CURRENT_URL, 3L)));
+    }
+
+    @Test
+    public void failedCommandsAreRecordedWithStatus() throws MalformedURLException {
+        InMemoryCommandMetrics metrics = new InMemoryCommandMetrics();
+        AppiumCommandExecutor executor = createExecutor(false);
+        executor.setMetricsRecorder(metrics);
+        try {
+            executor.execute(new Command(new SessionId("1"), DriverCommand.GET_CURRENT_URL,
+                    Collections.emptyMap()));
+            fail("The command is expected to fail without a session codec");
+        } catch (WebDriverException e) {
+            // expected
+        }
+
+        assertThat(metrics.getStats(DriverCommand.GET_CURRENT_URL).getErrorCounts(),
+                is(ImmutableMap.of(ErrorCodesMobile.UNHANDLED_ERROR, 1L)));
+        assertThat(metrics.getErrorCounts(), is(ImmutableMap.of(
+                DriverCommand.GET_CURRENT_URL + ":" + ErrorCodesMobile.UNHANDLED_ERROR, 1L)));
+    }
+
+    @Test
+    public void directlyExecutedCommandsAreRecorded() throws IOException {
+        InMemoryCommandMetrics metrics = new InMemoryCommandMetrics();
+        AppiumCommandExecutor executor = createExecutor(true);
+        executor.setMetricsRecorder(metrics);
+        String result = executor.executeDirectly("pushFile", payloadSizes -> {
+            payloadSizes[0] = 100;
+            payloadSizes[1] = 15;
+            return "done";
+        });
+        try {
+            executor.executeDirectly("pushFile", payloadSizes -> {
+                throw new WebDriverException("No space left on device");
+            });
+            fail("The error of the call is expected to be thrown");
+        } catch (WebDriverException e) {
+            // expected
+        }
+
+        assertThat(result, is("done"));
+        InMemoryCommandMetrics.CommandStats stats = metrics.getStats("pushFile");
+        assertThat(stats.getLatency().getCount(), is(2L));
+        assertThat(stats.getInFlight(), is(0L));
+        assertThat(stats.getRequestBytes(), is(100L));
+        assertThat(stats.getResponseBytes(), is(15L));
+        assertThat(stats.getErrorCounts(), is(ImmutableMap.of(ErrorCodesMobile.UNHANDLED_ERROR, 1L)));
+    }
+
+    @Test
+    public void commandsInFlightAreKeptOnReset() {
+        InMemoryCommandMetrics metrics = new InMemoryCommandMetrics();
+        metrics.onCommandStarted(DriverCommand.GET_CURRENT_URL);
+        metrics.onCommandFinished(DriverCommand.GET_CURRENT_URL, 1000, 10, 20, ErrorCodesMobile.UNHANDLED_ERROR);
+        metrics.onCommandStarted(DriverCommand.GET_CURRENT_URL);
+        metrics.reset();
+
+        InMemoryCommandMetrics.CommandStats stats = metrics.getStats(DriverCommand.GET_CURRENT_URL);
+        assertThat(stats.getInFlight(), is(1L));
+        assertThat(stats.getLatency().getCount(), is(0L));
+        assertThat(stats.getRequestBytes(), is(0L));
+        assertThat(stats.getErrorCounts().isEmpty(), is(true));
+
+        metrics.onCommandFinished(DriverCommand.GET_CURRENT_URL, 2000, 10, 20, ErrorCodesMobile.SUCCESS);
+        assertThat(stats.getInFlight(), is(0L));
+        assertThat(stats.getLatency().getCount(), is(1L));
+        assertThat(stats.getLatency().getMax(), is(2000L));
+        assertThat(metrics.getInFlightCommands(), is(ImmutableMap.of(DriverCommand.GET_CURRENT_URL, 0L)));
+    }
+
+    @Test
+    public void histogramPercentilesAreAccurate() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(i));
+        }
+        assertThat(histogram.getCount(), is(1000L));
+        assertThat(histogram.getMax(), is(TimeUnit.MICROSECONDS.toNanos(1000)));
+        long median = histogram.getValueAtPercentile(50);
+        assertThat(median, greaterThan(TimeUnit.MICROSECONDS.toNanos(500)));
+        assertThat(median, lessThanOrEqualTo(TimeUnit.MICROSECONDS.toNanos(500) * 1033 / 1000));
+        assertThat(histogram.getValueAtPercentile(100), is(histogram.getMax()));
+    }
+}
@@ -0,0 +1,75 @@
+package io.appium.java_client.remote;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.openqa.seleniumone.json.Json.MAP_TYPE;
+
+import org.junit.Test;
+import org.openqa.seleniumone.Capabilities;
+import org.openqa.seleniumone.json.Json;
+import org.openqa.seleniumone.remote.DesiredCapabilities;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class NewAppiumSessionPayloadTest {
+
+    private static DesiredCapabilities getCapabilities() {
+        DesiredCapabilities caps = new DesiredCapabilities();
+        caps.setCapability(MobileCapabilityType.PLATFORM_NAME, "Android");
+        caps.setCapability(MobileCapabilityType.DEVICE_NAME, "Android Emulator");
+        caps.setCapability(MobileCapabilityType.APP, "UEsDBBQAAAAIAA==");
+        caps.setCapability(AndroidMobileCapabilityType.APP_ACTIVITY, ".ApiDemos");
+        return caps;
+    }
+
+    private static Map<String, Object> write(NewAppiumSessionPayload payload) throws IOException {
+        StringBuilder result = new StringBuilder();
+        payload.writeTo(result);
+        return new Json().toType(result.toString(), MAP_TYPE);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void writesBothOssAndW3CCapabilities() throws IOException {
+        try (NewAppiumSessionPayload payload = NewAppiumSessionPayload.create(getCapabilities())) {
+            Map<String, Object> json = write(payload);
+
+            Map<String, Object> desired = (Map<String, Object>) json.get("desiredCapabilities");
+            assertThat(desired, hasEntry(MobileCapabilityType.DEVICE_NAME, "Android Emulator"));
+
+            Map<String, Object> w3c = (Map<String, Object>) json.get("capabilities");
+            List<Map<String, Object>> firstMatch = (List<Map<String, Object>>) w3c.get("firstMatch");
+            assertThat(firstMatch, hasSize(1));
+            assertThat(firstMatch.get(0), hasEntry("appium:deviceName", "Android Emulator"));
+            assertThat(firstMatch.get(0), hasEntry("appium:appActivity", ".ApiDemos"));
+            assertThat(firstMatch.get(0), hasEntry("platformName", "android"));
+        }
+    }
+
+    @Test
+    public void skipsW3CCapabilitiesIfMobileJsonWireProtocolIsForced() throws IOException {
+        DesiredCapabilities caps = getCapabilities();
+        caps.setCapability(MobileCapabilityType.FORCE_MJSONWP, true);
+        try (NewAppiumSessionPayload payload = NewAppiumSessionPayload.create(caps)) {
+            Map<String, Object> json = write(payload);
+            assertThat(json, hasKey("desiredCapabilities"));
+            assertThat(json, not(hasKey("capabilities")));
+        }
+    }
+
+    @Test
+    public void payloadCanBeWrittenAndStreamedRepeatedly() throws IOException {
+        try (NewAppiumSessionPayload payload = NewAppiumSessionPayload.create(getCapabilities())) {
+            assertThat(write(payload), is(write(payload)));
+            List<Capabilities> capabilities = payload.stream().collect(Collectors.toList());
+            assertThat(capabilities.get(0).getCapability(MobileCapabilityType.APP), is("UEsDBBQAAAAIAA=="));
+        }
+    }
+}
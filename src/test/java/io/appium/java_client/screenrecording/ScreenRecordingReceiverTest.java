@@ -0,0 +1,213 @@
+package io.appium.java_client.screenrecording;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.fail;
+
+import io.appium.java_client.MobileCommand;
+import io.appium.java_client.android.AndroidStopScreenRecordingOptions;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openqa.seleniumone.WebDriverException;
+import org.openqa.seleniumone.remote.Response;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Random;
+
+public class ScreenRecordingReceiverTest {
+    private static final String BOUNDARY = "cbe0b7fb-4d3c-4b73-b5c2-44f4e4bb8a59";
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private ScreenRecordingReceiver receiver;
+
+    @Before
+    public void startReceiver() throws IOException {
+        receiver = ScreenRecordingReceiver.start();
+        receiver.setUploadTimeout(Duration.ofSeconds(5));
+    }
+
+    @After
+    public void stopReceiver() {
+        receiver.close();
+    }
+
+    private static byte[] createRecording(int size) {
+        byte[] content = new byte[size];
+        new Random(size).nextBytes(content);
+        // parts of the delimiter inside of the content must not break the parsing
+        byte[] delimiterPrefix = ("\r\n--" + BOUNDARY.substring(0, 10)).getBytes(US_ASCII);
+        for (int position : new int[] {100, 64 * 1024 - 5}) {
+            if (position + delimiterPrefix.length <= size) {
+                System.arraycopy(delimiterPrefix, 0, content, position, delimiterPrefix.length);
+            }
+        }
+        return content;
+    }
+
+    private static byte[] toMultipartBody(byte[] content) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write(("--" + BOUNDARY + "\r\n\r\n").getBytes(US_ASCII));
+        body.write(content);
+        body.write(("\r\n--" + BOUNDARY + "--").getBytes(US_ASCII));
+        return body.toByteArray();
+    }
+
+    private static int upload(String url, String contentType, byte[] body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setRequestMethod("PUT");
+        connection.setDoOutput(true);
+        connection.setChunkedStreamingMode(8192);
+        connection.setRequestProperty("Content-Type", contentType);
+        try (OutputStream os = connection.getOutputStream()) {
+            os.write(body);
+        }
+        return connection.getResponseCode();
+    }
+
+    @Test
+    public void multipartUploadIsReceived() throws IOException {
+        byte[] recording = createRecording(200 * 1024 + 3);
+        Path destination = folder.getRoot().toPath().resolve("video.mp4");
+        try (ScreenRecordingReceiver.Upload upload = receiver.expectUpload(destination)) {
+            Map<String, Object> options = upload.getUploadOptions().build();
+            assertThat(options.get("method"), is("PUT"));
+            int status = upload((String) options.get("remotePath"),
+                    "multipart/related; boundary=" + BOUNDARY, toMultipartBody(recording));
+            assertThat(status, is(200));
+            assertThat(upload.awaitCompletion(), is(destination));
+        }
+        assertThat(Files.readAllBytes(destination), is(recording));
+    }
+
+    @Test
+    public void rawUploadIsReceived() throws IOException {
+        byte[] recording = createRecording(1024);
+        Path destination = folder.getRoot().toPath().resolve("video.mp4");
+        try (ScreenRecordingReceiver.Upload upload = receiver.expectUpload(destination)) {
+            String url = (String) upload.getUploadOptions().build().get("remotePath");
+            assertThat(upload(url, "video/mp4", recording), is(200));
+            upload.awaitCompletion();
+        }
+        assertThat(Files.readAllBytes(destination), is(recording));
+    }
+
+    @Test
+    public void unexpectedUploadIsRejected() throws IOException {
+        Path destination = folder.getRoot().toPath().resolve("video.mp4");
+        String url;
+        try (ScreenRecordingReceiver.Upload upload = receiver.expectUpload(destination)) {
+            url = (String) upload.getUploadOptions().build().get("remotePath");
+        }
+        assertThat(upload(url, "video/mp4", createRecording(10)), is(404));
+        assertThat(Files.exists(destination), is(false));
+    }
+
+    @Test
+    public void recordingIsUploadedWhenStopped() throws IOException {
+        byte[] recording = createRecording(100 * 1024);
+        StubDriver driver = new StubDriver(recording);
+        Path destination = folder.getRoot().toPath().resolve("video.mp4");
+        driver.stopRecordingScreen(new AndroidStopScreenRecordingOptions(), receiver, destination);
+        assertThat(Files.readAllBytes(destination), is(recording));
+    }
+
+    @Test
+    public void uploadOptionsOfCallerAreNotChanged() throws IOException {
+        byte[] recording = createRecording(1024);
+        StubDriver driver = new StubDriver(recording);
+        AndroidStopScreenRecordingOptions options = new AndroidStopScreenRecordingOptions()
+                .withUploadOptions(ScreenRecordingUploadOptions.uploadOptions()
+                        .withRemotePath("ftp://example.com/video.mp4")
+                        .withAuthCredentials("user", "secret"));
+        Map<String, Object> expectedOptions = options.build();
+        Path destination = folder.getRoot().toPath().resolve("video.mp4");
+        driver.stopRecordingScreen(options, receiver, destination);
+
+        assertThat(Files.readAllBytes(destination), is(recording));
+        assertThat(options.build(), is(expectedOptions));
+        assertThat(driver.sentOptions.get("remotePath"), is(not("ftp://example.com/video.mp4")));
+        assertThat(driver.sentOptions.containsKey("user"), is(false));
+    }
+
+    @Test
+    public void missingUploadIsReported() throws IOException {
+        receiver.setUploadTimeout(Duration.ofMillis(100));
+        StubDriver driver = new StubDriver(null);
+        try {
+            driver.stopRecordingScreen(new AndroidStopScreenRecordingOptions(), receiver,
+                    folder.getRoot().toPath().resolve("video.mp4"));
+            fail("The recording is not expected to be received");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void recordingIsDecodedToFile() throws IOException {
+        byte[] recording = createRecording(1000);
+        StubDriver driver = new StubDriver(recording);
+        Path destination = folder.getRoot().toPath().resolve("video.mp4");
+        driver.stopRecordingScreen(destination);
+        assertThat(Files.readAllBytes(destination), is(recording));
+    }
+
+    /**
+     * Simulates the Appium server, which uploads the recording if upload options are provided.
+     * The driver is not connected to a server, so responses are retrieved by regular commands.
+     */
+    private static class StubDriver implements CanRecordScreen {
+        private final byte[] recording;
+        private Map<?, ?> sentOptions;
+
+        private StubDriver(byte[] recording) {
+            this.recording = recording;
+        }
+
+        @Override
+        public Response execute(String driverCommand, Map<String, ?> parameters) {
+            if (!MobileCommand.STOP_RECORDING_SCREEN.equals(driverCommand)) {
+                throw new WebDriverException("Unexpected command " + driverCommand);
+            }
+            Response response = new Response();
+            Map<?, ?> options = (Map<?, ?>) parameters.get("options");
+            sentOptions = options;
+            if (options == null || !options.containsKey("remotePath")) {
+                response.setValue(Base64.getMimeEncoder().encodeToString(recording));
+                return response;
+            }
+            if (recording != null) {
+                try {
+                    upload((String) options.get("remotePath"), "multipart/related; boundary=" + BOUNDARY,
+                            toMultipartBody(recording));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            response.setValue("");
+            return response;
+        }
+
+        @Override
+        public Response execute(String driverCommand) {
+            return execute(driverCommand, Collections.emptyMap());
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package io.appium.java_client.service.local;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.base.Strings;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Measures the cost of splitting the server output into log messages by {@link LineSplittingOutputStream}
+ * against the per-byte {@link StringBuilder} and regular expression stream, which was used by
+ * {@link AppiumDriverLocalService#addLogMessageConsumer(Consumer)} before. The output is written in blocks,
+ * the same way as the server process output is copied. The first rounds include the JIT warm-up.
+ * Run it with the test classpath:
+ * <pre>
+ * java -cp &lt;test classpath&gt; io.appium.java_client.service.local.LineSplittingOutputStreamBenchmark [line length]
+ * </pre>
+ */
+public final class LineSplittingOutputStreamBenchmark {
+    private static final int DEFAULT_LINE_LENGTH = 4_000;
+    private static final int LINES = 20;
+    private static final int BLOCK_SIZE = 8192;
+    private static final int ROUNDS = 5;
+
+    private LineSplittingOutputStreamBenchmark() {
+        super();
+    }
+
+    /**
+     * Runs the benchmark and prints the time per written line of each implementation.
+     *
+     * @param args the optional length of each line in characters
+     * @throws IOException if the output cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        int lineLength = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_LINE_LENGTH;
+        byte[] output = Strings.repeat(Strings.repeat("x", lineLength) + "\n", LINES).getBytes(UTF_8);
+
+        Function<Consumer<String>, OutputStream> splittingStream = consumer ->
+                new LineSplittingOutputStream(consumer, UTF_8, LineSplittingOutputStream.DEFAULT_MAX_LINE_LENGTH);
+        Function<Consumer<String>, OutputStream> regexStream = RegexLineStream::new;
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            System.out.printf("round %d: LineSplittingOutputStream %d ns/line, StringBuilder and regex %d ns/line%n",
+                    round, measure(splittingStream, output), measure(regexStream, output));
+        }
+    }
+
+    private static long measure(Function<Consumer<String>, OutputStream> streamFactory,
+                                byte[] output) throws IOException {
+        int[] lines = new int[1];
+        long start = System.nanoTime();
+        try (OutputStream stream = streamFactory.apply(line -> lines[0]++)) {
+            for (int offset = 0; offset < output.length; offset += BLOCK_SIZE) {
+                stream.write(output, offset, Math.min(BLOCK_SIZE, output.length - offset));
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (lines[0] != LINES) {
+            throw new IllegalStateException(String.format("%d lines are expected, but %d were received",
+                    LINES, lines[0]));
+        }
+        return elapsed / LINES;
+    }
+
+    /**
+     * The previous implementation, which checks the whole buffered line after each byte.
+     */
+    private static class RegexLineStream extends OutputStream {
+        private static final Pattern LOG_MESSAGE_PATTERN = Pattern.compile("^(.*)\\R");
+
+        private final Consumer<String> consumer;
+        private StringBuilder lineBuilder = new StringBuilder();
+
+        RegexLineStream(Consumer<String> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void write(int chr) {
+            lineBuilder.append((char) chr);
+            Matcher matcher = LOG_MESSAGE_PATTERN.matcher(lineBuilder.toString());
+            if (matcher.matches()) {
+                consumer.accept(matcher.group(1));
+                lineBuilder = new StringBuilder();
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package io.appium.java_client.service.local;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class LineSplittingOutputStreamTest {
+
+    private final List<String> lines = new ArrayList<>();
+
+    @Test
+    public void canSplitLinesWrittenInBlocks() {
+        try (LineSplittingOutputStream stream = new LineSplittingOutputStream(lines::add, UTF_8,
+            LineSplittingOutputStream.DEFAULT_MAX_LINE_LENGTH)) {
+            byte[] data = "[ADB] first\n[debug] [XCUITest] second\r\nthird\rfourth".getBytes(UTF_8);
+            stream.write(data, 0, data.length);
+            assertThat(lines, contains("[ADB] first", "[debug] [XCUITest] second", "third"));
+        }
+        assertThat(lines, contains("[ADB] first", "[debug] [XCUITest] second", "third", "fourth"));
+    }
+
+    @Test
+    public void canDecodeMultibyteCharactersSplitBetweenWrites() {
+        try (LineSplittingOutputStream stream = new LineSplittingOutputStream(lines::add, UTF_8,
+            LineSplittingOutputStream.DEFAULT_MAX_LINE_LENGTH)) {
+            byte[] data = "\u00e9l\u00e8ve \u2603\n".getBytes(UTF_8);
+            for (byte chr : data) {
+                stream.write(chr);
+            }
+        }
+        assertThat(lines, contains("\u00e9l\u00e8ve \u2603"));
+    }
+
+    @Test
+    public void canSplitTooLongLines() {
+        try (LineSplittingOutputStream stream = new LineSplittingOutputStream(lines::add, UTF_8, 4)) {
+            byte[] data = "abcdefgh\nij\n".getBytes(UTF_8);
+            stream.write(data, 0, data.length);
+        }
+        assertThat(lines, contains("abcd", "efgh", "ij"));
+    }
+
+    @Test
+    public void consumerFailureDoesNotBreakStream() {
+        LineSplittingOutputStream stream = new LineSplittingOutputStream(line -> {
+            if (line.isEmpty()) {
+                throw new IllegalStateException();
+            }
+            lines.add(line);
+        }, UTF_8, LineSplittingOutputStream.DEFAULT_MAX_LINE_LENGTH);
+        byte[] data = "\n\nline\n".getBytes(UTF_8);
+        stream.write(data, 0, data.length);
+        assertThat(lines, contains("line"));
+        stream.close();
+        stream.write(data, 0, data.length);
+        assertThat(lines, contains("line"));
+    }
+}
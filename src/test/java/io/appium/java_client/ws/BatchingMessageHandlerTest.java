@@ -0,0 +1,123 @@
+package io.appium.java_client.ws;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class BatchingMessageHandlerTest {
+
+    @Test
+    public void messagesAreDeliveredInBatchesAndInOrder() {
+        List<List<String>> batches = new CopyOnWriteArrayList<>();
+        BatchingMessageHandler<String> handler = new BatchingMessageHandler<>(batches::add, 100, 4,
+            Duration.ofSeconds(1), BatchingMessageHandler.OverflowPolicy.BLOCK);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            handler.accept("line " + i);
+            expected.add("line " + i);
+        }
+        handler.close();
+
+        List<String> delivered = new ArrayList<>();
+        batches.forEach(delivered::addAll);
+        assertThat(delivered, is(expected));
+        List<Integer> sizes = new ArrayList<>();
+        batches.forEach(batch -> sizes.add(batch.size()));
+        assertThat(sizes, everyItem(lessThanOrEqualTo(4)));
+        assertThat(handler.getReceivedCount(), is(10L));
+        assertThat(handler.getDeliveredCount(), is(10L));
+        assertThat(handler.getDroppedCount(), is(0L));
+    }
+
+    @Test
+    public void incompleteBatchIsDeliveredAfterDelay() throws InterruptedException {
+        CountDownLatch delivered = new CountDownLatch(1);
+        List<List<String>> batches = new CopyOnWriteArrayList<>();
+        BatchingMessageHandler<String> handler = new BatchingMessageHandler<>(batch -> {
+            batches.add(batch);
+            delivered.countDown();
+        }, 100, 100, Duration.ofMillis(50), BatchingMessageHandler.OverflowPolicy.BLOCK);
+        handler.accept("single");
+        assertThat(delivered.await(5, TimeUnit.SECONDS), is(true));
+        assertThat(batches.get(0), contains("single"));
+        handler.close();
+    }
+
+    @Test
+    public void oldestMessagesAreDroppedOnOverflow() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> delivered = new CopyOnWriteArrayList<>();
+        BatchingMessageHandler<String> handler = new BatchingMessageHandler<>(batch -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            delivered.addAll(batch);
+        }, 2, 1, Duration.ZERO, BatchingMessageHandler.OverflowPolicy.DROP_OLDEST);
+        handler.accept("first");
+        started.await(5, TimeUnit.SECONDS);
+        for (int i = 0; i < 5; i++) {
+            handler.accept("next " + i);
+        }
+        assertThat(handler.getQueueDepth(), is(2));
+        release.countDown();
+        handler.close();
+
+        assertThat(delivered, contains("first", "next 3", "next 4"));
+        assertThat(handler.getDroppedCount(), is(3L));
+    }
+
+    @Test
+    public void newestMessagesAreDroppedOnOverflow() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> delivered = new CopyOnWriteArrayList<>();
+        BatchingMessageHandler<String> handler = new BatchingMessageHandler<>(batch -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            delivered.addAll(batch);
+        }, 2, 1, Duration.ZERO, BatchingMessageHandler.OverflowPolicy.DROP_NEWEST);
+        handler.accept("first");
+        started.await(5, TimeUnit.SECONDS);
+        for (int i = 0; i < 5; i++) {
+            handler.accept("next " + i);
+        }
+        release.countDown();
+        handler.close();
+
+        assertThat(delivered, contains("first", "next 0", "next 1"));
+        assertThat(handler.getDroppedCount(), is(3L));
+    }
+
+    @Test
+    public void handlerIsClosedWhenHandlersAreRemoved() {
+        StringWebSocketClient client = new StringWebSocketClient();
+        List<String> delivered = new CopyOnWriteArrayList<>();
+        BatchingMessageHandler<String> handler = new BatchingMessageHandler<>(delivered::addAll);
+        client.addMessageHandler(handler);
+        client.onMessage(null, "message");
+        client.removeAllHandlers();
+
+        assertThat(delivered, contains("message"));
+        handler.accept("ignored");
+        assertThat(handler.getDroppedCount(), is(1L));
+    }
+}
@@ -0,0 +1,84 @@
+package io.appium.java_client.ws;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+public class RingFileMessageSinkTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void linesCanBeExtractedByNumbers() throws IOException {
+        try (RingFileMessageSink sink = new RingFileMessageSink(folder.getRoot().toPath(), 1024, 2)) {
+            for (int i = 0; i < 5; i++) {
+                sink.accept("line " + i);
+            }
+            assertThat(sink.getLineCount(), is(5L));
+            assertThat(sink.getFirstAvailableLineNumber(), is(0L));
+            assertThat(sink.getLines(1, 3), contains("line 1", "line 2"));
+            assertThat(sink.getLines(10, 20), is(empty()));
+        }
+    }
+
+    @Test
+    public void oldestSegmentIsOverwritten() throws IOException {
+        // each record takes 12 bytes of the header and 6 bytes of the line
+        try (RingFileMessageSink sink = new RingFileMessageSink(folder.getRoot().toPath(), 40, 3)) {
+            for (int i = 0; i < 10; i++) {
+                sink.accept("line " + i);
+            }
+            assertThat(sink.getFirstAvailableLineNumber(), is(4L));
+            assertThat(sink.getLines(0, 10),
+                contains("line 4", "line 5", "line 6", "line 7", "line 8", "line 9"));
+        }
+    }
+
+    @Test
+    public void linesCanBeExtractedByTime() throws IOException, InterruptedException {
+        try (RingFileMessageSink sink = new RingFileMessageSink(folder.getRoot().toPath(), 1024, 2)) {
+            sink.accept("before");
+            Thread.sleep(20);
+            Instant started = Instant.now();
+            sink.accept("\u00e9l\u00e8ve");
+            sink.accept("second");
+            Instant finished = Instant.now().plusMillis(1);
+
+            List<String> lines = sink.getLines(started, finished);
+            assertThat(lines, contains("\u00e9l\u00e8ve", "second"));
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            sink.copyLines(started, finished, output);
+            assertThat(new String(output.toByteArray(), UTF_8), is("\u00e9l\u00e8ve\nsecond\n"));
+        }
+    }
+
+    @Test
+    public void tooLongLinesAreTruncated() throws IOException {
+        try (RingFileMessageSink sink = new RingFileMessageSink(folder.getRoot().toPath(), 16, 2)) {
+            sink.accept("abcdefgh");
+            assertThat(sink.getLines(0, 1), contains("abcd"));
+        }
+    }
+
+    @Test
+    public void tooLongLinesAreTruncatedOnCharacterBoundary() throws IOException {
+        try (RingFileMessageSink sink = new RingFileMessageSink(folder.getRoot().toPath(), 16, 2)) {
+            // 1 + 2 + 3 bytes, the euro sign does not fit into four bytes
+            sink.accept("a\u00e9\u20ac");
+            // 1 + 1 + 4 bytes, the surrogate pair is encoded as a single character
+            sink.accept("ab\ud83d\ude00");
+            assertThat(sink.getLines(0, 2), contains("a\u00e9", "ab"));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package io.appium.java_client.ws;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import okhttp3.OkHttpClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.seleniumone.remote.http.HttpClient;
+
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.URL;
+import java.time.Duration;
+
+public class WebSocketClientFactoryTest {
+
+    private OkHttpClient originalClient;
+
+    @Before
+    public void setUp() {
+        originalClient = WebSocketClientFactory.getClient();
+    }
+
+    @After
+    public void tearDown() {
+        WebSocketClientFactory.setClient(originalClient);
+    }
+
+    @Test
+    public void sharedClientAllowsManyConnectionsToTheSameHost() {
+        WebSocketClientFactory.setMaxConnections(60);
+        OkHttpClient client = WebSocketClientFactory.getClient();
+        assertThat(client.dispatcher().getMaxRequestsPerHost(), is(60));
+        assertThat(client.readTimeoutMillis(), is(0));
+        assertThat(WebSocketClientFactory.getClient(), is(sameInstance(client)));
+    }
+
+    @Test
+    public void settingsOfHttpClientFactoryAreApplied() {
+        OkHttpClient original = WebSocketClientFactory.getClient();
+        Proxy proxy = new Proxy(Proxy.Type.HTTP, InetSocketAddress.createUnresolved("localhost", 8888));
+        WebSocketClientFactory.useSettingsOf(new HttpClient.Factory() {
+            @Override
+            public HttpClient.Builder builder() {
+                return new HttpClient.Builder() {
+                    @Override
+                    public HttpClient createClient(URL url) {
+                        throw new UnsupportedOperationException();
+                    }
+                }.connectionTimeout(Duration.ofSeconds(5)).proxy(proxy);
+            }
+
+            @Override
+            public void cleanupIdleClients() {
+                // nothing to clean up
+            }
+        });
+        OkHttpClient client = WebSocketClientFactory.getClient();
+        assertThat(client.connectTimeoutMillis(), is(5000));
+        assertThat(client.proxy(), is(proxy));
+        assertThat(client.dispatcher(), is(sameInstance(original.dispatcher())));
+        assertThat(client.connectionPool(), is(sameInstance(original.connectionPool())));
+    }
+}